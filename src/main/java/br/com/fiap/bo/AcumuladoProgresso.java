@@ -0,0 +1,341 @@
+package br.com.fiap.bo;
+
+import br.com.fiap.dao.ProgressoDAO;
+import br.com.fiap.to.ModuloTO;
+import br.com.fiap.to.PainelTrilhaTO;
+import br.com.fiap.to.ProgressoTO;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Totais de progresso por usuário e trilha mantidos em memória, usados pelo painel de aprendizado.</p>
+ *
+ * <p>Os totais de um usuário são carregados do banco no primeiro acesso e, a partir daí, atualizados pelas
+ * escritas feitas pelo {@link ProgressoBO}, sem recarregar o usuário. A leitura do painel custa apenas uma passada
+ * pelas trilhas do usuário. Os usuários menos acessados são descartados (LRU) ao atingir o limite
+ * {@code reintegrai.painel.acumulado.tamanho-maximo}; com limite 0 o acumulado fica desligado e o painel
+ * volta a ser calculado pelo banco.</p>
+ *
+ * <p>Cada usuário guarda, por módulo, o ID e o status do progresso, de modo que aplicar a mesma escrita
+ * duas vezes não altera o resultado. Uma carga só é guardada se a versão do progresso do usuário
+ * ({@link Versoes#progressoDoUsuario(Long)}) não mudou e o acumulado não foi limpo durante a consulta. Escritas que não informam o
+ * estado anterior (exclusão em cascata, gravação em lote) descartam os usuários afetados.</p>
+ *
+ * <p>Atualizações e upserts usam {@link #sincronizar(Long, Long)}: duas alterações simultâneas do mesmo progresso
+ * podem chegar aqui na ordem inversa à do banco, então, em vez de aplicar o valor recebido, a linha confirmada
+ * é relida com o usuário bloqueado. A última releitura acontece depois da última confirmação e prevalece.
+ * Inclusões e exclusões não têm esse problema, pois cada uma afeta um ID de progresso diferente.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+final class AcumuladoProgresso {
+
+    /** Quantidade máxima de usuários mantidos em memória. */
+    private static final int TAMANHO_MAXIMO = ConfigProvider.getConfig()
+            .getOptionalValue("reintegrai.painel.acumulado.tamanho-maximo", Integer.class).orElse(10_000);
+
+    /** Usuários carregados, do menos para o mais recentemente acessado. */
+    private static final LinkedHashMap<Long, Usuario> USUARIOS = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Usuario> maisAntigo) {
+            return size() > TAMANHO_MAXIMO;
+        }
+    };
+
+    /** Incrementado a cada {@link #limpar()}, para descartar cargas iniciadas antes dela. */
+    private static long geracao;
+
+    /** Progresso de um usuário em um módulo. */
+    private record Entrada(long idProgresso, int status, long idTrilha) {
+    }
+
+    /** Totais de um usuário em uma trilha. */
+    private static final class Totais {
+        private int iniciados;
+        private int concluidos;
+        private long somaStatus;
+        private long ultimoProgresso;
+        private long ultimoModulo;
+    }
+
+    /**
+     * Progresso de um usuário: as entradas por módulo e os totais por trilha derivados delas.
+     * As alterações são feitas com a {@link #trava} do usuário, então usuários diferentes não disputam o mesmo
+     * lock. É um {@link ReentrantLock}, e não {@code synchronized}, porque a releitura de
+     * {@link #sincronizar(Long, Long)} consulta o banco com ela bloqueada, e uma thread virtual não deve ficar
+     * presa à thread de plataforma durante a consulta.
+     */
+    private static final class Usuario {
+        private final ReentrantLock trava = new ReentrantLock();
+        private final Map<Long, Entrada> modulos = new HashMap<>();
+        private final Map<Long, Totais> trilhas = new TreeMap<>();
+
+        void definir(long idModulo, Entrada entrada) {
+            trava.lock();
+            try {
+                remover(idModulo, null);
+                modulos.put(idModulo, entrada);
+                Totais totais = trilhas.computeIfAbsent(entrada.idTrilha(), id -> new Totais());
+                totais.iniciados++;
+                totais.concluidos += entrada.status() == 100 ? 1 : 0;
+                totais.somaStatus += entrada.status();
+                if (entrada.idProgresso() > totais.ultimoProgresso) {
+                    totais.ultimoProgresso = entrada.idProgresso();
+                    totais.ultimoModulo = idModulo;
+                }
+            } finally {
+                trava.unlock();
+            }
+        }
+
+        void remover(long idModulo, Long idProgresso) {
+            trava.lock();
+            try {
+                Entrada entrada = modulos.get(idModulo);
+                if (entrada == null || (idProgresso != null && entrada.idProgresso() != idProgresso)) {
+                    return;
+                }
+                modulos.remove(idModulo);
+                Totais totais = trilhas.get(entrada.idTrilha());
+                totais.iniciados--;
+                totais.concluidos -= entrada.status() == 100 ? 1 : 0;
+                totais.somaStatus -= entrada.status();
+                if (totais.iniciados == 0) {
+                    trilhas.remove(entrada.idTrilha());
+                } else if (totais.ultimoModulo == idModulo) {
+                    // só a remoção do último módulo trabalhado exige percorrer os módulos da trilha
+                    totais.ultimoProgresso = 0;
+                    modulos.forEach((id, outra) -> {
+                        if (outra.idTrilha() == entrada.idTrilha() && outra.idProgresso() > totais.ultimoProgresso) {
+                            totais.ultimoProgresso = outra.idProgresso();
+                            totais.ultimoModulo = id;
+                        }
+                    });
+                }
+            } finally {
+                trava.unlock();
+            }
+        }
+
+        ArrayList<PainelTrilhaTO> resumir() {
+            trava.lock();
+            try {
+                ArrayList<PainelTrilhaTO> resumo = new ArrayList<>(trilhas.size());
+                trilhas.forEach((idTrilha, totais) -> {
+                    PainelTrilhaTO trilha = new PainelTrilhaTO();
+                    trilha.setIdTrilha(idTrilha);
+                    trilha.setModulosIniciados(totais.iniciados);
+                    trilha.setModulosConcluidos(totais.concluidos);
+                    trilha.setMediaStatus((double) totais.somaStatus / totais.iniciados);
+                    trilha.setIdUltimoModulo(totais.ultimoModulo);
+                    resumo.add(trilha);
+                });
+                return resumo;
+            } finally {
+                trava.unlock();
+            }
+        }
+    }
+
+    private AcumuladoProgresso() {
+    }
+
+    /**
+     * Indica se o acumulado está ligado.
+     *
+     * @return {@code true} se o limite de usuários for maior que zero
+     */
+    static boolean habilitado() {
+        return TAMANHO_MAXIMO > 0;
+    }
+
+    /**
+     * Retorna os totais do usuário por trilha, carregando-os do banco se ainda não estiverem em memória.
+     *
+     * <p>Cada {@link PainelTrilhaTO} vem com ID da trilha, módulos iniciados e concluídos, média de status
+     * e último módulo; nome, total de módulos e conclusão dependem do catálogo e ficam a cargo do chamador.</p>
+     *
+     * @param idUser o ID do usuário
+     * @return os totais por trilha, ordenados pelo ID da trilha, ou {@code null} se a carga falhar
+     */
+    static ArrayList<PainelTrilhaTO> doUsuario(Long idUser) {
+        Usuario usuario;
+        long geracaoLida;
+        synchronized (USUARIOS) {
+            usuario = USUARIOS.get(idUser);
+            geracaoLida = geracao;
+        }
+        if (usuario != null) {
+            return usuario.resumir();
+        }
+
+        long versao = Versoes.progressoDoUsuario(idUser);
+        usuario = carregar(idUser);
+        if (usuario == null) {
+            return null;
+        }
+        synchronized (USUARIOS) {
+            if (geracao == geracaoLida && Versoes.progressoDoUsuario(idUser) == versao) {
+                Usuario existente = USUARIOS.putIfAbsent(idUser, usuario);
+                usuario = existente != null ? existente : usuario;
+            }
+        }
+        return usuario.resumir();
+    }
+
+    /**
+     * Aplica uma inclusão ou exclusão de progresso aos usuários já carregados. Deve ser chamado depois da
+     * gravação no banco e do avanço da versão do usuário. Atualizações usam {@link #sincronizar(Long, Long)}.
+     *
+     * @param anterior o progresso antes da escrita, ou {@code null} em uma inclusão
+     * @param atual    o progresso depois da escrita, ou {@code null} em uma exclusão
+     */
+    static void registrar(ProgressoTO anterior, ProgressoTO atual) {
+        if (anterior != null) {
+            Usuario usuario = carregado(anterior.getIdUser());
+            if (usuario != null) {
+                usuario.remover(anterior.getIdModulo(), anterior.getIdProgresso());
+            }
+        }
+        if (atual != null && atual.getIdProgresso() != null) {
+            Usuario usuario = carregado(atual.getIdUser());
+            if (usuario == null) {
+                return;
+            }
+            Long idTrilha = trilhaDoModulo(atual.getIdModulo());
+            if (idTrilha == null) {
+                descartar(atual.getIdUser());
+                return;
+            }
+            usuario.definir(atual.getIdModulo(), new Entrada(atual.getIdProgresso(), atual.getStatus(), idTrilha));
+        }
+    }
+
+    /**
+     * Aplica ao usuário, se ele estiver carregado, o progresso em um módulo como está confirmado no banco.
+     * Deve ser chamado depois da gravação e do avanço da versão do usuário.
+     *
+     * <p>A linha é relida com o usuário bloqueado: entre escritas simultâneas do mesmo par, a que obtém o
+     * bloqueio por último lê o valor mais recente, qualquer que tenha sido a ordem de chegada aqui. Custa uma
+     * consulta pela chave única, e só para usuários em memória. Se a releitura falhar, o usuário é
+     * descartado.</p>
+     *
+     * @param idUser   o ID do usuário
+     * @param idModulo o ID do módulo
+     */
+    static void sincronizar(Long idUser, Long idModulo) {
+        Usuario usuario = carregado(idUser);
+        if (usuario == null) {
+            return;
+        }
+        usuario.trava.lock();
+        try {
+            ProgressoTO gravado = new ProgressoDAO().findByUserModulo(idUser, idModulo);
+            if (gravado == null) {
+                usuario.remover(idModulo, null);
+                return;
+            }
+            Long idTrilha = trilhaDoModulo(idModulo);
+            if (idTrilha == null) {
+                descartar(idUser);
+                return;
+            }
+            usuario.definir(idModulo, new Entrada(gravado.getIdProgresso(), gravado.getStatus(), idTrilha));
+        } catch (SQLException e) {
+            descartar(idUser);
+        } finally {
+            usuario.trava.unlock();
+        }
+    }
+
+    /**
+     * Descarta os totais de um usuário, que serão recarregados no próximo acesso.
+     *
+     * @param idUser o ID do usuário
+     */
+    static void descartar(Long idUser) {
+        synchronized (USUARIOS) {
+            USUARIOS.remove(idUser);
+        }
+    }
+
+    /**
+     * Descarta os totais de todos os usuários.
+     */
+    static void limpar() {
+        synchronized (USUARIOS) {
+            USUARIOS.clear();
+            geracao++;
+        }
+    }
+
+    /**
+     * Retorna o usuário se ele já estiver em memória, sem carregá-lo.
+     *
+     * @param idUser o ID do usuário
+     * @return o usuário carregado, ou {@code null}
+     */
+    private static Usuario carregado(Long idUser) {
+        synchronized (USUARIOS) {
+            return USUARIOS.get(idUser);
+        }
+    }
+
+    /**
+     * Monta os totais de um usuário a partir dos seus progressos no banco.
+     *
+     * @param idUser o ID do usuário
+     * @return o usuário montado, ou {@code null} se a consulta falhar
+     */
+    private static Usuario carregar(Long idUser) {
+        ArrayList<ProgressoTO> progressos;
+        try {
+            progressos = new ProgressoDAO().findByUserId(idUser);
+        } catch (SQLException e) {
+            return null;
+        }
+        ArrayList<ModuloTO> catalogo = new ModuloBO().findAll();
+        if (progressos == null || catalogo == null) {
+            return null;
+        }
+        Map<Long, Long> trilhaPorModulo = new HashMap<>();
+        for (ModuloTO modulo : catalogo) {
+            trilhaPorModulo.put(modulo.getIdModulo(), modulo.getIdTrilha());
+        }
+        Usuario usuario = new Usuario();
+        for (ProgressoTO progresso : progressos) {
+            Long idTrilha = trilhaPorModulo.get(progresso.getIdModulo());
+            if (idTrilha != null) {
+                usuario.definir(progresso.getIdModulo(),
+                        new Entrada(progresso.getIdProgresso(), progresso.getStatus(), idTrilha));
+            }
+        }
+        return usuario;
+    }
+
+    /**
+     * Descobre a trilha de um módulo pelo cache do catálogo.
+     *
+     * @param idModulo o ID do módulo
+     * @return o ID da trilha, ou {@code null} se o módulo não for encontrado
+     */
+    private static Long trilhaDoModulo(Long idModulo) {
+        try {
+            ModuloTO modulo = new ModuloBO().findByCodigo(idModulo);
+            return modulo != null ? modulo.getIdTrilha() : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.fiap.bo;
+
+import br.com.fiap.to.ResultadoIdsTO;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * <p>Utilitário das buscas por lista de IDs ({@code GET /recurso?ids=1,2,3}).</p>
+ *
+ * <p>Converte o parâmetro {@code ids} e reorganiza o resultado da consulta, que o banco devolve em qualquer
+ * ordem, na ordem solicitada pelo cliente, apontando os IDs não encontrados.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+public final class BuscaPorIds {
+
+    /** Quantidade máxima de IDs distintos por requisição. */
+    public static final int LIMITE_IDS = 5000;
+
+    private BuscaPorIds() {
+    }
+
+    /**
+     * Converte o parâmetro {@code ids}, uma lista de números separados por vírgula.
+     *
+     * @param ids o valor do parâmetro, por exemplo {@code "1,2,3"}
+     * @return os IDs distintos, na ordem em que apareceram
+     * @throws IllegalArgumentException se a lista estiver vazia, tiver valores inválidos ou passar do limite
+     */
+    public static List<Long> ids(String ids) {
+        LinkedHashSet<Long> distintos = new LinkedHashSet<>();
+        for (String id : ids.split(",")) {
+            if (id.isBlank()) {
+                continue;
+            }
+            try {
+                distintos.add(Long.parseLong(id.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Lista de IDs inválida.", e);
+            }
+        }
+        if (distintos.isEmpty()) {
+            throw new IllegalArgumentException("Lista de IDs inválida.");
+        }
+        if (distintos.size() > LIMITE_IDS) {
+            throw new IllegalArgumentException("A lista deve ter no máximo " + LIMITE_IDS + " IDs.");
+        }
+        return new ArrayList<>(distintos);
+    }
+
+    /**
+     * Monta o resultado na ordem dos IDs solicitados.
+     *
+     * @param ids         IDs solicitados
+     * @param encontrados registros devolvidos pela consulta, em qualquer ordem; {@code null} indica erro
+     * @param id          função que extrai o ID de um registro
+     * @param <T>         tipo dos registros
+     * @return o {@link ResultadoIdsTO}, ou {@code null} se a consulta falhou
+     */
+    static <T> ResultadoIdsTO<T> ordenar(Collection<Long> ids, List<T> encontrados, Function<T, Long> id) {
+        if (encontrados == null) {
+            return null;
+        }
+        Map<Long, T> porId = new HashMap<>(encontrados.size() * 2);
+        for (T item : encontrados) {
+            porId.put(id.apply(item), item);
+        }
+        List<T> itens = new ArrayList<>(encontrados.size());
+        List<Long> naoEncontrados = new ArrayList<>();
+        for (Long codigo : ids) {
+            T item = porId.get(codigo);
+            if (item != null) {
+                itens.add(item);
+            } else {
+                naoEncontrados.add(codigo);
+            }
+        }
+        return new ResultadoIdsTO<>(itens, naoEncontrados);
+    }
+}
@@ -0,0 +1,323 @@
+package br.com.fiap.bo;
+
+import br.com.fiap.to.EstatisticasCacheTO;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Cache de leitura (read-through) usado pelos BOs do catálogo (trilhas, módulos e sugestões).</p>
+ *
+ * <p>Cada cache tem tamanho máximo, com remoção do item menos usado (LRU), e um tempo de vida (TTL)
+ * contado a partir da carga. As escritas da própria entidade chamam {@link #limpar()}, de modo que uma
+ * alteração feita por esta instância da API é vista imediatamente. Valores nulos e coleções vazias não são
+ * armazenados, pois os DAOs também os usam para sinalizar erro.</p>
+ *
+ * <p>Falhas simultâneas na mesma chave são coalescidas: só a primeira requisição consulta o banco, e as
+ * demais aguardam e recebem o mesmo resultado (ou a mesma exceção). Com uma janela de compartilhamento
+ * ({@code reintegrai.cache.<nome>.janela-compartilhamento}) maior que zero, o resultado de uma carga
+ * concluída continua sendo entregue às requisições que chegarem dentro dela, inclusive quando ele não
+ * pode ser armazenado (lista vazia ou erro do DAO).</p>
+ *
+ * <p>Os limites são lidos das propriedades {@code reintegrai.cache.<nome>.tamanho-maximo},
+ * {@code reintegrai.cache.<nome>.ttl} e {@code reintegrai.cache.<nome>.janela-compartilhamento}, com padrão
+ * em {@code reintegrai.cache.catalogo.*}.
+ * Os valores devolvidos são compartilhados entre requisições e não devem ser alterados.</p>
+ *
+ * @param <K> tipo da chave
+ * @param <V> tipo do valor armazenado
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+public class CacheCatalogo<K, V> {
+
+    /** Caches criados pela aplicação, por nome, para a consulta das estatísticas. */
+    private static final Map<String, CacheCatalogo<?, ?>> REGISTRO = new ConcurrentHashMap<>();
+
+    /**
+     * Operação que carrega do banco um valor ausente no cache.
+     *
+     * @param <V> tipo do valor carregado
+     * @param <E> exceção que a carga pode lançar
+     */
+    @FunctionalInterface
+    public interface Carregador<V, E extends Exception> {
+        V carregar() throws E;
+    }
+
+    /** Entrada do cache com o instante de expiração. */
+    private record Entrada<V>(V valor, long expiraEm) {
+    }
+
+    /** Carga em andamento (ou recém-concluída) de uma chave, compartilhada pelas requisições que a aguardam. */
+    private static final class Carga<V> {
+        private final CompletableFuture<V> resultado = new CompletableFuture<>();
+
+        /** Instante em que a carga terminou; 0 enquanto estiver em andamento. */
+        private long concluidaEm;
+    }
+
+    private final String nome;
+    private final int tamanhoMaximo;
+    private final long ttlNanos;
+    private final long janelaNanos;
+    private final LinkedHashMap<K, Entrada<V>> entradas;
+
+    /** Cargas por chave; acessado com {@link #entradas} bloqueado. */
+    private final Map<K, Carga<V>> cargas = new HashMap<>();
+
+    /** Incrementado a cada limpeza, para descartar cargas iniciadas antes dela. */
+    private long geracao;
+
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+    private final LongAdder remocoes = new LongAdder();
+    private final LongAdder invalidacoes = new LongAdder();
+    private final LongAdder compartilhadas = new LongAdder();
+
+    private CacheCatalogo(String nome, int tamanhoMaximo, Duration ttl, Duration janela) {
+        this.nome = nome;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.ttlNanos = ttl.toNanos();
+        this.janelaNanos = janela.toNanos();
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Cria um cache com os limites informados e o registra para a consulta das estatísticas. O registro fica
+     * aqui, e não no construtor, para que o cache só seja publicado depois de construído.
+     *
+     * @param nome          nome do cache, usado nas estatísticas
+     * @param tamanhoMaximo quantidade máxima de entradas
+     * @param ttl           tempo de vida de cada entrada
+     * @param janela        por quanto tempo o resultado de uma carga concluída é entregue a novas requisições
+     * @param <K>           tipo da chave
+     * @param <V>           tipo do valor
+     * @return o cache criado
+     */
+    public static <K, V> CacheCatalogo<K, V> criar(String nome, int tamanhoMaximo, Duration ttl, Duration janela) {
+        CacheCatalogo<K, V> cache = new CacheCatalogo<>(nome, tamanhoMaximo, ttl, janela);
+        REGISTRO.put(nome, cache);
+        return cache;
+    }
+
+    /**
+     * Cria um cache com os limites definidos na configuração da aplicação.
+     *
+     * @param nome nome do cache, usado nas propriedades e nas estatísticas
+     * @param <K>  tipo da chave
+     * @param <V>  tipo do valor
+     * @return o cache configurado
+     */
+    public static <K, V> CacheCatalogo<K, V> configurado(String nome) {
+        Config config = ConfigProvider.getConfig();
+        int tamanho = config.getOptionalValue("reintegrai.cache." + nome + ".tamanho-maximo", Integer.class)
+                .orElse(config.getOptionalValue("reintegrai.cache.catalogo.tamanho-maximo", Integer.class).orElse(1000));
+        Duration ttl = config.getOptionalValue("reintegrai.cache." + nome + ".ttl", Duration.class)
+                .orElse(config.getOptionalValue("reintegrai.cache.catalogo.ttl", Duration.class).orElse(Duration.ofMinutes(10)));
+        Duration janela = config.getOptionalValue("reintegrai.cache." + nome + ".janela-compartilhamento", Duration.class)
+                .orElse(config.getOptionalValue("reintegrai.cache.catalogo.janela-compartilhamento", Duration.class)
+                        .orElse(Duration.ZERO));
+        return criar(nome, tamanho, ttl, janela);
+    }
+
+    /**
+     * Retorna o valor da chave, carregando-o do banco quando ausente ou expirado.
+     *
+     * <p>Se outra requisição já estiver carregando a mesma chave, aguarda e devolve o resultado dela.</p>
+     *
+     * @param chave       chave procurada
+     * @param carregador  operação de carga executada em caso de falha no cache
+     * @param <E>         exceção que a carga pode lançar
+     * @return o valor em cache ou recém-carregado
+     * @throws E se a carga falhar
+     */
+    public <E extends Exception> V get(K chave, Carregador<V, E> carregador) throws E {
+        long agora = System.nanoTime();
+        long geracaoCarga;
+        Carga<V> carga;
+        boolean lider;
+        synchronized (entradas) {
+            geracaoCarga = geracao;
+            Entrada<V> entrada = entradas.get(chave);
+            if (entrada != null) {
+                if (entrada.expiraEm() - agora > 0) {
+                    acertos.increment();
+                    return entrada.valor();
+                }
+                entradas.remove(chave);
+                remocoes.increment();
+            }
+            carga = cargas.get(chave);
+            lider = carga == null || (carga.concluidaEm != 0 && agora - carga.concluidaEm >= janelaNanos);
+            if (lider) {
+                removerCargasVencidas(agora);
+                carga = new Carga<>();
+                cargas.put(chave, carga);
+            } else {
+                compartilhadas.increment();
+            }
+        }
+        if (!lider) {
+            return this.<E>aguardar(carga);
+        }
+        falhas.increment();
+        V valor;
+        try {
+            valor = carregador.carregar();
+        } catch (Throwable e) {
+            concluir(chave, carga, null, e);
+            throw e;
+        }
+        if (valor != null && !(valor instanceof Collection<?> colecao && colecao.isEmpty())) {
+            put(chave, valor, agora + ttlNanos, geracaoCarga);
+        }
+        concluir(chave, carga, valor, null);
+        return valor;
+    }
+
+    /**
+     * Aguarda a carga iniciada por outra requisição e devolve o mesmo resultado, ou lança a mesma exceção.
+     */
+    @SuppressWarnings("unchecked")
+    private <E extends Exception> V aguardar(Carga<V> carga) throws E {
+        try {
+            return carga.resultado.join();
+        } catch (CompletionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException erro) {
+                throw erro;
+            }
+            if (causa instanceof Error erro) {
+                throw erro;
+            }
+            throw (E) causa;
+        }
+    }
+
+    /**
+     * Entrega o resultado às requisições que aguardam a carga. Sem janela de compartilhamento, ou em caso
+     * de erro, a carga deixa de ser oferecida a novas requisições.
+     */
+    private void concluir(K chave, Carga<V> carga, V valor, Throwable erro) {
+        synchronized (entradas) {
+            if (erro != null || janelaNanos <= 0) {
+                cargas.remove(chave, carga);
+            } else {
+                carga.concluidaEm = System.nanoTime();
+            }
+        }
+        if (erro != null) {
+            carga.resultado.completeExceptionally(erro);
+        } else {
+            carga.resultado.complete(valor);
+        }
+    }
+
+    /**
+     * Remove as cargas concluídas cuja janela de compartilhamento já terminou. Chamado com
+     * {@link #entradas} bloqueado.
+     */
+    private void removerCargasVencidas(long agora) {
+        if (janelaNanos > 0) {
+            cargas.values().removeIf(carga -> carga.concluidaEm != 0 && agora - carga.concluidaEm >= janelaNanos);
+        }
+    }
+
+    /**
+     * Retorna o valor da chave apenas se ele já estiver em cache e válido, sem carregá-lo.
+     *
+     * <p>Usado pelo modo reativo, que responde os acertos direto no event loop e só agenda uma
+     * consulta ao banco quando o valor não está disponível.</p>
+     *
+     * @param chave chave procurada
+     * @return o valor em cache, ou {@code null} se ausente ou expirado
+     */
+    public V consultar(K chave) {
+        long agora = System.nanoTime();
+        synchronized (entradas) {
+            Entrada<V> entrada = entradas.get(chave);
+            if (entrada != null && entrada.expiraEm() - agora > 0) {
+                acertos.increment();
+                return entrada.valor();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Armazena um valor, removendo a entrada menos usada caso o limite seja ultrapassado.
+     * Cargas iniciadas antes de uma limpeza são descartadas, pois podem conter dados já alterados.
+     */
+    private void put(K chave, V valor, long expiraEm, long geracaoCarga) {
+        synchronized (entradas) {
+            if (geracaoCarga != geracao) {
+                return;
+            }
+            entradas.put(chave, new Entrada<>(valor, expiraEm));
+            Iterator<K> iterator = entradas.keySet().iterator();
+            while (entradas.size() > tamanhoMaximo && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                remocoes.increment();
+            }
+        }
+    }
+
+    /**
+     * Remove todas as entradas e impede que novas requisições aguardem cargas iniciadas antes da limpeza.
+     * Chamado pelas escritas da entidade correspondente.
+     */
+    public void limpar() {
+        synchronized (entradas) {
+            entradas.clear();
+            cargas.clear();
+            geracao++;
+        }
+        invalidacoes.increment();
+    }
+
+    /**
+     * Retorna as estatísticas de uso deste cache.
+     *
+     * @return {@link EstatisticasCacheTO} com tamanho, acertos, falhas, remoções e invalidações
+     */
+    public EstatisticasCacheTO estatisticas() {
+        int tamanho;
+        synchronized (entradas) {
+            tamanho = entradas.size();
+        }
+        return new EstatisticasCacheTO(nome, tamanho, tamanhoMaximo, acertos.sum(), falhas.sum(),
+                remocoes.sum(), invalidacoes.sum(), compartilhadas.sum());
+    }
+
+    /**
+     * Retorna as estatísticas de todos os caches da aplicação.
+     *
+     * @return lista de {@link EstatisticasCacheTO}, uma por cache
+     */
+    public static List<EstatisticasCacheTO> todasEstatisticas() {
+        List<EstatisticasCacheTO> lista = new ArrayList<>();
+        for (CacheCatalogo<?, ?> cache : REGISTRO.values()) {
+            lista.add(cache.estatisticas());
+        }
+        lista.sort((a, b) -> a.getNome().compareTo(b.getNome()));
+        return lista;
+    }
+}
@@ -1,10 +1,17 @@
 package br.com.fiap.bo;
 
+import br.com.fiap.dao.ConsumidorLinha;
+import br.com.fiap.dao.ExecutorBanco;
 import br.com.fiap.dao.ModuloDAO;
+import br.com.fiap.to.PaginaTO;
+import br.com.fiap.to.ResultadoIdsTO;
 import br.com.fiap.to.ModuloTO;
+import io.smallrye.mutiny.Uni;
 
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * <p>Classe de negócios que gerencia operações relacionadas a modulos.</p>
@@ -17,6 +24,12 @@ import java.util.ArrayList;
  * @since 21.0.7
  */
 public class ModuloBO {
+    /** Cache da listagem completa, compartilhado entre as requisições. */
+    private static final CacheCatalogo<String, ArrayList<ModuloTO>> CACHE_LISTA = CacheCatalogo.configurado("modulos");
+
+    /** Cache dos registros buscados por ID, compartilhado entre as requisições. */
+    private static final CacheCatalogo<Long, ModuloTO> CACHE_ID = CacheCatalogo.configurado("modulo");
+
     private ModuloDAO moduloDAO;
 
     /**
@@ -25,8 +38,45 @@ public class ModuloBO {
      * @return ArrayList de {@link ModuloTO} contendo todos os modulos.
      */
     public ArrayList<ModuloTO> findAll() {
+        return CACHE_LISTA.get("findAll", () -> new ModuloDAO().findAll());
+    }
+
+    /**
+     * Envia todos os módulos ao consumidor, linha a linha, sem carregá-los em memória.
+     *
+     * @param fetchSize  quantidade de linhas trazidas do banco por vez
+     * @param consumidor destino de cada {@link ModuloTO}
+     * @throws SQLException se ocorrer erro na consulta
+     * @throws IOException  se o consumidor falhar
+     */
+    public void exportar(int fetchSize, ConsumidorLinha<ModuloTO> consumidor) throws SQLException, IOException {
+        moduloDAO = new ModuloDAO();
+        moduloDAO.exportar(fetchSize, consumidor);
+    }
+
+    /**
+     * Busca vários módulos pelos seus códigos (IDs), com uma única consulta.
+     *
+     * @param ids Códigos (IDs) procurados, sem repetições.
+     * @return {@link ResultadoIdsTO} com os registros na ordem dos IDs e os IDs não encontrados,
+     * ou null se não foi possível consultar o banco.
+     */
+    public ResultadoIdsTO<ModuloTO> findByIds(List<Long> ids) {
+        moduloDAO = new ModuloDAO();
+        return BuscaPorIds.ordenar(ids, moduloDAO.findByIds(ids), ModuloTO::getIdModulo);
+    }
+
+    /**
+     * Retorna uma página de módulos a partir de um cursor.
+     *
+     * @param after  último ID já entregue ao cliente (exclusivo)
+     * @param limite quantidade de itens da página
+     * @return {@link PaginaTO} com os itens e o cursor da próxima página,
+     * ou null se não foi possível consultar o banco.
+     */
+    public PaginaTO<ModuloTO> findPage(long after, int limite) {
         moduloDAO = new ModuloDAO();
-        return moduloDAO.findAll();
+        return Paginacao.paginar(moduloDAO.findPage(after, limite + 1), limite, ModuloTO::getIdModulo);
     }
 
     /**
@@ -36,8 +86,32 @@ public class ModuloBO {
      * @return {@link ModuloTO} correspondente ao código informado ou null se não encontrado.
      */
     public ModuloTO findByCodigo(Long codigo) throws SQLException {
+        return CACHE_ID.get(codigo, () -> new ModuloDAO().findByCodigo(codigo));
+    }
+
+    /**
+     * Versão assíncrona de {@link #findByCodigo(Long)}, usada no modo de leitura reativo.
+     *
+     * @param codigo Código (ID) do modulo.
+     * @return {@link Uni} com o {@link ModuloTO}, ou com null se não encontrado.
+     */
+    public Uni<ModuloTO> findByCodigoReativo(Long codigo) {
+        ModuloTO emCache = CACHE_ID.consultar(codigo);
+        if (emCache != null) {
+            return Uni.createFrom().item(emCache);
+        }
+        return ExecutorBanco.executar(() -> findByCodigo(codigo));
+    }
+
+    /**
+     * Busca os módulos de uma trilha.
+     *
+     * @param idTrilha Código (ID) da trilha.
+     * @return ArrayList de {@link ModuloTO} da trilha.
+     */
+    public ArrayList<ModuloTO> findByTrilha(Long idTrilha) {
         moduloDAO = new ModuloDAO();
-        return moduloDAO.findByCodigo(codigo);
+        return moduloDAO.findByTrilha(idTrilha);
     }
 
     /**
@@ -48,7 +122,9 @@ public class ModuloBO {
      */
     public ModuloTO save(ModuloTO modulo) {
         moduloDAO = new ModuloDAO();
-        return moduloDAO.save(modulo);
+        ModuloTO resultado = moduloDAO.save(modulo);
+        invalidarCache();
+        return resultado;
     }
 
     /**
@@ -59,7 +135,12 @@ public class ModuloBO {
      */
     public boolean delete(Long codigo) {
         moduloDAO = new ModuloDAO();
-        return moduloDAO.delete(codigo);
+        boolean resultado = moduloDAO.delete(codigo);
+        invalidarCache();
+        // a exclusão remove os progressos do módulo em cascata
+        Versoes.incrementar(Versoes.Entidade.PROGRESSO);
+        AcumuladoProgresso.limpar();
+        return resultado;
     }
 
     /**
@@ -70,6 +151,20 @@ public class ModuloBO {
      */
     public ModuloTO update(ModuloTO modulo) {
         moduloDAO = new ModuloDAO();
-        return moduloDAO.update(modulo);
+        ModuloTO resultado = moduloDAO.update(modulo);
+        invalidarCache();
+        // o módulo pode ter mudado de trilha, o que altera os totais por trilha dos usuários
+        AcumuladoProgresso.limpar();
+        return resultado;
+    }
+
+    /**
+     * Limpa os caches de módulos e avança sua versão. Chamado por toda escrita da entidade.
+     */
+    static void invalidarCache() {
+        CACHE_LISTA.limpar();
+        CACHE_ID.limpar();
+        TrilhaBO.invalidarCompletas();
+        Versoes.incrementar(Versoes.Entidade.MODULO);
     }
 }
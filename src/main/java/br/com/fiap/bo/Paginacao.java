@@ -0,0 +1,113 @@
+package br.com.fiap.bo;
+
+import br.com.fiap.to.PaginaTO;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * <p>Utilitário da paginação por cursor (keyset) usada pelas listagens.</p>
+ *
+ * <p>O cliente informa {@code after} (o cursor recebido na página anterior, ou diretamente um ID) e
+ * {@code limit}. A consulta usa {@code WHERE id > ? ... FETCH FIRST n ROWS ONLY} sobre a chave primária,
+ * de modo que o custo de cada página não depende de quão longe o cliente já navegou.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+public final class Paginacao {
+
+    /** Quantidade de itens por página quando {@code limit} não é informado. */
+    public static final int LIMITE_PADRAO = 50;
+
+    /** Quantidade máxima de itens por página. */
+    public static final int LIMITE_MAXIMO = 500;
+
+    /** Prefixo de versão do cursor, permitindo mudar o formato no futuro. */
+    private static final String VERSAO = "v1:";
+
+    private Paginacao() {
+    }
+
+    /**
+     * Converte o parâmetro {@code after} no último ID já entregue ao cliente.
+     *
+     * @param after cursor opaco ou ID numérico; {@code null} indica a primeira página
+     * @return o ID a partir do qual a página começa (exclusivo)
+     * @throws IllegalArgumentException se o cursor for inválido
+     */
+    public static long cursor(String after) {
+        if (after == null || after.isBlank()) {
+            return 0L;
+        }
+        try {
+            if (after.chars().allMatch(Character::isDigit)) {
+                return Long.parseLong(after);
+            }
+            String valor = new String(Base64.getUrlDecoder().decode(after), StandardCharsets.UTF_8);
+            if (!valor.startsWith(VERSAO)) {
+                throw new IllegalArgumentException("Cursor inválido.");
+            }
+            return Long.parseLong(valor.substring(VERSAO.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido.", e);
+        }
+    }
+
+    /**
+     * Valida o parâmetro {@code limit}.
+     *
+     * @param limit quantidade solicitada, ou {@code null} para o padrão
+     * @return a quantidade de itens da página
+     * @throws IllegalArgumentException se o valor estiver fora do intervalo permitido
+     */
+    public static int limite(Integer limit) {
+        if (limit == null) {
+            return LIMITE_PADRAO;
+        }
+        if (limit < 1 || limit > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + LIMITE_MAXIMO + ".");
+        }
+        return limit;
+    }
+
+    /**
+     * Monta a página a partir das linhas retornadas pela consulta.
+     *
+     * <p>A consulta deve buscar {@code limite + 1} linhas: a linha excedente apenas indica que existe
+     * uma próxima página e não é devolvida ao cliente.</p>
+     *
+     * @param linhas linhas lidas do banco, ordenadas pelo ID, ou {@code null} se a consulta falhou
+     * @param limite quantidade de itens da página
+     * @param id     função que extrai o ID de um item
+     * @param <T>    tipo dos itens
+     * @return a página com os itens e o cursor da próxima página, ou {@code null} se a consulta falhou
+     */
+    public static <T> PaginaTO<T> paginar(List<T> linhas, int limite, Function<T, Long> id) {
+        if (linhas == null) {
+            return null;
+        }
+        if (linhas.size() <= limite) {
+            return new PaginaTO<>(linhas, null, limite);
+        }
+        List<T> itens = new ArrayList<>(linhas.subList(0, limite));
+        return new PaginaTO<>(itens, codificar(id.apply(itens.get(limite - 1))), limite);
+    }
+
+    /**
+     * Gera o cursor opaco correspondente a um ID.
+     *
+     * @param id o último ID da página
+     * @return o cursor codificado em Base64 (URL safe)
+     */
+    static String codificar(long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((VERSAO + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,90 @@
+package br.com.fiap.bo;
+
+import br.com.fiap.dao.ProgressoDAO;
+import br.com.fiap.to.PainelTO;
+import br.com.fiap.to.PainelTrilhaTO;
+import br.com.fiap.to.TrilhaCompletaTO;
+
+import java.util.ArrayList;
+
+/**
+ * <p>Classe de negócios (Business Object) que monta o painel de aprendizado de um usuário.</p>
+ * <p>O andamento do usuário em cada trilha vem do acumulado em memória ({@link AcumuladoProgresso}),
+ * completado com o catálogo em cache. Com o acumulado desligado, é calculado pelo banco através da
+ * {@link ProgressoDAO}, com uma única consulta agregada.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+public class PainelBO {
+    private ProgressoDAO progressoDAO;
+
+    /**
+     * Monta o painel de um usuário: o andamento em cada trilha iniciada e a conclusão geral.
+     *
+     * @param idUser Código (ID) do usuário.
+     * @return {@link PainelTO} do usuário (sem trilhas se ele ainda não tiver progresso),
+     * ou null se não foi possível consultar o banco.
+     */
+    public PainelTO findByUserId(Long idUser) {
+        ArrayList<PainelTrilhaTO> trilhas;
+        if (AcumuladoProgresso.habilitado()) {
+            trilhas = completar(AcumuladoProgresso.doUsuario(idUser));
+        } else {
+            progressoDAO = new ProgressoDAO();
+            trilhas = progressoDAO.findPainel(idUser);
+        }
+        if (trilhas == null) {
+            return null;
+        }
+        double pontos = 0;
+        int modulos = 0;
+        for (PainelTrilhaTO trilha : trilhas) {
+            pontos += trilha.getConclusao() * trilha.getTotalModulos();
+            modulos += trilha.getTotalModulos();
+            trilha.setMediaStatus(arredondar(trilha.getMediaStatus()));
+            trilha.setConclusao(arredondar(trilha.getConclusao()));
+        }
+        return new PainelTO(idUser, trilhas, modulos > 0 ? arredondar(pontos / modulos) : 0);
+    }
+
+    /**
+     * Completa os totais do acumulado em memória com os dados do catálogo (nome e total de módulos de cada
+     * trilha, lidos do cache) e calcula a conclusão.
+     *
+     * @param acumulado totais do usuário por trilha, ou {@code null}
+     * @return as trilhas completas, ou {@code null} se o acumulado não pôde ser carregado
+     */
+    private static ArrayList<PainelTrilhaTO> completar(ArrayList<PainelTrilhaTO> acumulado) {
+        if (acumulado == null) {
+            return null;
+        }
+        TrilhaBO trilhaBO = new TrilhaBO();
+        ArrayList<PainelTrilhaTO> trilhas = new ArrayList<>(acumulado.size());
+        for (PainelTrilhaTO trilha : acumulado) {
+            TrilhaCompletaTO catalogo = trilhaBO.findCompleta(trilha.getIdTrilha());
+            if (catalogo == null) {
+                continue;
+            }
+            trilha.setNomeTrilha(catalogo.getNome());
+            trilha.setTotalModulos(catalogo.getTotalModulos());
+            trilha.setConclusao(catalogo.getTotalModulos() > 0
+                    ? trilha.getMediaStatus() * trilha.getModulosIniciados() / catalogo.getTotalModulos() : 0);
+            trilhas.add(trilha);
+        }
+        return trilhas;
+    }
+
+    /**
+     * Arredonda um percentual para uma casa decimal.
+     *
+     * @param valor o percentual
+     * @return o percentual arredondado
+     */
+    private static double arredondar(double valor) {
+        return Math.round(valor * 10) / 10.0;
+    }
+}
@@ -1,10 +1,20 @@
 package br.com.fiap.bo;
 
+import br.com.fiap.dao.ConsumidorLinha;
+import br.com.fiap.dao.ExecutorBanco;
 import br.com.fiap.dao.ProgressoDAO;
+import br.com.fiap.to.PaginaTO;
+import br.com.fiap.to.ResultadoIdsTO;
 import br.com.fiap.to.ProgressoTO;
+import br.com.fiap.to.ResultadoLoteTO;
+import io.smallrye.mutiny.Uni;
 
+import java.io.IOException;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * <p>Classe de negócios (Business Object) que gerencia operações relacionadas a progressos.</p>
@@ -17,6 +27,9 @@ import java.util.ArrayList;
  * @since 21.0.7
  */
 public class ProgressoBO {
+    /** Quantidade máxima de itens aceitos em uma gravação em lote. */
+    public static final int LIMITE_LOTE = 1000;
+
     private ProgressoDAO progressoDAO;
 
     /**
@@ -29,6 +42,44 @@ public class ProgressoBO {
         return progressoDAO.findAll();
     }
 
+    /**
+     * Envia todos os progressos ao consumidor, linha a linha, sem carregá-los em memória.
+     *
+     * @param fetchSize  quantidade de linhas trazidas do banco por vez
+     * @param consumidor destino de cada {@link ProgressoTO}
+     * @throws SQLException se ocorrer erro na consulta
+     * @throws IOException  se o consumidor falhar
+     */
+    public void exportar(int fetchSize, ConsumidorLinha<ProgressoTO> consumidor) throws SQLException, IOException {
+        progressoDAO = new ProgressoDAO();
+        progressoDAO.exportar(fetchSize, consumidor);
+    }
+
+    /**
+     * Busca vários progressos pelos seus códigos (IDs), com uma única consulta.
+     *
+     * @param ids Códigos (IDs) procurados, sem repetições.
+     * @return {@link ResultadoIdsTO} com os registros na ordem dos IDs e os IDs não encontrados,
+     * ou null se não foi possível consultar o banco.
+     */
+    public ResultadoIdsTO<ProgressoTO> findByIds(List<Long> ids) {
+        progressoDAO = new ProgressoDAO();
+        return BuscaPorIds.ordenar(ids, progressoDAO.findByIds(ids), ProgressoTO::getIdProgresso);
+    }
+
+    /**
+     * Retorna uma página de progressos a partir de um cursor.
+     *
+     * @param after  último ID já entregue ao cliente (exclusivo)
+     * @param limite quantidade de itens da página
+     * @return {@link PaginaTO} com os itens e o cursor da próxima página,
+     * ou null se não foi possível consultar o banco.
+     */
+    public PaginaTO<ProgressoTO> findPage(long after, int limite) {
+        progressoDAO = new ProgressoDAO();
+        return Paginacao.paginar(progressoDAO.findPage(after, limite + 1), limite, ProgressoTO::getIdProgresso);
+    }
+
     /**
      * Busca uma progresso pelo seu código (ID).
      *
@@ -51,6 +102,16 @@ public class ProgressoBO {
         return progressoDAO.findByUserId(idUser);
     }
 
+    /**
+     * Versão assíncrona de {@link #findByUserId(Long)}, usada no modo de leitura reativo.
+     *
+     * @param idUser Código (ID) do usuário.
+     * @return {@link Uni} com a lista de {@link ProgressoTO}.
+     */
+    public Uni<ArrayList<ProgressoTO>> findByUserIdReativo(Long idUser) {
+        return ExecutorBanco.executar(() -> new ProgressoDAO().findByUserId(idUser));
+    }
+
     /**
      * Salva uma nova progresso no banco de dados.
      *
@@ -59,28 +120,164 @@ public class ProgressoBO {
      */
     public ProgressoTO save(ProgressoTO progresso) {
         progressoDAO = new ProgressoDAO();
-        return progressoDAO.save(progresso);
+        ProgressoTO resultado = progressoDAO.save(progresso);
+        Versoes.incrementarProgresso(progresso.getIdUser());
+        if (resultado != null) {
+            AcumuladoProgresso.registrar(null, resultado);
+        }
+        return resultado;
+    }
+
+    /**
+     * Cadastra ou atualiza o progresso de um usuário em um módulo, em uma única operação no banco.
+     *
+     * @param progresso   Objeto {@link ProgressoTO} com status, usuário e módulo.
+     * @param manterMaior se {@code true}, o progresso nunca retrocede: prevalece o maior status.
+     * @return {@link ProgressoTO} como ficou gravado, ou null se não foi possível salvar.
+     */
+    public ProgressoTO upsert(ProgressoTO progresso, boolean manterMaior) {
+        progressoDAO = new ProgressoDAO();
+        ProgressoTO resultado = progressoDAO.upsert(progresso, manterMaior);
+        Versoes.incrementarProgresso(progresso.getIdUser());
+        if (resultado != null) {
+            // duas gravações simultâneas do mesmo par podem chegar aqui fora da ordem em que foram
+            // confirmadas no banco: o acumulado relê a linha confirmada em vez de usar o resultado
+            AcumuladoProgresso.sincronizar(progresso.getIdUser(), progresso.getIdModulo());
+        }
+        return resultado;
+    }
+
+    /**
+     * Grava vários progressos de uma vez, em uma única transação.
+     *
+     * <p>Itens sem ID são inseridos (e recebem o ID gerado) e os demais atualizados. Se algum item não puder ser gravado,
+     * nenhum é: o item com problema recebe a situação {@link ResultadoLoteTO#ERRO} ou
+     * {@link ResultadoLoteTO#NAO_ENCONTRADO}, e os demais {@link ResultadoLoteTO#NAO_GRAVADO}.</p>
+     *
+     * @param progressos lista de {@link ProgressoTO} a serem gravados
+     * @return o resultado de cada item, na ordem recebida, ou null se não foi possível acessar o banco.
+     */
+    public List<ResultadoLoteTO> saveLote(List<ProgressoTO> progressos) {
+        progressoDAO = new ProgressoDAO();
+        // a gravação preenche o ID dos itens inseridos, então a operação de cada um é anotada antes
+        boolean[] insercoes = new boolean[progressos.size()];
+        for (int i = 0; i < insercoes.length; i++) {
+            insercoes[i] = progressos.get(i).getIdProgresso() == null;
+        }
+        int[] contagens = progressoDAO.saveLote(progressos);
+        if (contagens == null) {
+            return null;
+        }
+        boolean gravado = Arrays.stream(contagens).allMatch(c -> c > 0 || c == Statement.SUCCESS_NO_INFO);
+        List<ResultadoLoteTO> resultados = new ArrayList<>(progressos.size());
+        for (int i = 0; i < progressos.size(); i++) {
+            ProgressoTO progresso = progressos.get(i);
+            String situacao;
+            if (gravado) {
+                situacao = insercoes[i] ? ResultadoLoteTO.INSERIDO : ResultadoLoteTO.ATUALIZADO;
+            } else if (contagens[i] == 0) {
+                situacao = ResultadoLoteTO.NAO_ENCONTRADO;
+            } else if (contagens[i] == Statement.EXECUTE_FAILED) {
+                situacao = ResultadoLoteTO.ERRO;
+            } else {
+                situacao = ResultadoLoteTO.NAO_GRAVADO;
+            }
+            resultados.add(new ResultadoLoteTO(i, situacao, progresso));
+        }
+
+        if (gravado) {
+            boolean atualizacao = false;
+            for (boolean insercao : insercoes) {
+                atualizacao |= !insercao;
+            }
+            if (atualizacao) {
+                // uma atualização pode trocar o dono do progresso; descobrir os donos anteriores
+                // custaria uma consulta por item, então todas as versões de progresso avançam
+                Versoes.incrementar(Versoes.Entidade.PROGRESSO);
+                AcumuladoProgresso.limpar();
+            } else {
+                progressos.stream().map(ProgressoTO::getIdUser).distinct().forEach(idUser -> {
+                    Versoes.incrementarProgresso(idUser);
+                    AcumuladoProgresso.descartar(idUser);
+                });
+            }
+        }
+        return resultados;
     }
 
     /**
      * Exclui uma progresso do banco de dados pelo seu código (ID).
      *
+     * <p>O progresso é lido antes, para avançar a versão e o acumulado apenas do seu usuário. Um ID inexistente
+     * não chega ao banco nem invalida nada; só uma falha nessa leitura, em que o usuário afetado não é conhecido,
+     * invalida o progresso de todos os usuários.</p>
+     *
      * @param codigo Código (ID) do progresso a ser excluído.
      * @return true se a exclusão foi bem-sucedida, false caso contrário.
      */
     public boolean delete(Long codigo) {
         progressoDAO = new ProgressoDAO();
-        return progressoDAO.delete(codigo);
+        ProgressoTO anterior;
+        try {
+            anterior = progressoDAO.findByCodigo(codigo);
+        } catch (SQLException e) {
+            boolean resultado = progressoDAO.delete(codigo);
+            invalidarTodos();
+            return resultado;
+        }
+        if (anterior == null) {
+            return false;
+        }
+        boolean resultado = progressoDAO.delete(codigo);
+        if (resultado) {
+            Versoes.incrementarProgresso(anterior.getIdUser());
+            AcumuladoProgresso.registrar(anterior, null);
+        }
+        return resultado;
     }
 
     /**
      * Atualiza os dados de uma progresso existente no banco de dados.
      *
+     * <p>Como em {@link #delete(Long)}, o progresso é lido antes, e um ID inexistente não chega ao banco. O
+     * acumulado relê as linhas confirmadas do par anterior e do novo ({@code id_user}, {@code id_modulo}).</p>
+     *
      * @param progresso Objeto {@link ProgressoTO} contendo os dados atualizados do progresso.
-     * @return {@link ProgressoTO} atualizado, ou null se não foi possível atualizar.
+     * @return {@link ProgressoTO} atualizado, ou null se o progresso não existir.
+     * @throws SQLException se ocorrer erro na gravação
      */
-    public ProgressoTO update(ProgressoTO progresso) {
+    public ProgressoTO update(ProgressoTO progresso) throws SQLException {
         progressoDAO = new ProgressoDAO();
-        return progressoDAO.update(progresso);
+        ProgressoTO anterior;
+        try {
+            anterior = progressoDAO.findByCodigo(progresso.getIdProgresso());
+        } catch (SQLException e) {
+            try {
+                return progressoDAO.update(progresso);
+            } finally {
+                invalidarTodos();
+            }
+        }
+        if (anterior == null) {
+            return null;
+        }
+        ProgressoTO resultado = progressoDAO.update(progresso);
+        if (resultado != null) {
+            Versoes.incrementarProgresso(anterior.getIdUser());
+            AcumuladoProgresso.sincronizar(anterior.getIdUser(), anterior.getIdModulo());
+            if (!anterior.getIdUser().equals(resultado.getIdUser()) || !anterior.getIdModulo().equals(resultado.getIdModulo())) {
+                Versoes.incrementarProgresso(resultado.getIdUser());
+                AcumuladoProgresso.sincronizar(resultado.getIdUser(), resultado.getIdModulo());
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Invalida a versão e o acumulado de todos os usuários, depois de uma escrita cujo usuário não é conhecido.
+     */
+    private static void invalidarTodos() {
+        Versoes.incrementar(Versoes.Entidade.PROGRESSO);
+        AcumuladoProgresso.limpar();
     }
 }
@@ -1,10 +1,15 @@
 package br.com.fiap.bo;
 
+import br.com.fiap.dao.ConsumidorLinha;
 import br.com.fiap.dao.SugestoesDAO;
+import br.com.fiap.to.PaginaTO;
+import br.com.fiap.to.ResultadoIdsTO;
 import br.com.fiap.to.SugestoesTO;
 
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * <p>Classe de negócios (Business Object) que gerencia operações relacionadas a sugestões.</p>
@@ -17,6 +22,12 @@ import java.util.ArrayList;
  * @since 21.0.7
  */
 public class SugestoesBO {
+    /** Cache da listagem completa, compartilhado entre as requisições. */
+    private static final CacheCatalogo<String, ArrayList<SugestoesTO>> CACHE_LISTA = CacheCatalogo.configurado("sugestoes");
+
+    /** Cache dos registros buscados por ID, compartilhado entre as requisições. */
+    private static final CacheCatalogo<Long, SugestoesTO> CACHE_ID = CacheCatalogo.configurado("sugestao");
+
     private SugestoesDAO sugestoesDAO;
 
     /**
@@ -25,8 +36,45 @@ public class SugestoesBO {
      * @return ArrayList de {@link SugestoesTO} contendo todas as sugestões.
      */
     public ArrayList<SugestoesTO> findAll() {
+        return CACHE_LISTA.get("findAll", () -> new SugestoesDAO().findAll());
+    }
+
+    /**
+     * Envia todas as sugestões ao consumidor, linha a linha, sem carregá-las em memória.
+     *
+     * @param fetchSize  quantidade de linhas trazidas do banco por vez
+     * @param consumidor destino de cada {@link SugestoesTO}
+     * @throws SQLException se ocorrer erro na consulta
+     * @throws IOException  se o consumidor falhar
+     */
+    public void exportar(int fetchSize, ConsumidorLinha<SugestoesTO> consumidor) throws SQLException, IOException {
+        sugestoesDAO = new SugestoesDAO();
+        sugestoesDAO.exportar(fetchSize, consumidor);
+    }
+
+    /**
+     * Busca várias sugestões pelos seus códigos (IDs), com uma única consulta.
+     *
+     * @param ids Códigos (IDs) procurados, sem repetições.
+     * @return {@link ResultadoIdsTO} com os registros na ordem dos IDs e os IDs não encontrados,
+     * ou null se não foi possível consultar o banco.
+     */
+    public ResultadoIdsTO<SugestoesTO> findByIds(List<Long> ids) {
+        sugestoesDAO = new SugestoesDAO();
+        return BuscaPorIds.ordenar(ids, sugestoesDAO.findByIds(ids), SugestoesTO::getIdSugestoes);
+    }
+
+    /**
+     * Retorna uma página de sugestões a partir de um cursor.
+     *
+     * @param after  último ID já entregue ao cliente (exclusivo)
+     * @param limite quantidade de itens da página
+     * @return {@link PaginaTO} com os itens e o cursor da próxima página,
+     * ou null se não foi possível consultar o banco.
+     */
+    public PaginaTO<SugestoesTO> findPage(long after, int limite) {
         sugestoesDAO = new SugestoesDAO();
-        return sugestoesDAO.findAll();
+        return Paginacao.paginar(sugestoesDAO.findPage(after, limite + 1), limite, SugestoesTO::getIdSugestoes);
     }
 
     /**
@@ -36,8 +84,7 @@ public class SugestoesBO {
      * @return {@link SugestoesTO} correspondente ao código informado ou null se não encontrada.
      */
     public SugestoesTO findByCodigo(Long codigo) throws SQLException {
-        sugestoesDAO = new SugestoesDAO();
-        return sugestoesDAO.findByCodigo(codigo);
+        return CACHE_ID.get(codigo, () -> new SugestoesDAO().findByCodigo(codigo));
     }
 
     /**
@@ -48,7 +95,9 @@ public class SugestoesBO {
      */
     public SugestoesTO save(SugestoesTO sugestao) {
         sugestoesDAO = new SugestoesDAO();
-        return sugestoesDAO.save(sugestao);
+        SugestoesTO resultado = sugestoesDAO.save(sugestao);
+        invalidarCache();
+        return resultado;
     }
 
     /**
@@ -59,7 +108,9 @@ public class SugestoesBO {
      */
     public boolean delete(Long codigo) {
         sugestoesDAO = new SugestoesDAO();
-        return sugestoesDAO.delete(codigo);
+        boolean resultado = sugestoesDAO.delete(codigo);
+        invalidarCache();
+        return resultado;
     }
 
     /**
@@ -70,6 +121,17 @@ public class SugestoesBO {
      */
     public SugestoesTO update(SugestoesTO sugestao) {
         sugestoesDAO = new SugestoesDAO();
-        return sugestoesDAO.update(sugestao);
+        SugestoesTO resultado = sugestoesDAO.update(sugestao);
+        invalidarCache();
+        return resultado;
+    }
+
+    /**
+     * Limpa os caches de sugestões e avança sua versão. Chamado por toda escrita da entidade.
+     */
+    static void invalidarCache() {
+        CACHE_LISTA.limpar();
+        CACHE_ID.limpar();
+        Versoes.incrementar(Versoes.Entidade.SUGESTOES);
     }
-}
\ No newline at end of file
+}
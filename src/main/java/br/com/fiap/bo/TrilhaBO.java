@@ -1,10 +1,18 @@
 package br.com.fiap.bo;
 
+import br.com.fiap.dao.ConsumidorLinha;
+import br.com.fiap.dao.ExecutorBanco;
 import br.com.fiap.dao.TrilhaDAO;
+import br.com.fiap.to.PaginaTO;
+import br.com.fiap.to.ResultadoIdsTO;
+import br.com.fiap.to.TrilhaCompletaTO;
 import br.com.fiap.to.TrilhaTO;
+import io.smallrye.mutiny.Uni;
 
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * <p>Classe de negócios (Business Object) que gerencia operações relacionadas a trilhas.</p>
@@ -17,6 +25,18 @@ import java.util.ArrayList;
  * @since 21.0.7
  */
 public class TrilhaBO {
+    /** Cache da listagem completa, compartilhado entre as requisições. */
+    private static final CacheCatalogo<String, ArrayList<TrilhaTO>> CACHE_LISTA = CacheCatalogo.configurado("trilhas");
+
+    /** Cache dos registros buscados por ID, compartilhado entre as requisições. */
+    private static final CacheCatalogo<Long, TrilhaTO> CACHE_ID = CacheCatalogo.configurado("trilha");
+
+    /** Cache das trilhas com módulos; depende também dos módulos, então é limpo pelas escritas de ambos. */
+    private static final CacheCatalogo<Long, TrilhaCompletaTO> CACHE_COMPLETA = CacheCatalogo.configurado("trilhaCompleta");
+
+    /** Cache da listagem de trilhas com módulos. */
+    private static final CacheCatalogo<String, ArrayList<TrilhaCompletaTO>> CACHE_COMPLETAS = CacheCatalogo.configurado("trilhasCompletas");
+
     private TrilhaDAO trilhaDAO;
 
     /**
@@ -25,8 +45,60 @@ public class TrilhaBO {
      * @return ArrayList de {@link TrilhaTO} contendo todas as trilhas.
      */
     public ArrayList<TrilhaTO> findAll() {
+        return CACHE_LISTA.get("findAll", () -> new TrilhaDAO().findAll());
+    }
+
+    /**
+     * Versão assíncrona de {@link #findAll()}, usada no modo de leitura reativo.
+     *
+     * <p>Um acerto no cache é emitido imediatamente; só a falha agenda a consulta no {@link ExecutorBanco}.</p>
+     *
+     * @return {@link Uni} com a lista de {@link TrilhaTO}
+     */
+    public Uni<ArrayList<TrilhaTO>> findAllReativo() {
+        ArrayList<TrilhaTO> emCache = CACHE_LISTA.consultar("findAll");
+        if (emCache != null) {
+            return Uni.createFrom().item(emCache);
+        }
+        return ExecutorBanco.executar(this::findAll);
+    }
+
+    /**
+     * Envia todas as trilhas ao consumidor, linha a linha, sem carregá-las em memória.
+     *
+     * @param fetchSize  quantidade de linhas trazidas do banco por vez
+     * @param consumidor destino de cada {@link TrilhaTO}
+     * @throws SQLException se ocorrer erro na consulta
+     * @throws IOException  se o consumidor falhar
+     */
+    public void exportar(int fetchSize, ConsumidorLinha<TrilhaTO> consumidor) throws SQLException, IOException {
+        trilhaDAO = new TrilhaDAO();
+        trilhaDAO.exportar(fetchSize, consumidor);
+    }
+
+    /**
+     * Busca várias trilhas pelos seus códigos (IDs), com uma única consulta.
+     *
+     * @param ids Códigos (IDs) procurados, sem repetições.
+     * @return {@link ResultadoIdsTO} com os registros na ordem dos IDs e os IDs não encontrados,
+     * ou null se não foi possível consultar o banco.
+     */
+    public ResultadoIdsTO<TrilhaTO> findByIds(List<Long> ids) {
         trilhaDAO = new TrilhaDAO();
-        return trilhaDAO.findAll();
+        return BuscaPorIds.ordenar(ids, trilhaDAO.findByIds(ids), TrilhaTO::getIdTrilha);
+    }
+
+    /**
+     * Retorna uma página de trilhas a partir de um cursor.
+     *
+     * @param after  último ID já entregue ao cliente (exclusivo)
+     * @param limite quantidade de itens da página
+     * @return {@link PaginaTO} com os itens e o cursor da próxima página,
+     * ou null se não foi possível consultar o banco.
+     */
+    public PaginaTO<TrilhaTO> findPage(long after, int limite) {
+        trilhaDAO = new TrilhaDAO();
+        return Paginacao.paginar(trilhaDAO.findPage(after, limite + 1), limite, TrilhaTO::getIdTrilha);
     }
 
     /**
@@ -36,8 +108,26 @@ public class TrilhaBO {
      * @return {@link TrilhaTO} correspondente ao código informado ou null se não encontrada.
      */
     public TrilhaTO findByCodigo(Long codigo) throws SQLException {
-        trilhaDAO = new TrilhaDAO();
-        return trilhaDAO.findByCodigo(codigo);
+        return CACHE_ID.get(codigo, () -> new TrilhaDAO().findByCodigo(codigo));
+    }
+
+    /**
+     * Busca uma trilha junto com os seus módulos.
+     *
+     * @param codigo Código (ID) da trilha.
+     * @return {@link TrilhaCompletaTO} com os módulos e o total, ou null se a trilha não existir.
+     */
+    public TrilhaCompletaTO findCompleta(Long codigo) {
+        return CACHE_COMPLETA.get(codigo, () -> new TrilhaDAO().findCompleta(codigo));
+    }
+
+    /**
+     * Retorna todas as trilhas junto com os seus módulos.
+     *
+     * @return ArrayList de {@link TrilhaCompletaTO}.
+     */
+    public ArrayList<TrilhaCompletaTO> findAllCompletas() {
+        return CACHE_COMPLETAS.get("findAllCompletas", () -> new TrilhaDAO().findAllCompletas());
     }
 
     /**
@@ -48,7 +138,9 @@ public class TrilhaBO {
      */
     public TrilhaTO save(TrilhaTO trilha) {
         trilhaDAO = new TrilhaDAO();
-        return trilhaDAO.save(trilha);
+        TrilhaTO resultado = trilhaDAO.save(trilha);
+        invalidarCache();
+        return resultado;
     }
 
     /**
@@ -59,7 +151,13 @@ public class TrilhaBO {
      */
     public boolean delete(Long codigo) {
         trilhaDAO = new TrilhaDAO();
-        return trilhaDAO.delete(codigo);
+        boolean resultado = trilhaDAO.delete(codigo);
+        invalidarCache();
+        // a exclusão remove os módulos da trilha, e os progressos desses módulos, em cascata
+        ModuloBO.invalidarCache();
+        Versoes.incrementar(Versoes.Entidade.PROGRESSO);
+        AcumuladoProgresso.limpar();
+        return resultado;
     }
 
     /**
@@ -70,6 +168,26 @@ public class TrilhaBO {
      */
     public TrilhaTO update(TrilhaTO trilha) {
         trilhaDAO = new TrilhaDAO();
-        return trilhaDAO.update(trilha);
+        TrilhaTO resultado = trilhaDAO.update(trilha);
+        invalidarCache();
+        return resultado;
+    }
+
+    /**
+     * Limpa os caches de trilhas e avança sua versão. Chamado por toda escrita da entidade.
+     */
+    static void invalidarCache() {
+        CACHE_LISTA.limpar();
+        CACHE_ID.limpar();
+        invalidarCompletas();
+        Versoes.incrementar(Versoes.Entidade.TRILHA);
+    }
+
+    /**
+     * Limpa os caches das trilhas com módulos. Chamado também pelas escritas de módulos.
+     */
+    static void invalidarCompletas() {
+        CACHE_COMPLETA.limpar();
+        CACHE_COMPLETAS.limpar();
     }
 }
@@ -1,10 +1,18 @@
 package br.com.fiap.bo;
 
+import br.com.fiap.dao.ConsumidorLinha;
+import br.com.fiap.dao.LeituraClob;
 import br.com.fiap.dao.TrilhaPersonalizadaDAO;
+import br.com.fiap.to.PaginaTO;
+import br.com.fiap.to.ResultadoIdsTO;
+import br.com.fiap.to.TrilhaPersonalizadaResumoTO;
 import br.com.fiap.to.TrilhaPersonalizadaTO;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * <p>Classe de negócios (Business Object) que gerencia operações
@@ -32,6 +40,54 @@ public class TrilhaPersonalizadaBO {
         return trilhaPersonalizadaDAO.findAll();
     }
 
+    /**
+     * Retorna o resumo de todas as trilhas personalizadas, sem o conteúdo JSON.
+     *
+     * @return ArrayList de {@link TrilhaPersonalizadaResumoTO}, ou null em caso de erro.
+     */
+    public ArrayList<TrilhaPersonalizadaResumoTO> findResumos() {
+        trilhaPersonalizadaDAO = new TrilhaPersonalizadaDAO();
+        return trilhaPersonalizadaDAO.findResumos();
+    }
+
+    /**
+     * Envia todas as trilhas personalizadas ao consumidor, linha a linha, sem carregá-las em memória.
+     *
+     * @param fetchSize  quantidade de linhas trazidas do banco por vez
+     * @param consumidor destino de cada {@link TrilhaPersonalizadaTO}
+     * @throws SQLException se ocorrer erro na consulta
+     * @throws IOException  se o consumidor falhar
+     */
+    public void exportar(int fetchSize, ConsumidorLinha<TrilhaPersonalizadaTO> consumidor) throws SQLException, IOException {
+        trilhaPersonalizadaDAO = new TrilhaPersonalizadaDAO();
+        trilhaPersonalizadaDAO.exportar(fetchSize, consumidor);
+    }
+
+    /**
+     * Busca várias trilhas personalizadas pelos seus códigos (IDs), com uma única consulta.
+     *
+     * @param ids Códigos (IDs) procurados, sem repetições.
+     * @return {@link ResultadoIdsTO} com os registros na ordem dos IDs e os IDs não encontrados,
+     * ou null se não foi possível consultar o banco.
+     */
+    public ResultadoIdsTO<TrilhaPersonalizadaTO> findByIds(List<Long> ids) {
+        trilhaPersonalizadaDAO = new TrilhaPersonalizadaDAO();
+        return BuscaPorIds.ordenar(ids, trilhaPersonalizadaDAO.findByIds(ids), TrilhaPersonalizadaTO::getIdTrilhaPers);
+    }
+
+    /**
+     * Retorna uma página de trilhas personalizadas a partir de um cursor.
+     *
+     * @param after  último ID já entregue ao cliente (exclusivo)
+     * @param limite quantidade de itens da página
+     * @return {@link PaginaTO} com os itens e o cursor da próxima página,
+     * ou null se não foi possível consultar o banco.
+     */
+    public PaginaTO<TrilhaPersonalizadaTO> findPage(long after, int limite) {
+        trilhaPersonalizadaDAO = new TrilhaPersonalizadaDAO();
+        return Paginacao.paginar(trilhaPersonalizadaDAO.findPage(after, limite + 1), limite, TrilhaPersonalizadaTO::getIdTrilhaPers);
+    }
+
     /**
      * Busca uma trilha personalizada pelo seu código (ID).
      *
@@ -54,6 +110,39 @@ public class TrilhaPersonalizadaBO {
         return trilhaPersonalizadaDAO.findByUserId(idUser);
     }
 
+    /**
+     * Retorna o resumo das trilhas personalizadas de um usuário, sem o conteúdo JSON.
+     *
+     * @param idUser Código (ID) do usuário (id_user).
+     * @return ArrayList de {@link TrilhaPersonalizadaResumoTO} do usuário, ou null em caso de erro.
+     */
+    public ArrayList<TrilhaPersonalizadaResumoTO> findResumosByUserId(Long idUser) {
+        trilhaPersonalizadaDAO = new TrilhaPersonalizadaDAO();
+        return trilhaPersonalizadaDAO.findResumosByUserId(idUser);
+    }
+
+    /**
+     * Retorna o resumo das trilhas personalizadas que incluem um módulo, filtradas pelo conteúdo JSON.
+     *
+     * @param idModulo Código (ID) do módulo.
+     * @return ArrayList de {@link TrilhaPersonalizadaResumoTO}, ou null em caso de erro.
+     */
+    public ArrayList<TrilhaPersonalizadaResumoTO> findResumosByModulo(long idModulo) {
+        trilhaPersonalizadaDAO = new TrilhaPersonalizadaDAO();
+        return trilhaPersonalizadaDAO.findResumosByModulo(idModulo);
+    }
+
+    /**
+     * Retorna o resumo das trilhas personalizadas de uma dificuldade, filtradas pelo conteúdo JSON.
+     *
+     * @param dificuldade Dificuldade procurada (facil, medio ou dificil).
+     * @return ArrayList de {@link TrilhaPersonalizadaResumoTO}, ou null em caso de erro.
+     */
+    public ArrayList<TrilhaPersonalizadaResumoTO> findResumosByDificuldade(String dificuldade) {
+        trilhaPersonalizadaDAO = new TrilhaPersonalizadaDAO();
+        return trilhaPersonalizadaDAO.findResumosByDificuldade(dificuldade);
+    }
+
     /**
      * Salva uma nova trilha personalizada no banco de dados.
      *
@@ -65,6 +154,44 @@ public class TrilhaPersonalizadaBO {
         return trilhaPersonalizadaDAO.save(trilhaP);
     }
 
+    /**
+     * Abre a leitura do conteúdo JSON de uma trilha personalizada, para cópia em partes.
+     *
+     * @param codigo Código (ID) da trilha personalizada.
+     * @return {@link LeituraClob} que deve ser fechada após a cópia, ou null se a trilha não existir
+     * ou não tiver conteúdo.
+     */
+    public LeituraClob abrirConteudo(Long codigo) throws SQLException {
+        trilhaPersonalizadaDAO = new TrilhaPersonalizadaDAO();
+        return trilhaPersonalizadaDAO.abrirConteudo(codigo);
+    }
+
+    /**
+     * Cadastra uma trilha personalizada com o conteúdo lido em partes, sem montá-lo em memória.
+     *
+     * @param idUser   Código (ID) do usuário dono da trilha.
+     * @param conteudo Conteúdo JSON da trilha.
+     * @return {@link TrilhaPersonalizadaTO} com o ID e a data gerados, sem o conteúdo, ou null se não foi possível salvar.
+     * @throws SQLException se ocorrer erro na gravação ou na leitura do conteúdo
+     */
+    public TrilhaPersonalizadaTO saveConteudo(Long idUser, Reader conteudo) throws SQLException {
+        trilhaPersonalizadaDAO = new TrilhaPersonalizadaDAO();
+        return trilhaPersonalizadaDAO.saveConteudo(idUser, conteudo);
+    }
+
+    /**
+     * Substitui o conteúdo JSON de uma trilha personalizada, lido em partes.
+     *
+     * @param codigo   Código (ID) da trilha.
+     * @param conteudo Novo conteúdo JSON.
+     * @return true se a trilha foi atualizada, false se ela não existir.
+     * @throws SQLException se ocorrer erro na gravação ou na leitura do conteúdo
+     */
+    public boolean updateConteudo(Long codigo, Reader conteudo) throws SQLException {
+        trilhaPersonalizadaDAO = new TrilhaPersonalizadaDAO();
+        return trilhaPersonalizadaDAO.updateConteudo(codigo, conteudo);
+    }
+
     /**
      * Exclui uma trilha personalizada do banco de dados pelo seu código (ID).
      *
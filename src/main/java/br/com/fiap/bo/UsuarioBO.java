@@ -1,10 +1,16 @@
 package br.com.fiap.bo;
 
+import br.com.fiap.dao.ConsumidorLinha;
 import br.com.fiap.dao.UsuarioDAO;
+import br.com.fiap.to.AprendizadoTO;
+import br.com.fiap.to.PaginaTO;
+import br.com.fiap.to.ResultadoIdsTO;
 import br.com.fiap.to.UsuarioTO;
 
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * <p>Classe de negócios (Business Object) que gerencia operações relacionadas a usuários.</p>
@@ -29,6 +35,44 @@ public class UsuarioBO {
         return usuarioDAO.findAll();
     }
 
+    /**
+     * Envia todos os usuários ao consumidor, linha a linha, sem carregá-los em memória.
+     *
+     * @param fetchSize  quantidade de linhas trazidas do banco por vez
+     * @param consumidor destino de cada {@link UsuarioTO}
+     * @throws SQLException se ocorrer erro na consulta
+     * @throws IOException  se o consumidor falhar
+     */
+    public void exportar(int fetchSize, ConsumidorLinha<UsuarioTO> consumidor) throws SQLException, IOException {
+        usuarioDAO = new UsuarioDAO();
+        usuarioDAO.exportar(fetchSize, consumidor);
+    }
+
+    /**
+     * Busca vários usuários pelos seus códigos (IDs), com uma única consulta.
+     *
+     * @param ids Códigos (IDs) procurados, sem repetições.
+     * @return {@link ResultadoIdsTO} com os registros na ordem dos IDs e os IDs não encontrados,
+     * ou null se não foi possível consultar o banco.
+     */
+    public ResultadoIdsTO<UsuarioTO> findByIds(List<Long> ids) {
+        usuarioDAO = new UsuarioDAO();
+        return BuscaPorIds.ordenar(ids, usuarioDAO.findByIds(ids), UsuarioTO::getIdUser);
+    }
+
+    /**
+     * Retorna uma página de usuários a partir de um cursor.
+     *
+     * @param after  último ID já entregue ao cliente (exclusivo)
+     * @param limite quantidade de itens da página
+     * @return {@link PaginaTO} com os itens e o cursor da próxima página,
+     * ou null se não foi possível consultar o banco.
+     */
+    public PaginaTO<UsuarioTO> findPage(long after, int limite) {
+        usuarioDAO = new UsuarioDAO();
+        return Paginacao.paginar(usuarioDAO.findPage(after, limite + 1), limite, UsuarioTO::getIdUser);
+    }
+
     /**
      * Busca um usuário pelo seu código (ID).
      *
@@ -40,6 +84,17 @@ public class UsuarioBO {
         return usuarioDAO.findByCodigo(codigo);
     }
 
+    /**
+     * Busca o usuário junto com os seus progressos e trilhas personalizadas.
+     *
+     * @param idUser Código (ID) do usuário.
+     * @return {@link AprendizadoTO} do usuário, ou null se não foi possível consultar o banco.
+     */
+    public AprendizadoTO findAprendizado(Long idUser) {
+        usuarioDAO = new UsuarioDAO();
+        return usuarioDAO.findAprendizado(idUser);
+    }
+
     /**
      * Busca um usuário pelo email.
      *
@@ -70,7 +125,11 @@ public class UsuarioBO {
      */
     public boolean delete(Long codigo) {
         usuarioDAO = new UsuarioDAO();
-        return usuarioDAO.delete(codigo);
+        boolean resultado = usuarioDAO.delete(codigo);
+        // a exclusão remove os progressos do usuário em cascata
+        Versoes.incrementarProgresso(codigo);
+        AcumuladoProgresso.descartar(codigo);
+        return resultado;
     }
 
     /**
@@ -0,0 +1,110 @@
+package br.com.fiap.bo;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>Contadores de versão das entidades, usados para gerar as ETags das respostas GET.</p>
+ *
+ * <p>Toda escrita feita pelos BOs incrementa a versão da entidade alterada. Os progressos têm, além disso,
+ * uma versão por usuário, para que a escrita no progresso de um usuário não invalide a ETag dos demais.
+ * Escritas que não indicam o usuário afetado (como a exclusão de um módulo, que remove progressos em
+ * cascata) incrementam a versão base, que invalida todos os usuários de uma vez.</p>
+ *
+ * <p>As versões ficam em memória e recomeçam a cada inicialização; por isso a ETag também inclui o
+ * identificador da instância ({@link #INSTANCIA}).</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+public final class Versoes {
+
+    /** Entidades versionadas. */
+    public enum Entidade { TRILHA, MODULO, SUGESTOES, PROGRESSO }
+
+    /** Identificador desta execução da aplicação, distinto a cada inicialização. */
+    public static final String INSTANCIA = Long.toString(System.currentTimeMillis(), 36);
+
+    /** Quantidade máxima de usuários com versão própria antes de reiniciar a contagem por usuário. */
+    private static final int MAXIMO_USUARIOS = 100_000;
+
+    private static final Map<Entidade, AtomicLong> VERSOES = new EnumMap<>(Entidade.class);
+
+    /** Versão do progresso de cada usuário que teve escritas desde a última invalidação geral. */
+    private static final ConcurrentHashMap<Long, Long> PROGRESSO_USUARIO = new ConcurrentHashMap<>();
+
+    /** Versão mínima do progresso de qualquer usuário, definida pela última invalidação geral. */
+    private static volatile long baseProgresso;
+
+    static {
+        for (Entidade entidade : Entidade.values()) {
+            VERSOES.put(entidade, new AtomicLong());
+        }
+    }
+
+    private Versoes() {
+    }
+
+    /**
+     * Retorna a versão atual de uma entidade.
+     *
+     * @param entidade a entidade consultada
+     * @return o contador de versão da entidade
+     */
+    public static long atual(Entidade entidade) {
+        return VERSOES.get(entidade).get();
+    }
+
+    /**
+     * Retorna a versão atual dos progressos de um usuário.
+     *
+     * @param idUser o ID do usuário
+     * @return a versão do progresso do usuário, nunca menor que a versão base
+     */
+    public static long progressoDoUsuario(Long idUser) {
+        long base = baseProgresso;
+        Long usuario = idUser != null ? PROGRESSO_USUARIO.get(idUser) : null;
+        return usuario != null ? Math.max(base, usuario) : base;
+    }
+
+    /**
+     * Registra uma escrita na entidade. Para progressos, invalida a versão de todos os usuários.
+     *
+     * @param entidade a entidade alterada
+     */
+    static void incrementar(Entidade entidade) {
+        if (entidade != Entidade.PROGRESSO) {
+            VERSOES.get(entidade).incrementAndGet();
+            return;
+        }
+        synchronized (PROGRESSO_USUARIO) {
+            baseProgresso = VERSOES.get(Entidade.PROGRESSO).incrementAndGet();
+            PROGRESSO_USUARIO.clear();
+        }
+    }
+
+    /**
+     * Registra uma escrita nos progressos de um usuário.
+     *
+     * <p>Todas as versões de progresso saem do mesmo contador crescente, então uma versão nunca se repete
+     * para o mesmo usuário, mesmo depois de uma invalidação geral.</p>
+     *
+     * @param idUser o ID do usuário cujo progresso foi alterado; {@code null} invalida todos os usuários
+     */
+    static void incrementarProgresso(Long idUser) {
+        if (idUser == null || PROGRESSO_USUARIO.size() >= MAXIMO_USUARIOS) {
+            incrementar(Entidade.PROGRESSO);
+            if (idUser == null) {
+                return;
+            }
+        }
+        synchronized (PROGRESSO_USUARIO) {
+            PROGRESSO_USUARIO.put(idUser, VERSOES.get(Entidade.PROGRESSO).incrementAndGet());
+        }
+    }
+}
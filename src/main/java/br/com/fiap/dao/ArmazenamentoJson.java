@@ -0,0 +1,79 @@
+package br.com.fiap.dao;
+
+import oracle.jdbc.OracleConnection;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * <p>Forma como o conteúdo das trilhas personalizadas ({@code ddd_trilha_pers.json_conteudo}) está
+ * armazenado no banco em uso, o que define onde os filtros sobre o JSON são aplicados.</p>
+ *
+ * <p>O modo é detectado uma única vez, pelo tipo da coluna: não há propriedade a configurar, basta criar a
+ * coluna com o tipo {@code JSON} (veja o README) para que o DAO passe a usá-lo.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+enum ArmazenamentoJson {
+
+    /**
+     * Coluna do tipo {@code JSON} (Oracle 21 ou superior), guardada no formato binário OSON. Os filtros usam
+     * os operadores SQL/JSON, atendidos pelo índice de busca JSON, sem interpretar o texto a cada consulta.
+     */
+    JSON_NATIVO(true),
+
+    /** Coluna {@code CLOB} no Oracle: os filtros também usam SQL/JSON, mas o banco interpreta o texto de cada linha. */
+    TEXTO_ORACLE(true),
+
+    /** Texto em um banco sem SQL/JSON (como o H2 do perfil {@code embedded}): os filtros são aplicados na aplicação. */
+    TEXTO(false);
+
+    /** Resultado da detecção; {@code null} até a primeira consulta. */
+    private static volatile ArmazenamentoJson detectado;
+
+    private final boolean filtraNoBanco;
+
+    ArmazenamentoJson(boolean filtraNoBanco) {
+        this.filtraNoBanco = filtraNoBanco;
+    }
+
+    /**
+     * @return {@code true} se os filtros sobre o conteúdo podem ser escritos em SQL/JSON
+     */
+    boolean filtraNoBanco() {
+        return filtraNoBanco;
+    }
+
+    /**
+     * Retorna o modo de armazenamento do banco da conexão, detectando-o na primeira chamada.
+     *
+     * @param con conexão com o banco da aplicação
+     * @return o modo de armazenamento do conteúdo
+     * @throws SQLException se não for possível consultar o dicionário de dados
+     */
+    static ArmazenamentoJson de(Connection con) throws SQLException {
+        ArmazenamentoJson modo = detectado;
+        if (modo == null) {
+            modo = detectar(con);
+            detectado = modo;
+        }
+        return modo;
+    }
+
+    private static ArmazenamentoJson detectar(Connection con) throws SQLException {
+        if (!con.isWrapperFor(OracleConnection.class)) {
+            return TEXTO;
+        }
+        String sql = "SELECT data_type FROM user_tab_columns WHERE table_name = 'DDD_TRILHA_PERS' AND column_name = 'JSON_CONTEUDO'";
+        try (PreparedStatement ps = con.prepareStatement(sql);
+             ResultSet rs = ps.executeQuery()) {
+            return rs.next() && "JSON".equals(rs.getString(1)) ? JSON_NATIVO : TEXTO_ORACLE;
+        }
+    }
+}
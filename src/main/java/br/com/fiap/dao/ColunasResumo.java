@@ -0,0 +1,77 @@
+package br.com.fiap.dao;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * <p>Indica se a tabela {@code ddd_trilha_pers} do banco em uso já tem as colunas de resumo
+ * ({@code titulo} e {@code tamanho_conteudo}).</p>
+ *
+ * <p>Um esquema Oracle criado antes delas continua funcionando: sem as colunas, o DAO grava apenas as colunas
+ * originais, e as listagens resumidas trazem o título vazio e o tamanho calculado pelo banco a partir do
+ * CLOB. A verificação é feita uma única vez; depois do {@code ALTER TABLE} do README, basta reiniciar a
+ * aplicação para que as colunas passem a ser usadas.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+final class ColunasResumo {
+
+    /** Resultado da verificação; {@code null} até a primeira consulta. */
+    private static volatile Boolean existentes;
+
+    private ColunasResumo() {
+    }
+
+    /**
+     * Informa se as colunas de resumo existem, verificando-as na primeira chamada.
+     *
+     * @param con conexão com o banco da aplicação
+     * @return {@code true} se {@code titulo} e {@code tamanho_conteudo} existem em {@code ddd_trilha_pers}
+     * @throws SQLException se não for possível consultar os metadados do banco
+     */
+    static boolean existem(Connection con) throws SQLException {
+        Boolean resultado = existentes;
+        if (resultado == null) {
+            resultado = verificar(con);
+            existentes = resultado;
+        }
+        return resultado;
+    }
+
+    /**
+     * Colunas das listagens resumidas, na ordem de {@link TrilhaPersonalizadaDAO#COLUNAS_RESUMO}.
+     *
+     * @param con conexão com o banco da aplicação
+     * @return as colunas de resumo, ou expressões equivalentes se elas ainda não existirem
+     * @throws SQLException se não for possível consultar os metadados do banco
+     */
+    static String selecao(Connection con) throws SQLException {
+        if (existem(con)) {
+            return TrilhaPersonalizadaDAO.COLUNAS_RESUMO;
+        }
+        // só um esquema Oracle antigo chega aqui: o do perfil embedded já cria as colunas
+        String conteudo = ArmazenamentoJson.de(con) == ArmazenamentoJson.JSON_NATIVO
+                ? "JSON_SERIALIZE(json_conteudo RETURNING CLOB)" : "json_conteudo";
+        return "id_pers, id_user, data_criacao, CAST(NULL AS VARCHAR2(100)), DBMS_LOB.GETLENGTH(" + conteudo + ")";
+    }
+
+    private static boolean verificar(Connection con) throws SQLException {
+        DatabaseMetaData metadados = con.getMetaData();
+        int encontradas = 0;
+        try (ResultSet rs = metadados.getColumns(con.getCatalog(), con.getSchema(), "DDD_TRILHA_PERS", null)) {
+            while (rs.next()) {
+                String coluna = rs.getString("COLUMN_NAME");
+                if ("TITULO".equalsIgnoreCase(coluna) || "TAMANHO_CONTEUDO".equalsIgnoreCase(coluna)) {
+                    encontradas++;
+                }
+            }
+        }
+        return encontradas == 2;
+    }
+}
@@ -1,71 +1,65 @@
 package br.com.fiap.dao;
 
+import io.agroal.api.AgroalDataSource;
+import jakarta.enterprise.inject.spi.CDI;
+
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 /**
- * Classe responsável por gerenciar a criação e o fechamento de conexões com o banco de dados Oracle.
+ * Classe responsável por fornecer conexões com o banco de dados a partir do pool gerenciado pelo Quarkus (Agroal).
+ *
+ * <p>O pool é configurado no {@code application.properties} a partir das variáveis de ambiente:</p>
  *<strong>DB_URL</strong> — endereço JDBC do banco de dados
  *<strong>DB_USER</strong> — nome do usuário do banco
  *<strong>DB_PASSWORD</strong> — senha do banco
  *
- * <p>O método {@link #getConnection()} verifica se já existe uma conexão ativa e reutiliza-a sempre que possível.
- * Caso contrário, ele cria uma nova conexão utilizando o driver JDBC da Oracle.</p>
+ * <p>O método {@link #getConnection()} empresta uma conexão do pool. Cada conexão emprestada pertence somente a
+ * quem a obteve e deve ser fechada (preferencialmente com <i>try-with-resources</i>), o que a devolve ao pool
+ * em vez de encerrar a sessão com o banco.</p>
  *
- * <p>O método {@link #closeConnection()} deve ser chamado para encerrar a conexão aberta, evitando vazamentos
- * de recursos.</p>
+ * <p>Como o {@link AgroalDataSource} é um bean CDI, ele também pode ser injetado diretamente com {@code @Inject}.</p>
  *
  * @author Lucas Barros Gouveia
  * @author Enzo Okuizumi Miranda de Souza
  * @author Milton Jakson de Souza Marcelino
- * @version 1.0
+ * @version 1.1
  * @since 21.0.7
  */
 public class ConnectionFactory {
 
-    /** Instância única da conexão ativa com o banco de dados. */
-    private static Connection connection;
+    /** Pool de conexões resolvido do contêiner CDI no primeiro uso. */
+    private static volatile AgroalDataSource dataSource;
 
     /**
-     * Fecha a conexão atual com o banco de dados, caso esteja aberta.
+     * Empresta uma conexão do pool.
+     *
+     * <p>Caso nenhuma conexão fique disponível dentro do tempo de aquisição configurado
+     * ({@code quarkus.datasource.jdbc.acquisition-timeout}), uma {@link SQLException} é lançada.</p>
      *
-     * <p>Este método deve ser chamado ao final do uso da conexão para liberar
-     * os recursos do banco de dados e evitar vazamentos de memória.</p>
+     * @return uma {@link Connection} exclusiva do chamador, que deve ser fechada após o uso
+     * @throws SQLException se não for possível obter uma conexão do pool
      */
-    public static void closeConnection() {
-        try {
-            if (!connection.isClosed()) {
-                connection.close();
-            }
-        } catch (Exception e) {
-            System.out.println("Erro: " + e.getMessage());
-        }
+    public static Connection getConnection() throws SQLException {
+        return getDataSource().getConnection();
     }
 
     /**
-     * Obtém uma conexão ativa com o banco de dados Oracle.
-     *
-     * <p>Se já existir uma conexão aberta, ela será reutilizada. Caso contrário,
-     * uma nova conexão será criada utilizando as variáveis de ambiente configuradas.</p>
+     * Retorna o pool de conexões gerenciado pelo Quarkus.
      *
-     * @return uma instância de {@link Connection} ativa com o banco de dados, ou {@code null} se ocorrer erro
+     * @return o {@link AgroalDataSource} padrão da aplicação
      */
-    public static Connection getConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                return connection;
+    public static AgroalDataSource getDataSource() {
+        AgroalDataSource ds = dataSource;
+        if (ds == null) {
+            synchronized (ConnectionFactory.class) {
+                ds = dataSource;
+                if (ds == null) {
+                    ds = CDI.current().select(AgroalDataSource.class).get();
+                    dataSource = ds;
+                }
             }
-            Class.forName("oracle.jdbc.driver.OracleDriver");
-            String url = System.getenv("DB_URL");
-            String user = System.getenv("DB_USER");
-            String password = System.getenv("DB_PASSWORD");
-            connection = DriverManager.getConnection(url, user, password);
-        } catch (SQLException e) {
-            System.out.println("Erro de SQL: " + e.getMessage());
-        } catch (ClassNotFoundException e) {
-            System.out.println("Erro nome da classe: " + e.getMessage());
         }
-        return connection;
+        return ds;
     }
 }
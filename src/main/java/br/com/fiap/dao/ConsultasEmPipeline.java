@@ -0,0 +1,182 @@
+package br.com.fiap.dao;
+
+import oracle.jdbc.OracleConnection;
+import oracle.jdbc.OraclePreparedStatement;
+import oracle.jdbc.OracleResultSet;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+
+/**
+ * <p>Executa várias consultas na mesma conexão, em pipeline quando o banco permite.</p>
+ *
+ * <p>Com o Oracle 23 (ou superior) e o driver {@code ojdbc11}, todas as consultas são enviadas de uma vez
+ * pelos métodos assíncronos do driver ({@code executeQueryAsyncOracle}), sem esperar a resposta de cada
+ * uma, e os resultados são lidos depois, na ordem em que foram pedidos: a operação custa cerca de uma
+ * ida e volta ao banco, e não uma por consulta. Em outros bancos (como o H2 do perfil {@code embedded}),
+ * em versões anteriores do Oracle ou com {@code reintegrai.dados.pipeline=false}, as consultas são
+ * executadas uma após a outra, com o mesmo resultado.</p>
+ *
+ * <p>Só consultas são aceitas: se o driver recusar o pipeline no meio da operação, elas podem ser
+ * repetidas em sequência sem efeitos colaterais.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+final class ConsultasEmPipeline {
+
+    /** Versão mínima do Oracle que aceita pipeline. */
+    private static final int VERSAO_MINIMA_ORACLE = 23;
+
+    /** Permite desligar o pipeline por configuração, para comparação. */
+    private static final boolean HABILITADO = ConfigProvider.getConfig()
+            .getOptionalValue("reintegrai.dados.pipeline", Boolean.class).orElse(true);
+
+    /** Resultado da verificação do banco; {@code null} até a primeira execução. */
+    private static volatile Boolean suportado;
+
+    /**
+     * Lê o resultado de uma das consultas.
+     */
+    @FunctionalInterface
+    interface Leitor {
+        /**
+         * Consome as linhas do resultado.
+         *
+         * @param rs resultado da consulta, fechado após a leitura
+         * @throws SQLException se ocorrer erro na leitura
+         */
+        void ler(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Uma consulta já preparada e o leitor do seu resultado.
+     *
+     * @param ps     consulta preparada, com os parâmetros definidos
+     * @param leitor leitor do resultado
+     */
+    record Consulta(PreparedStatement ps, Leitor leitor) {
+    }
+
+    private ConsultasEmPipeline() {
+    }
+
+    /**
+     * Executa as consultas e entrega cada resultado ao seu leitor, na ordem informada.
+     *
+     * @param con       conexão em que as consultas foram preparadas
+     * @param consultas consultas a executar
+     * @throws SQLException se alguma consulta ou leitura falhar
+     */
+    static void executar(Connection con, Consulta... consultas) throws SQLException {
+        if (suportado(con)) {
+            List<CompletableFuture<OracleResultSet>> pendentes = new ArrayList<>(consultas.length);
+            try {
+                for (Consulta consulta : consultas) {
+                    pendentes.add(enviar(consulta.ps()));
+                }
+            } catch (SQLFeatureNotSupportedException e) {
+                suportado = false;
+                for (CompletableFuture<OracleResultSet> pendente : pendentes) {
+                    fechar(pendente);
+                }
+                executarEmSequencia(consultas);
+                return;
+            }
+            for (int i = 0; i < consultas.length; i++) {
+                try (ResultSet rs = aguardar(pendentes.get(i))) {
+                    consultas[i].leitor().ler(rs);
+                }
+            }
+            return;
+        }
+        executarEmSequencia(consultas);
+    }
+
+    private static void executarEmSequencia(Consulta... consultas) throws SQLException {
+        for (Consulta consulta : consultas) {
+            try (ResultSet rs = consulta.ps().executeQuery()) {
+                consulta.leitor().ler(rs);
+            }
+        }
+    }
+
+    /**
+     * Verifica, uma única vez, se o banco da conexão aceita pipeline.
+     */
+    private static boolean suportado(Connection con) throws SQLException {
+        Boolean resultado = suportado;
+        if (resultado == null) {
+            resultado = HABILITADO && con.isWrapperFor(OracleConnection.class)
+                    && con.getMetaData().getDatabaseMajorVersion() >= VERSAO_MINIMA_ORACLE;
+            suportado = resultado;
+        }
+        return resultado;
+    }
+
+    /**
+     * Envia a consulta sem esperar a resposta do banco.
+     *
+     * @return futuro completado com o resultado quando ele chegar
+     */
+    private static CompletableFuture<OracleResultSet> enviar(PreparedStatement ps) throws SQLException {
+        CompletableFuture<OracleResultSet> futuro = new CompletableFuture<>();
+        ps.unwrap(OraclePreparedStatement.class).executeQueryAsyncOracle().subscribe(new Flow.Subscriber<>() {
+            @Override
+            public void onSubscribe(Flow.Subscription assinatura) {
+                assinatura.request(1);
+            }
+
+            @Override
+            public void onNext(OracleResultSet rs) {
+                futuro.complete(rs);
+            }
+
+            @Override
+            public void onError(Throwable erro) {
+                futuro.completeExceptionally(erro);
+            }
+
+            @Override
+            public void onComplete() {
+                futuro.complete(null);
+            }
+        });
+        return futuro;
+    }
+
+    private static OracleResultSet aguardar(CompletableFuture<OracleResultSet> pendente) throws SQLException {
+        try {
+            OracleResultSet rs = pendente.get();
+            if (rs == null) {
+                throw new SQLException("A consulta em pipeline não retornou resultado.");
+            }
+            return rs;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Consulta em pipeline interrompida.", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof SQLException sql ? sql : new SQLException(e.getCause());
+        }
+    }
+
+    private static void fechar(CompletableFuture<OracleResultSet> pendente) {
+        try {
+            aguardar(pendente).close();
+        } catch (SQLException e) {
+            System.out.println("Erro ao descartar consulta em pipeline: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package br.com.fiap.dao;
+
+import java.io.IOException;
+
+/**
+ * Recebe, uma a uma, as linhas lidas por uma consulta em modo de exportação.
+ *
+ * <p>Usada para enviar registros diretamente do {@link java.sql.ResultSet} para a resposta HTTP,
+ * sem acumular a tabela inteira em memória.</p>
+ *
+ * @param <T> tipo do objeto montado a partir de cada linha
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+@FunctionalInterface
+public interface ConsumidorLinha<T> {
+
+    /**
+     * Processa uma linha da consulta.
+     *
+     * @param item o objeto montado a partir da linha atual
+     * @throws IOException se a escrita do item falhar (por exemplo, cliente desconectado)
+     */
+    void aceitar(T item) throws IOException;
+}
@@ -0,0 +1,71 @@
+package br.com.fiap.dao;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.unchecked.Unchecked;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Executa as consultas do modo de leitura reativo ({@code reintegrai.dados.modo=reativo}).</p>
+ *
+ * <p>As consultas JDBC continuam bloqueantes, mas rodam em um grupo próprio de threads, do mesmo tamanho
+ * do pool de conexões ({@code quarkus.datasource.jdbc.max-size}), e o resultado é devolvido como {@link Uni}.
+ * Assim a requisição HTTP fica no event loop enquanto espera, sem ocupar uma thread, e o número de
+ * consultas simultâneas nunca passa do número de conexões disponíveis; as demais aguardam na fila.</p>
+ *
+ * <p>A fila é limitada ({@code reintegrai.dados.reativo.fila}): com ela cheia, a consulta falha na hora com
+ * {@link RejectedExecutionException}, respondida com 503, em vez de acumular requisições sem limite enquanto
+ * o banco está lento.</p>
+ *
+ * <p>É o ponto a ser trocado por um cliente SQL não bloqueante quando ele estiver disponível para o
+ * banco da aplicação.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+public final class ExecutorBanco {
+
+    /** Threads que executam as consultas, uma por conexão do pool. */
+    private static final ExecutorService EXECUTOR = criar();
+
+    private ExecutorBanco() {
+    }
+
+    /**
+     * Agenda uma consulta e retorna o seu resultado de forma assíncrona.
+     *
+     * <p>A consulta só é executada quando o {@link Uni} é assinado.</p>
+     *
+     * @param consulta operação de acesso ao banco
+     * @param <T>      tipo do resultado
+     * @return {@link Uni} que emite o resultado da consulta ou a exceção lançada por ela, ou
+     * {@link RejectedExecutionException} se a fila estiver cheia
+     */
+    public static <T> Uni<T> executar(Callable<T> consulta) {
+        return Uni.createFrom().item(Unchecked.supplier(consulta::call)).runSubscriptionOn(EXECUTOR);
+    }
+
+    private static ExecutorService criar() {
+        int tamanho = ConfigProvider.getConfig()
+                .getOptionalValue("quarkus.datasource.jdbc.max-size", Integer.class).orElse(20);
+        int fila = ConfigProvider.getConfig()
+                .getOptionalValue("reintegrai.dados.reativo.fila", Integer.class).orElse(100);
+        AtomicInteger contador = new AtomicInteger();
+        return new ThreadPoolExecutor(tamanho, tamanho, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(fila),
+                tarefa -> {
+                    Thread thread = new Thread(tarefa, "reintegrai-jdbc-" + contador.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
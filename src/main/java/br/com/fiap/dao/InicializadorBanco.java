@@ -0,0 +1,82 @@
+package br.com.fiap.dao;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Classe responsável por preparar o banco de dados embarcado na inicialização da aplicação.
+ *
+ * <p>Executa, em ordem, os scripts SQL do classpath listados em <strong>reintegrai.datasource.scripts</strong>
+ * (esquema das tabelas <b>ddd_*</b> e massa de dados inicial). A propriedade só é definida no perfil
+ * {@code embedded}, herdado pelos perfis {@code dev} e {@code test}; com o Oracle nada é executado.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+@ApplicationScoped
+public class InicializadorBanco {
+
+    /** Scripts SQL a serem executados na inicialização. */
+    @ConfigProperty(name = "reintegrai.datasource.scripts")
+    Optional<List<String>> scripts;
+
+    /**
+     * Executa os scripts configurados assim que a aplicação termina de iniciar.
+     *
+     * @param evento evento de inicialização do Quarkus
+     */
+    void onStart(@Observes StartupEvent evento) {
+        if (scripts.isEmpty()) {
+            return;
+        }
+        try (Connection con = ConnectionFactory.getConnection();
+             Statement st = con.createStatement()) {
+            for (String script : scripts.get()) {
+                for (String comando : lerComandos(script)) {
+                    st.execute(comando);
+                }
+            }
+        } catch (SQLException | IOException e) {
+            throw new IllegalStateException("Erro ao inicializar o banco embarcado: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lê um script do classpath e o separa em comandos individuais.
+     *
+     * @param script caminho do script no classpath
+     * @return os comandos SQL do script, sem comentários
+     * @throws IOException se o script não puder ser lido
+     */
+    private static List<String> lerComandos(String script) throws IOException {
+        try (InputStream in = Thread.currentThread().getContextClassLoader().getResourceAsStream(script)) {
+            if (in == null) {
+                throw new IOException("Script não encontrado: " + script);
+            }
+            StringBuilder sql = new StringBuilder();
+            for (String linha : new String(in.readAllBytes(), StandardCharsets.UTF_8).split("\n")) {
+                if (!linha.trim().startsWith("--")) {
+                    sql.append(linha).append('\n');
+                }
+            }
+            return List.of(sql.toString().split(";")).stream()
+                    .map(String::trim)
+                    .filter(comando -> !comando.isEmpty())
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package br.com.fiap.dao;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * <p>Leitura em andamento de uma coluna CLOB, posicionada na linha encontrada.</p>
+ *
+ * <p>Mantém a conexão, a consulta e o {@link Reader} do CLOB abertos até {@link #close()}, para que o
+ * conteúdo seja copiado para a resposta HTTP em blocos de {@value #TAMANHO_BLOCO} caracteres, sem montar
+ * uma {@link String} com o texto inteiro. A memória usada não depende do tamanho do conteúdo.
+ * Quem a obtém deve sempre fechá-la, o que devolve a conexão ao pool.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+public final class LeituraClob implements Closeable {
+
+    /** Caracteres copiados por vez. */
+    private static final int TAMANHO_BLOCO = 8192;
+
+    private final Connection con;
+    private final PreparedStatement ps;
+    private final ResultSet rs;
+    private final Reader leitor;
+
+    LeituraClob(Connection con, PreparedStatement ps, ResultSet rs, Reader leitor) {
+        this.con = con;
+        this.ps = ps;
+        this.rs = rs;
+        this.leitor = leitor;
+    }
+
+    /**
+     * Copia o conteúdo do CLOB para o destino, bloco a bloco.
+     *
+     * @param destino onde o texto é escrito
+     * @return a quantidade de caracteres copiados
+     * @throws IOException se a leitura do banco ou a escrita no destino falharem
+     */
+    public long copiar(Writer destino) throws IOException {
+        char[] bloco = new char[TAMANHO_BLOCO];
+        long total = 0;
+        for (int lidos = leitor.read(bloco); lidos != -1; lidos = leitor.read(bloco)) {
+            destino.write(bloco, 0, lidos);
+            total += lidos;
+        }
+        return total;
+    }
+
+    /**
+     * Retorna o {@link Reader} do CLOB, para quem precisa interpretar o conteúdo em fluxo em vez de apenas
+     * copiá-lo. Ele continua sendo fechado por {@link #close()}.
+     *
+     * @return o leitor posicionado no início do conteúdo
+     */
+    public Reader leitor() {
+        return leitor;
+    }
+
+    /**
+     * Fecha o leitor, a consulta e a conexão, devolvendo-a ao pool.
+     *
+     * @throws IOException se algum dos recursos não puder ser fechado
+     */
+    @Override
+    public void close() throws IOException {
+        try (con; ps; rs; leitor) {
+            // apenas fecha os recursos, na ordem inversa da declaração
+        } catch (SQLException e) {
+            throw new IOException("Erro ao fechar a leitura do CLOB: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package br.com.fiap.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Executa consultas com {@code WHERE id IN (?, ?, ...)} para uma lista de IDs.
+ *
+ * <p>O Oracle aceita no máximo 1000 expressões em uma lista {@code IN}, então listas maiores são divididas
+ * em blocos, todos consultados na mesma conexão. O tamanho de cada bloco é arredondado para a próxima
+ * potência de dois (repetindo o último ID), para que o banco veja poucos textos de SQL distintos e reaproveite
+ * os planos já preparados.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+final class ListaIn {
+
+    /** Quantidade máxima de IDs por bloco, o limite do Oracle para listas {@code IN}. */
+    static final int TAMANHO_BLOCO = 1000;
+
+    /**
+     * Converte a linha atual do {@link ResultSet} em um objeto.
+     *
+     * @param <T> tipo do objeto
+     */
+    @FunctionalInterface
+    interface Mapeador<T> {
+        T mapear(ResultSet rs) throws SQLException;
+    }
+
+    private ListaIn() {
+    }
+
+    /**
+     * Busca os registros cujos IDs estão na lista.
+     *
+     * @param sql      a consulta até a palavra {@code IN}, por exemplo {@code "SELECT ... WHERE id_tri IN "}
+     * @param ids      os IDs procurados, sem repetições
+     * @param mapeador conversão de cada linha
+     * @param <T>      tipo dos registros
+     * @return os registros encontrados, em qualquer ordem
+     * @throws SQLException se ocorrer erro na consulta
+     */
+    static <T> ArrayList<T> buscar(String sql, Collection<Long> ids, Mapeador<T> mapeador) throws SQLException {
+        ArrayList<T> encontrados = new ArrayList<>(ids.size());
+        if (ids.isEmpty()) {
+            return encontrados;
+        }
+        List<Long> lista = new ArrayList<>(ids);
+        try (Connection con = ConnectionFactory.getConnection()) {
+            for (int inicio = 0; inicio < lista.size(); inicio += TAMANHO_BLOCO) {
+                List<Long> bloco = lista.subList(inicio, Math.min(inicio + TAMANHO_BLOCO, lista.size()));
+                int tamanho = tamanhoArredondado(bloco.size());
+                try (PreparedStatement ps = con.prepareStatement(sql + marcadores(tamanho))) {
+                    for (int i = 0; i < tamanho; i++) {
+                        ps.setLong(i + 1, bloco.get(Math.min(i, bloco.size() - 1)));
+                    }
+                    ps.setFetchSize(tamanho);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            encontrados.add(mapeador.mapear(rs));
+                        }
+                    }
+                }
+            }
+        }
+        return encontrados;
+    }
+
+    /**
+     * Arredonda a quantidade de IDs de um bloco para a próxima potência de dois, limitada a {@link #TAMANHO_BLOCO}.
+     *
+     * @param quantidade a quantidade de IDs do bloco
+     * @return a quantidade de marcadores da consulta
+     */
+    static int tamanhoArredondado(int quantidade) {
+        int tamanho = Integer.highestOneBit(quantidade);
+        if (tamanho < quantidade) {
+            tamanho <<= 1;
+        }
+        return Math.min(tamanho, TAMANHO_BLOCO);
+    }
+
+    /**
+     * Monta a lista de marcadores {@code (?, ?, ...)}.
+     *
+     * @param quantidade a quantidade de marcadores
+     * @return a lista entre parênteses
+     */
+    private static String marcadores(int quantidade) {
+        StringBuilder sql = new StringBuilder(quantidade * 2 + 2).append('(');
+        for (int i = 0; i < quantidade; i++) {
+            sql.append(i == 0 ? "?" : ",?");
+        }
+        return sql.append(')').toString();
+    }
+}
@@ -2,8 +2,10 @@ package br.com.fiap.dao;
 
 import br.com.fiap.to.ModuloTO;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 
 /**
  * Classe responsável pelo acesso e manipulação dos dados da entidade <strong>ddd_modulo</strong>
@@ -24,6 +26,11 @@ import java.util.ArrayList;
  */
 public class ModuloDAO {
 
+    /**
+     * Colunas lidas pelas consultas, na ordem esperada por {@link #mapear(ResultSet)}.
+     */
+    static final String COLUNAS = "id_mod, nome, duracao, link, id_tri";
+
     /**
      * Recupera todos os modulos cadastrados na tabela <b>ddd_modulo</b>.
      *
@@ -32,26 +39,114 @@ public class ModuloDAO {
      */
     public ArrayList<ModuloTO> findAll() {
         ArrayList<ModuloTO> modulos = new ArrayList<ModuloTO>();
-        String sql = "SELECT * FROM ddd_modulo ORDER BY id_mod";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        String sql = "SELECT " + COLUNAS + " FROM ddd_modulo ORDER BY id_mod";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ResultSet rs = ps.executeQuery();
             if (rs != null) {
                 while (rs.next()) {
-                    ModuloTO modulo = new ModuloTO();
-                    modulo.setIdModulo(rs.getLong("id_mod"));
-                    modulo.setNome(rs.getString("nome"));
-                    modulo.setDuracao(rs.getString("duracao"));
-                    modulo.setLink(rs.getString("link"));
-                    modulo.setIdTrilha(rs.getLong("id_tri"));
-                    modulos.add(modulo);
+                    modulos.add(mapear(rs));
                 }
             } else {
                 return null;
             }
         } catch (SQLException e) {
             System.out.println("Erro na modulo: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
+        }
+        return modulos;
+    }
+
+    /**
+     * Percorre todos os módulos da tabela <b>ddd_modulo</b>, entregando cada linha ao consumidor assim que é lida.
+     *
+     * <p>Nenhuma lista é montada: a memória usada depende apenas do {@code fetchSize}, e a escrita lenta
+     * do consumidor (por exemplo, um cliente HTTP lento) naturalmente atrasa a leitura do banco.</p>
+     *
+     * @param fetchSize  quantidade de linhas trazidas do banco a cada ida ao servidor
+     * @param consumidor destino de cada {@link ModuloTO} lido
+     * @throws SQLException se ocorrer erro na consulta
+     * @throws IOException  se o consumidor falhar ao processar uma linha
+     */
+    public void exportar(int fetchSize, ConsumidorLinha<ModuloTO> consumidor) throws SQLException, IOException {
+        String sql = "SELECT " + COLUNAS + " FROM ddd_modulo ORDER BY id_mod";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setFetchSize(fetchSize);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    consumidor.aceitar(mapear(rs));
+                }
+            }
+        }
+    }
+
+    /**
+     * Recupera uma página de módulos da tabela <b>ddd_modulo</b> usando paginação por cursor (keyset).
+     *
+     * <p>A consulta percorre o índice da chave primária a partir de {@code after}, então o custo
+     * não cresce com a profundidade da página.</p>
+     *
+     * @param after  último ID já entregue ao cliente (exclusivo); use 0 para a primeira página
+     * @param limite quantidade máxima de registros a retornar
+     * @return uma lista de {@link ModuloTO} ordenada pelo ID, com no máximo {@code limite} registros,
+     * ou {@code null} em caso de erro.
+     */
+    public ArrayList<ModuloTO> findPage(long after, int limite) {
+        ArrayList<ModuloTO> modulos = new ArrayList<>(limite);
+        String sql = "SELECT " + COLUNAS + " FROM ddd_modulo WHERE id_mod > ? ORDER BY id_mod FETCH FIRST ? ROWS ONLY";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(1, after);
+            ps.setInt(2, limite);
+            ps.setFetchSize(limite);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    modulos.add(mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Erro na modulo: " + e.getMessage());
+            return null;
+        }
+        return modulos;
+    }
+
+    /**
+     * Recupera os registros da tabela <b>ddd_modulo</b> cujos IDs estão na lista, com uma consulta {@code IN}
+     * (dividida em blocos de até {@value ListaIn#TAMANHO_BLOCO} IDs).
+     *
+     * @param ids os IDs procurados, sem repetições
+     * @return uma lista de {@link ModuloTO} com os registros encontrados, em qualquer ordem,
+     * ou {@code null} em caso de erro.
+     */
+    public ArrayList<ModuloTO> findByIds(Collection<Long> ids) {
+        try {
+            return ListaIn.buscar("SELECT " + COLUNAS + " FROM ddd_modulo WHERE id_mod IN ", ids, ModuloDAO::mapear);
+        } catch (SQLException e) {
+            System.out.println("Erro na modulo: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Recupera os módulos de uma trilha, usando o índice {@code idx_modulo_trilha}.
+     *
+     * @param idTrilha o ID da trilha
+     * @return uma lista de {@link ModuloTO} da trilha, ordenada pelo ID (vazia se a trilha não tiver módulos)
+     */
+    public ArrayList<ModuloTO> findByTrilha(Long idTrilha) {
+        ArrayList<ModuloTO> modulos = new ArrayList<>();
+        String sql = "SELECT " + COLUNAS + " FROM ddd_modulo WHERE id_tri = ? ORDER BY id_mod";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(1, idTrilha);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    modulos.add(mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Erro na busca de modulos por trilha: " + e.getMessage());
         }
         return modulos;
     }
@@ -64,25 +159,21 @@ public class ModuloDAO {
      * ou {@code null} se nenhum registro for encontrado.
      */
     public ModuloTO findByCodigo(Long idModulo) throws SQLException {
-        ModuloTO modulo = new ModuloTO();
-        String sql = "SELECT * FROM ddd_modulo WHERE id_mod = ?";
+        ModuloTO modulo = null;
+        String sql = "SELECT " + COLUNAS + " FROM ddd_modulo WHERE id_mod = ?";
         ResultSet rs = null;
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setLong(1, idModulo);
             rs = ps.executeQuery();
             if (rs.next()) {
-                modulo.setIdModulo(rs.getLong("id_mod"));
-                modulo.setNome(rs.getString("nome"));
-                modulo.setDuracao(rs.getString("duracao"));
-                modulo.setLink(rs.getString("link"));
-                modulo.setIdTrilha(rs.getLong("id_tri"));
+                modulo = mapear(rs);
             } else {
                 return null;
             }
         } catch (SQLException e) {
             System.out.println("Erro na modulo: " + e.getMessage());
         } finally {
-            ConnectionFactory.closeConnection();
             if (rs != null) {
                 rs.close();
             }
@@ -94,26 +185,27 @@ public class ModuloDAO {
      * Insere um novo registro de modulo na tabela <b>ddd_modulo</b>.
      *
      * @param modulo o objeto {@link ModuloTO} contendo os dados a serem inseridos.
-     * @return o próprio {@link ModuloTO} se o registro for inserido com sucesso,
-     * ou {@code null} em caso de erro.
+     * @return o próprio {@link ModuloTO}, já com o ID gerado pelo banco, se o registro for inserido
+     * com sucesso, ou {@code null} em caso de erro.
      */
     public ModuloTO save(ModuloTO modulo) {
         String sql = "INSERT INTO ddd_modulo(nome, duracao, link, id_tri) VALUES(?,?,?,?)";
 
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
-            ps.setString(1, modulo.getNome());
-            ps.setString(2, modulo.getDuracao());
-            ps.setString(3, modulo.getLink());
-            ps.setLong(4, modulo.getIdTrilha());
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql, new String[]{"id_mod"})) {
+            vincular(ps, modulo);
             if (ps.executeUpdate() > 0) {
+                try (ResultSet chaves = ps.getGeneratedKeys()) {
+                    if (chaves.next()) {
+                        modulo.setIdModulo(chaves.getLong(1));
+                    }
+                }
                 return modulo;
             } else {
                 return null;
             }
         } catch (SQLException e) {
             System.out.println("Erro ao salvar: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return null;
     }
@@ -126,13 +218,12 @@ public class ModuloDAO {
      */
     public boolean delete(Long idModulo) {
         String sql = "DELETE FROM ddd_modulo WHERE id_mod = ?";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setLong(1, idModulo);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
             System.out.println("Erro ao excluir: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return false;
     }
@@ -145,12 +236,9 @@ public class ModuloDAO {
      */
     public ModuloTO update(ModuloTO modulo) {
         String sql = "UPDATE ddd_modulo SET nome=?, duracao=?, link=?, id_tri=? WHERE id_mod=?";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
-            ps.setString(1, modulo.getNome());
-            ps.setString(2, modulo.getDuracao());
-            ps.setLong(3, modulo.getIdTrilha());
-            ps.setString(4, modulo.getLink());
-            ps.setLong(5, modulo.getIdModulo());
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(vincular(ps, modulo), modulo.getIdModulo());
 
             if (ps.executeUpdate() > 0) {
                 return modulo;
@@ -159,9 +247,56 @@ public class ModuloDAO {
             }
         } catch (SQLException e) {
             System.out.println("Erro ao atualizar: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return null;
     }
+
+    /**
+     * Converte a linha atual do {@link ResultSet} em um {@link ModuloTO}.
+     *
+     * <p>A leitura é feita pela posição das colunas de {@link #COLUNAS}, evitando a busca por nome
+     * a cada coluna de cada linha.</p>
+     *
+     * @param rs o resultado posicionado na linha a ser convertida
+     * @return o {@link ModuloTO} preenchido com os dados da linha
+     * @throws SQLException se ocorrer erro na leitura das colunas
+     */
+    static ModuloTO mapear(ResultSet rs) throws SQLException {
+        return mapear(rs, 1);
+    }
+
+    /**
+     * Converte em um {@link ModuloTO} as colunas de {@link #COLUNAS} a partir de uma posição qualquer,
+     * para consultas em que o módulo vem junto com outras colunas (por exemplo, em uma junção).
+     *
+     * @param rs      o resultado posicionado na linha a ser convertida
+     * @param inicial posição da primeira coluna do módulo ({@code id_mod})
+     * @return o {@link ModuloTO} preenchido com os dados da linha
+     * @throws SQLException se ocorrer erro na leitura das colunas
+     */
+    static ModuloTO mapear(ResultSet rs, int inicial) throws SQLException {
+        ModuloTO to = new ModuloTO();
+        to.setIdModulo(rs.getLong(inicial));
+        to.setNome(rs.getString(inicial + 1));
+        to.setDuracao(rs.getString(inicial + 2));
+        to.setLink(rs.getString(inicial + 3));
+        to.setIdTrilha(rs.getLong(inicial + 4));
+        return to;
+    }
+
+    /**
+     * Preenche os parâmetros de inserção e atualização a partir de um {@link ModuloTO}.
+     *
+     * @param ps o comando a ser preenchido
+     * @param to o objeto com os dados a serem gravados
+     * @return a posição do próximo parâmetro livre
+     * @throws SQLException se ocorrer erro ao definir os parâmetros
+     */
+    static int vincular(PreparedStatement ps, ModuloTO to) throws SQLException {
+        ps.setString(1, to.getNome());
+        ps.setString(2, to.getDuracao());
+        ps.setString(3, to.getLink());
+        ps.setLong(4, to.getIdTrilha());
+        return 5;
+    }
 }
@@ -1,9 +1,14 @@
 package br.com.fiap.dao;
 
+import br.com.fiap.to.PainelTrilhaTO;
 import br.com.fiap.to.ProgressoTO;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Classe responsável pelo acesso e manipulação dos dados da entidade <strong>ddd_prog</strong>
@@ -24,6 +29,11 @@ import java.util.ArrayList;
  */
 public class ProgressoDAO {
 
+    /**
+     * Colunas lidas pelas consultas, na ordem esperada por {@link #mapear(ResultSet)}.
+     */
+    static final String COLUNAS = "id_prog, status, id_user, id_mod";
+
     /**
      * Recupera todos os progressos cadastrados na tabela <b>ddd_prog</b>.
      *
@@ -32,55 +42,120 @@ public class ProgressoDAO {
      */
     public ArrayList<ProgressoTO> findAll() {
         ArrayList<ProgressoTO> progressos = new ArrayList<ProgressoTO>();
-        String sql = "SELECT * FROM ddd_prog ORDER BY id_prog";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        String sql = "SELECT " + COLUNAS + " FROM ddd_prog ORDER BY id_prog";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ResultSet rs = ps.executeQuery();
             if (rs != null) {
                 while (rs.next()) {
-                    ProgressoTO progresso = new ProgressoTO();
-                    progresso.setIdProgresso(rs.getLong("id_prog"));
-                    progresso.setStatus(rs.getInt("status"));
-                    progresso.setIdUser(rs.getLong("id_user"));
-                    progresso.setIdModulo(rs.getLong("id_mod"));
-                    progressos.add(progresso);
+                    progressos.add(mapear(rs));
                 }
             } else {
                 return null;
             }
         } catch (SQLException e) {
             System.out.println("Erro na progresso: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return progressos;
     }
 
+    /**
+     * Percorre todos os progressos da tabela <b>ddd_prog</b>, entregando cada linha ao consumidor assim que é lida.
+     *
+     * <p>Nenhuma lista é montada: a memória usada depende apenas do {@code fetchSize}, e a escrita lenta
+     * do consumidor (por exemplo, um cliente HTTP lento) naturalmente atrasa a leitura do banco.</p>
+     *
+     * @param fetchSize  quantidade de linhas trazidas do banco a cada ida ao servidor
+     * @param consumidor destino de cada {@link ProgressoTO} lido
+     * @throws SQLException se ocorrer erro na consulta
+     * @throws IOException  se o consumidor falhar ao processar uma linha
+     */
+    public void exportar(int fetchSize, ConsumidorLinha<ProgressoTO> consumidor) throws SQLException, IOException {
+        String sql = "SELECT " + COLUNAS + " FROM ddd_prog ORDER BY id_prog";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setFetchSize(fetchSize);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    consumidor.aceitar(mapear(rs));
+                }
+            }
+        }
+    }
+
+    /**
+     * Recupera uma página de progressos da tabela <b>ddd_prog</b> usando paginação por cursor (keyset).
+     *
+     * <p>A consulta percorre o índice da chave primária a partir de {@code after}, então o custo
+     * não cresce com a profundidade da página.</p>
+     *
+     * @param after  último ID já entregue ao cliente (exclusivo); use 0 para a primeira página
+     * @param limite quantidade máxima de registros a retornar
+     * @return uma lista de {@link ProgressoTO} ordenada pelo ID, com no máximo {@code limite} registros,
+     * ou {@code null} em caso de erro.
+     */
+    public ArrayList<ProgressoTO> findPage(long after, int limite) {
+        ArrayList<ProgressoTO> progressos = new ArrayList<>(limite);
+        String sql = "SELECT " + COLUNAS + " FROM ddd_prog WHERE id_prog > ? ORDER BY id_prog FETCH FIRST ? ROWS ONLY";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(1, after);
+            ps.setInt(2, limite);
+            ps.setFetchSize(limite);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    progressos.add(mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Erro na progresso: " + e.getMessage());
+            return null;
+        }
+        return progressos;
+    }
+
+    /**
+     * Recupera os registros da tabela <b>ddd_prog</b> cujos IDs estão na lista, com uma consulta {@code IN}
+     * (dividida em blocos de até {@value ListaIn#TAMANHO_BLOCO} IDs).
+     *
+     * @param ids os IDs procurados, sem repetições
+     * @return uma lista de {@link ProgressoTO} com os registros encontrados, em qualquer ordem,
+     * ou {@code null} em caso de erro.
+     */
+    public ArrayList<ProgressoTO> findByIds(Collection<Long> ids) {
+        try {
+            return ListaIn.buscar("SELECT " + COLUNAS + " FROM ddd_prog WHERE id_prog IN ", ids, ProgressoDAO::mapear);
+        } catch (SQLException e) {
+            System.out.println("Erro na progresso: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Busca uma progresso pelo seu identificador único (ID).
      *
      * @param idProgresso o código (ID) do progresso a ser buscada.
      * @return um objeto {@link ProgressoTO} correspondente ao ID informado,
      * ou {@code null} se nenhum registro for encontrado.
+     * @throws SQLException se ocorrer erro na consulta
      */
     public ProgressoTO findByCodigo(Long idProgresso) throws SQLException {
-        ProgressoTO progresso = new ProgressoTO();
-        String sql = "SELECT * FROM ddd_prog WHERE id_prog = ?";
+        ProgressoTO progresso = null;
+        String sql = "SELECT " + COLUNAS + " FROM ddd_prog WHERE id_prog = ?";
         ResultSet rs = null;
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setLong(1, idProgresso);
             rs = ps.executeQuery();
             if (rs.next()) {
-                progresso.setIdProgresso(rs.getLong("id_prog"));
-                progresso.setStatus(rs.getInt("status"));
-                progresso.setIdUser(rs.getLong("id_user"));
-                progresso.setIdModulo(rs.getLong("id_mod"));
+                progresso = mapear(rs);
             } else {
                 return null;
             }
         } catch (SQLException e) {
             System.out.println("Erro na progresso: " + e.getMessage());
+            throw e;
         } finally {
-            ConnectionFactory.closeConnection();
             if (rs != null) {
                 rs.close();
             }
@@ -96,20 +171,16 @@ public class ProgressoDAO {
      */
     public ArrayList<ProgressoTO> findByUserId(Long idUser) throws SQLException {
         ArrayList<ProgressoTO> progressos = new ArrayList<>();
-        String sql = "SELECT * FROM ddd_prog WHERE id_user = ?";
+        String sql = "SELECT " + COLUNAS + " FROM ddd_prog WHERE id_user = ?";
         ResultSet rs = null;
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setLong(1, idUser);
             rs = ps.executeQuery();
 
             if (rs != null) {
                 while (rs.next()) {
-                    ProgressoTO progresso = new ProgressoTO();
-                    progresso.setIdProgresso(rs.getLong("id_prog"));
-                    progresso.setStatus(rs.getInt("status"));
-                    progresso.setIdUser(rs.getLong("id_user"));
-                    progresso.setIdModulo(rs.getLong("id_mod"));
-                    progressos.add(progresso);
+                    progressos.add(mapear(rs));
                 }
             } else {
                 return null;
@@ -118,7 +189,6 @@ public class ProgressoDAO {
             System.out.println("Erro na busca de progresso por ID de usuário: " + e.getMessage());
             return null;
         } finally {
-            ConnectionFactory.closeConnection();
             if (rs != null) {
                 rs.close();
             }
@@ -127,33 +197,282 @@ public class ProgressoDAO {
         return progressos;
     }
 
+    /**
+     * Calcula o andamento de um usuário em cada trilha em que tem algum progresso, com uma única consulta
+     * agregada ({@code ddd_prog} JOIN {@code ddd_modulo} GROUP BY {@code id_tri}).
+     *
+     * <p>A tabela não registra a data das alterações, então o último módulo trabalhado é o do progresso
+     * mais recente criado na trilha (maior {@code id_prog}). A conclusão considera todos os módulos da trilha,
+     * contando os não iniciados como 0.</p>
+     *
+     * @param idUser o ID do usuário
+     * @return uma lista de {@link PainelTrilhaTO} ordenada pelo ID da trilha, ou {@code null} em caso de erro.
+     */
+    public ArrayList<PainelTrilhaTO> findPainel(Long idUser) {
+        ArrayList<PainelTrilhaTO> trilhas = new ArrayList<>();
+        String sql = "SELECT a.id_tri, a.nome, a.total_modulos, a.iniciados, a.concluidos, a.media_status, "
+                + "a.soma_status, u.id_mod "
+                + "FROM (SELECT t.id_tri, t.nome, "
+                + "(SELECT COUNT(*) FROM ddd_modulo mt WHERE mt.id_tri = t.id_tri) total_modulos, "
+                + "COUNT(*) iniciados, "
+                + "SUM(CASE WHEN p.status = 100 THEN 1 ELSE 0 END) concluidos, "
+                + "AVG(p.status) media_status, "
+                + "SUM(p.status) soma_status, "
+                + "MAX(p.id_prog) ultimo_prog "
+                + "FROM ddd_prog p "
+                + "JOIN ddd_modulo m ON m.id_mod = p.id_mod "
+                + "JOIN ddd_trilha t ON t.id_tri = m.id_tri "
+                + "WHERE p.id_user = ? "
+                + "GROUP BY t.id_tri, t.nome) a "
+                + "JOIN ddd_prog u ON u.id_prog = a.ultimo_prog "
+                + "ORDER BY a.id_tri";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(1, idUser);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    PainelTrilhaTO trilha = new PainelTrilhaTO();
+                    trilha.setIdTrilha(rs.getLong(1));
+                    trilha.setNomeTrilha(rs.getString(2));
+                    trilha.setTotalModulos(rs.getInt(3));
+                    trilha.setModulosIniciados(rs.getInt(4));
+                    trilha.setModulosConcluidos(rs.getInt(5));
+                    trilha.setMediaStatus(rs.getDouble(6));
+                    trilha.setConclusao(trilha.getTotalModulos() > 0
+                            ? rs.getDouble(7) / trilha.getTotalModulos() : 0);
+                    trilha.setIdUltimoModulo(rs.getLong(8));
+                    trilhas.add(trilha);
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Erro no painel do usuário: " + e.getMessage());
+            return null;
+        }
+        return trilhas;
+    }
+
     /**
      * Insere um novo registro de progresso na tabela <b>ddd_prog</b>.
      *
      * @param progresso o objeto {@link ProgressoTO} contendo os dados a serem inseridos.
-     * @return o próprio {@link ProgressoTO} se o registro for inserido com sucesso,
-     * ou {@code null} em caso de erro.
+     * @return o próprio {@link ProgressoTO}, já com o ID gerado pelo banco, se o registro for inserido
+     * com sucesso, ou {@code null} em caso de erro.
      */
     public ProgressoTO save(ProgressoTO progresso) {
         String sql = "INSERT INTO ddd_prog(status, id_user, id_mod) VALUES(?,?,?)";
 
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
-            ps.setInt(1, progresso.getStatus());
-            ps.setLong(2, progresso.getIdUser());
-            ps.setLong(3, progresso.getIdModulo());
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql, new String[]{"id_prog"})) {
+            vincular(ps, progresso);
             if (ps.executeUpdate() > 0) {
+                try (ResultSet chaves = ps.getGeneratedKeys()) {
+                    if (chaves.next()) {
+                        progresso.setIdProgresso(chaves.getLong(1));
+                    }
+                }
                 return progresso;
             } else {
                 return null;
             }
         } catch (SQLException e) {
             System.out.println("Erro ao salvar: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return null;
     }
 
+    /**
+     * Grava o progresso de um usuário em um módulo com um único comando {@code MERGE}, inserindo a linha
+     * se ela ainda não existir e atualizando-a caso contrário.
+     *
+     * <p>A chave é a restrição {@code UQ_PROG_USER_MODULO (id_user, id_mod)}, sem consulta prévia. O
+     * {@code MERGE} não é atômico para chaves novas: duas gravações simultâneas de um par que ainda não existe
+     * podem ambas seguir para o {@code INSERT}, e a segunda viola a unicidade (ORA-00001). Só nesse caso o
+     * comando é repetido, uma vez, e então encontra a linha inserida pela outra gravação e a atualiza.
+     * Com {@code manterMaior}, o status gravado é o maior entre o atual e o recebido, de modo que o
+     * progresso nunca retrocede.</p>
+     *
+     * @param progresso   o objeto {@link ProgressoTO} com status, usuário e módulo
+     * @param manterMaior se {@code true}, preserva o status atual quando ele for maior que o recebido
+     * @return o {@link ProgressoTO} como ficou gravado (com ID e status finais),
+     * ou {@code null} em caso de erro.
+     */
+    public ProgressoTO upsert(ProgressoTO progresso, boolean manterMaior) {
+        String sql = "MERGE INTO ddd_prog p "
+                + "USING (SELECT CAST(? AS NUMBER(3)) status, CAST(? AS NUMBER(5)) id_user, CAST(? AS NUMBER(5)) id_mod FROM dual) n "
+                + "ON (p.id_user = n.id_user AND p.id_mod = n.id_mod) "
+                + "WHEN MATCHED THEN UPDATE SET p.status = "
+                + (manterMaior ? "GREATEST(p.status, n.status) " : "n.status ")
+                + "WHEN NOT MATCHED THEN INSERT (status, id_user, id_mod) VALUES (n.status, n.id_user, n.id_mod)";
+        try (Connection con = ConnectionFactory.getConnection()) {
+            try (PreparedStatement ps = con.prepareStatement(sql)) {
+                vincular(ps, progresso);
+                try {
+                    ps.executeUpdate();
+                } catch (SQLIntegrityConstraintViolationException e) {
+                    if (!chaveDuplicada(e)) {
+                        throw e;
+                    }
+                    // outra gravação inseriu o mesmo par entre a verificação e o INSERT do MERGE
+                    ps.executeUpdate();
+                }
+            }
+            // MERGE não aceita RETURNING no Oracle; a releitura usa o índice da chave única
+            return findByUserModulo(con, progresso.getIdUser(), progresso.getIdModulo());
+        } catch (SQLException e) {
+            System.out.println("Erro ao salvar: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Indica se a violação é da chave única, e não, por exemplo, de uma chave estrangeira: ORA-00001 no
+     * Oracle ({@code SQLState} 23000) ou 23505 no H2.
+     *
+     * @param e a violação de restrição lançada pelo driver
+     * @return {@code true} se outra linha já tem a mesma chave única
+     */
+    private static boolean chaveDuplicada(SQLIntegrityConstraintViolationException e) {
+        return (e.getErrorCode() == 1 && "23000".equals(e.getSQLState())) || "23505".equals(e.getSQLState());
+    }
+
+    /**
+     * Busca o progresso de um usuário em um módulo, pela chave única {@code (id_user, id_mod)}.
+     *
+     * @param idUser   o ID do usuário.
+     * @param idModulo o ID do módulo.
+     * @return o {@link ProgressoTO} gravado, ou {@code null} se o usuário ainda não tiver progresso no módulo.
+     * @throws SQLException se ocorrer erro na consulta
+     */
+    public ProgressoTO findByUserModulo(Long idUser, Long idModulo) throws SQLException {
+        try (Connection con = ConnectionFactory.getConnection()) {
+            return findByUserModulo(con, idUser, idModulo);
+        }
+    }
+
+    private static ProgressoTO findByUserModulo(Connection con, Long idUser, Long idModulo) throws SQLException {
+        String sql = "SELECT " + COLUNAS + " FROM ddd_prog WHERE id_user = ? AND id_mod = ?";
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(1, idUser);
+            ps.setLong(2, idModulo);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? mapear(rs) : null;
+            }
+        }
+    }
+
+    /**
+     * Situação devolvida por {@link #saveLote(List)} para os itens que não chegaram a ser executados.
+     */
+    public static final int NAO_EXECUTADO = Integer.MIN_VALUE;
+
+    /**
+     * Insere e atualiza vários progressos na tabela <b>ddd_prog</b> em uma única transação.
+     *
+     * <p>Itens sem {@code idProgresso} são inseridos e os demais são atualizados. Cada grupo é enviado
+     * ao banco com {@code addBatch}/{@code executeBatch}, ou seja, uma ida ao servidor por grupo em vez
+     * de uma por item. A transação só é confirmada se todos os itens forem gravados; caso contrário,
+     * nada é gravado. Depois da confirmação, os itens inseridos recebem o {@code idProgresso} gerado.</p>
+     *
+     * @param progressos os progressos a serem gravados
+     * @return para cada item, na ordem recebida, a quantidade de linhas afetadas
+     * ({@link Statement#SUCCESS_NO_INFO} quando o driver não a informa), {@link Statement#EXECUTE_FAILED}
+     * para o item recusado pelo banco ou {@link #NAO_EXECUTADO}; ou {@code null} em caso de erro
+     * de conexão
+     */
+    public int[] saveLote(List<ProgressoTO> progressos) {
+        String insert = "INSERT INTO ddd_prog(status, id_user, id_mod) VALUES(?,?,?)";
+        String update = "UPDATE ddd_prog SET status=?, id_user=?, id_mod=? WHERE id_prog=?";
+        int[] resultados = new int[progressos.size()];
+        Arrays.fill(resultados, NAO_EXECUTADO);
+
+        List<Integer> insercoes = new ArrayList<>();
+        List<Integer> atualizacoes = new ArrayList<>();
+        for (int i = 0; i < progressos.size(); i++) {
+            (progressos.get(i).getIdProgresso() == null ? insercoes : atualizacoes).add(i);
+        }
+
+        try (Connection con = ConnectionFactory.getConnection()) {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try (PreparedStatement psInsert = con.prepareStatement(insert, new String[]{"id_prog"});
+                 PreparedStatement psUpdate = con.prepareStatement(update)) {
+                for (int i : insercoes) {
+                    vincular(psInsert, progressos.get(i));
+                    psInsert.addBatch();
+                }
+                for (int i : atualizacoes) {
+                    ProgressoTO progresso = progressos.get(i);
+                    psUpdate.setLong(vincular(psUpdate, progresso), progresso.getIdProgresso());
+                    psUpdate.addBatch();
+                }
+                boolean gravado = executarLote(psInsert, insercoes, resultados);
+                List<Long> chaves = new ArrayList<>(insercoes.size());
+                if (gravado && !insercoes.isEmpty()) {
+                    try (ResultSet rs = psInsert.getGeneratedKeys()) {
+                        while (rs.next()) {
+                            chaves.add(rs.getLong(1));
+                        }
+                    }
+                }
+                gravado = gravado && executarLote(psUpdate, atualizacoes, resultados);
+                if (gravado) {
+                    con.commit();
+                    // as chaves chegam na ordem em que os itens foram adicionados ao lote
+                    for (int i = 0; i < chaves.size(); i++) {
+                        progressos.get(insercoes.get(i)).setIdProgresso(chaves.get(i));
+                    }
+                } else {
+                    con.rollback();
+                }
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            System.out.println("Erro ao salvar lote: " + e.getMessage());
+            return null;
+        }
+        return resultados;
+    }
+
+    /**
+     * Executa um lote já montado e distribui as contagens retornadas para as posições originais dos itens.
+     *
+     * @param ps         o comando com os itens adicionados por {@code addBatch}
+     * @param indices    posição, no lote recebido, de cada item adicionado ao comando
+     * @param resultados vetor de resultados a ser preenchido
+     * @return {@code true} se todos os itens afetaram alguma linha
+     * @throws SQLException se ocorrer erro que não seja de um item específico
+     */
+    private static boolean executarLote(PreparedStatement ps, List<Integer> indices, int[] resultados)
+            throws SQLException {
+        if (indices.isEmpty()) {
+            return true;
+        }
+        int[] contagens;
+        boolean completo = true;
+        try {
+            contagens = ps.executeBatch();
+        } catch (BatchUpdateException e) {
+            System.out.println("Erro ao salvar lote: " + e.getMessage());
+            contagens = e.getUpdateCounts();
+            completo = false;
+            if (contagens.length < indices.size()) {
+                // o driver interrompeu o lote no primeiro item recusado
+                resultados[indices.get(contagens.length)] = Statement.EXECUTE_FAILED;
+            }
+        }
+        for (int i = 0; i < contagens.length; i++) {
+            resultados[indices.get(i)] = contagens[i];
+            if (contagens[i] == 0 || contagens[i] == Statement.EXECUTE_FAILED) {
+                completo = false;
+            }
+        }
+        return completo;
+    }
+
     /**
      * Exclui uma progresso pelo seu identificador único (ID).
      *
@@ -162,13 +481,12 @@ public class ProgressoDAO {
      */
     public boolean delete(Long idProgresso) {
         String sql = "DELETE FROM ddd_prog WHERE id_prog = ?";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setLong(1, idProgresso);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
             System.out.println("Erro ao excluir: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return false;
     }
@@ -177,15 +495,14 @@ public class ProgressoDAO {
      * Atualiza os dados de uma progresso existente na tabela <b>ddd_prog</b>.
      *
      * @param progresso o objeto {@link ProgressoTO} contendo os novos dados do progresso.
-     * @return o {@link ProgressoTO} atualizado, ou {@code null} se ocorrer algum erro.
+     * @return o {@link ProgressoTO} atualizado, ou {@code null} se o progresso não existir.
+     * @throws SQLException se ocorrer erro na gravação
      */
-    public ProgressoTO update(ProgressoTO progresso) {
+    public ProgressoTO update(ProgressoTO progresso) throws SQLException {
         String sql = "UPDATE ddd_prog SET status=?, id_user=?, id_mod=? WHERE id_prog=?";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
-            ps.setInt(1, progresso.getStatus());
-            ps.setLong(2, progresso.getIdUser());
-            ps.setLong(3, progresso.getIdModulo());
-            ps.setLong(4, progresso.getIdProgresso());
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(vincular(ps, progresso), progresso.getIdProgresso());
 
             if (ps.executeUpdate() > 0) {
                 return progresso;
@@ -194,9 +511,41 @@ public class ProgressoDAO {
             }
         } catch (SQLException e) {
             System.out.println("Erro ao atualizar: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
+            throw e;
         }
-        return null;
+    }
+
+    /**
+     * Converte a linha atual do {@link ResultSet} em um {@link ProgressoTO}.
+     *
+     * <p>A leitura é feita pela posição das colunas de {@link #COLUNAS}, evitando a busca por nome
+     * a cada coluna de cada linha.</p>
+     *
+     * @param rs o resultado posicionado na linha a ser convertida
+     * @return o {@link ProgressoTO} preenchido com os dados da linha
+     * @throws SQLException se ocorrer erro na leitura das colunas
+     */
+    static ProgressoTO mapear(ResultSet rs) throws SQLException {
+        ProgressoTO to = new ProgressoTO();
+        to.setIdProgresso(rs.getLong(1));
+        to.setStatus(rs.getInt(2));
+        to.setIdUser(rs.getLong(3));
+        to.setIdModulo(rs.getLong(4));
+        return to;
+    }
+
+    /**
+     * Preenche os parâmetros de inserção e atualização a partir de um {@link ProgressoTO}.
+     *
+     * @param ps o comando a ser preenchido
+     * @param to o objeto com os dados a serem gravados
+     * @return a posição do próximo parâmetro livre
+     * @throws SQLException se ocorrer erro ao definir os parâmetros
+     */
+    static int vincular(PreparedStatement ps, ProgressoTO to) throws SQLException {
+        ps.setInt(1, to.getStatus());
+        ps.setLong(2, to.getIdUser());
+        ps.setLong(3, to.getIdModulo());
+        return 4;
     }
 }
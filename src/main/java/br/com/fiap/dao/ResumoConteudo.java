@@ -0,0 +1,140 @@
+package br.com.fiap.dao;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * <p>Extrai, no momento da gravação, os dados de resumo de uma trilha personalizada: o título (campo
+ * {@code titulo} do primeiro nível do JSON) e o tamanho do conteúdo em caracteres.</p>
+ *
+ * <p>Esses dados ficam nas colunas {@code titulo} e {@code tamanho_conteudo}, para que as listagens
+ * resumidas não precisem ler o CLOB. O título é procurado com o parser em fluxo do Jackson, que para assim
+ * que o encontra e pula os demais campos sem montá-los.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+final class ResumoConteudo {
+
+    /** Tamanho máximo do título guardado, o mesmo da coluna {@code titulo}. */
+    static final int TAMANHO_TITULO = 100;
+
+    /** Caracteres do início do conteúdo guardados nas gravações em partes para a busca do título. */
+    private static final int TAMANHO_PREFIXO = 4096;
+
+    private static final JsonFactory FABRICA = new JsonFactory();
+
+    private ResumoConteudo() {
+    }
+
+    /**
+     * Procura o título no conteúdo JSON.
+     *
+     * @param json conteúdo completo, ou apenas o seu início
+     * @return o título, cortado em {@value #TAMANHO_TITULO} caracteres, ou {@code null} se o conteúdo não for
+     * um objeto com {@code titulo} textual (ou se o título não couber no trecho informado)
+     */
+    static String titulo(String json) {
+        if (json == null) {
+            return null;
+        }
+        try (JsonParser parser = FABRICA.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                JsonToken valor = parser.nextToken();
+                if ("titulo".equals(campo)) {
+                    if (valor != JsonToken.VALUE_STRING) {
+                        return null;
+                    }
+                    String titulo = parser.getText();
+                    return titulo.length() > TAMANHO_TITULO ? titulo.substring(0, TAMANHO_TITULO) : titulo;
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            // JSON inválido, ou trecho terminado antes do título: a trilha fica sem título
+        }
+        return null;
+    }
+
+    /**
+     * {@link Reader} que repassa o conteúdo gravado em partes, contando os caracteres e guardando o início
+     * do texto para a busca do título depois da gravação.
+     */
+    static final class Medidor extends FilterReader {
+        private final StringBuilder prefixo = new StringBuilder();
+        private long tamanho;
+
+        Medidor(Reader origem) {
+            super(origem);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int caractere = super.read();
+            if (caractere != -1) {
+                registrar((char) caractere);
+            }
+            return caractere;
+        }
+
+        @Override
+        public int read(char[] destino, int inicio, int quantidade) throws IOException {
+            int lidos = super.read(destino, inicio, quantidade);
+            if (lidos > 0) {
+                tamanho += lidos;
+                int guardar = Math.min(lidos, TAMANHO_PREFIXO - prefixo.length());
+                if (guardar > 0) {
+                    prefixo.append(destino, inicio, guardar);
+                }
+            }
+            return lidos;
+        }
+
+        @Override
+        public long skip(long quantidade) throws IOException {
+            // os caracteres pulados também contam no tamanho e no prefixo
+            if (quantidade <= 0) {
+                return 0;
+            }
+            char[] bloco = new char[(int) Math.min(quantidade, 8192)];
+            long pulados = 0;
+            while (pulados < quantidade) {
+                int lidos = read(bloco, 0, (int) Math.min(bloco.length, quantidade - pulados));
+                if (lidos == -1) {
+                    break;
+                }
+                pulados += lidos;
+            }
+            return pulados;
+        }
+
+        private void registrar(char caractere) {
+            tamanho++;
+            if (prefixo.length() < TAMANHO_PREFIXO) {
+                prefixo.append(caractere);
+            }
+        }
+
+        /** @return quantidade de caracteres lidos até agora */
+        long tamanho() {
+            return tamanho;
+        }
+
+        /** @return o título encontrado no início do conteúdo lido, ou {@code null} */
+        String titulo() {
+            return ResumoConteudo.titulo(prefixo.toString());
+        }
+    }
+}
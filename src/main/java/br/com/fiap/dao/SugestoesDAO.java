@@ -2,10 +2,13 @@ package br.com.fiap.dao;
 
 import br.com.fiap.to.SugestoesTO;
 
+import java.io.IOException;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 
 /**
  * Classe responsável pelo acesso e manipulação dos dados da entidade <strong>ddd_sugs</strong>
@@ -25,6 +28,11 @@ import java.util.ArrayList;
  */
 public class SugestoesDAO {
 
+    /**
+     * Colunas lidas pelas consultas, na ordem esperada por {@link #mapear(ResultSet)}.
+     */
+    static final String COLUNAS = "id_sugs, titulo, tipo, descricao, duracao, dificuldade, link";
+
     /**
      * Recupera todas as sugestões cadastradas na tabela <b>ddd_sugs</b>.
      *
@@ -33,32 +41,95 @@ public class SugestoesDAO {
      */
     public ArrayList<SugestoesTO> findAll() {
         ArrayList<SugestoesTO> sugestoes = new ArrayList<SugestoesTO>();
-        String sql = "SELECT * FROM ddd_sugs ORDER BY id_sugs";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        String sql = "SELECT " + COLUNAS + " FROM ddd_sugs ORDER BY id_sugs";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ResultSet rs = ps.executeQuery();
             if (rs != null) {
                 while (rs.next()) {
-                    SugestoesTO sugestao = new SugestoesTO();
-                    sugestao.setIdSugestoes(rs.getLong("id_sugs"));
-                    sugestao.setTitulo(rs.getString("titulo"));
-                    sugestao.setTipo(rs.getString("tipo"));
-                    sugestao.setDescricao(rs.getString("descricao"));
-                    sugestao.setDuracao(rs.getString("duracao"));
-                    sugestao.setDificuldade(rs.getString("dificuldade"));
-                    sugestao.setLink(rs.getString("link"));
-                    sugestoes.add(sugestao);
+                    sugestoes.add(mapear(rs));
                 }
             } else {
                 return null;
             }
         } catch (SQLException e) {
             System.out.println("Erro na busca: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return sugestoes;
     }
 
+    /**
+     * Percorre todas as sugestões da tabela <b>ddd_sugs</b>, entregando cada linha ao consumidor assim que é lida.
+     *
+     * <p>Nenhuma lista é montada: a memória usada depende apenas do {@code fetchSize}, e a escrita lenta
+     * do consumidor (por exemplo, um cliente HTTP lento) naturalmente atrasa a leitura do banco.</p>
+     *
+     * @param fetchSize  quantidade de linhas trazidas do banco a cada ida ao servidor
+     * @param consumidor destino de cada {@link SugestoesTO} lido
+     * @throws SQLException se ocorrer erro na consulta
+     * @throws IOException  se o consumidor falhar ao processar uma linha
+     */
+    public void exportar(int fetchSize, ConsumidorLinha<SugestoesTO> consumidor) throws SQLException, IOException {
+        String sql = "SELECT " + COLUNAS + " FROM ddd_sugs ORDER BY id_sugs";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setFetchSize(fetchSize);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    consumidor.aceitar(mapear(rs));
+                }
+            }
+        }
+    }
+
+    /**
+     * Recupera uma página de sugestões da tabela <b>ddd_sugs</b> usando paginação por cursor (keyset).
+     *
+     * <p>A consulta percorre o índice da chave primária a partir de {@code after}, então o custo
+     * não cresce com a profundidade da página.</p>
+     *
+     * @param after  último ID já entregue ao cliente (exclusivo); use 0 para a primeira página
+     * @param limite quantidade máxima de registros a retornar
+     * @return uma lista de {@link SugestoesTO} ordenada pelo ID, com no máximo {@code limite} registros,
+     * ou {@code null} em caso de erro.
+     */
+    public ArrayList<SugestoesTO> findPage(long after, int limite) {
+        ArrayList<SugestoesTO> sugestoes = new ArrayList<>(limite);
+        String sql = "SELECT " + COLUNAS + " FROM ddd_sugs WHERE id_sugs > ? ORDER BY id_sugs FETCH FIRST ? ROWS ONLY";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(1, after);
+            ps.setInt(2, limite);
+            ps.setFetchSize(limite);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    sugestoes.add(mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Erro na busca: " + e.getMessage());
+            return null;
+        }
+        return sugestoes;
+    }
+
+    /**
+     * Recupera os registros da tabela <b>ddd_sugs</b> cujos IDs estão na lista, com uma consulta {@code IN}
+     * (dividida em blocos de até {@value ListaIn#TAMANHO_BLOCO} IDs).
+     *
+     * @param ids os IDs procurados, sem repetições
+     * @return uma lista de {@link SugestoesTO} com os registros encontrados, em qualquer ordem,
+     * ou {@code null} em caso de erro.
+     */
+    public ArrayList<SugestoesTO> findByIds(Collection<Long> ids) {
+        try {
+            return ListaIn.buscar("SELECT " + COLUNAS + " FROM ddd_sugs WHERE id_sugs IN ", ids, SugestoesDAO::mapear);
+        } catch (SQLException e) {
+            System.out.println("Erro na busca: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Busca uma sugestão pelo seu identificador único (ID).
      *
@@ -67,27 +138,21 @@ public class SugestoesDAO {
      * ou {@code null} se nenhum registro for encontrado.
      */
     public SugestoesTO findByCodigo(Long idSugestoes) throws SQLException {
-        SugestoesTO sugestao = new SugestoesTO();
-        String sql = "SELECT * FROM ddd_sugs WHERE id_sugs = ?";
+        SugestoesTO sugestao = null;
+        String sql = "SELECT " + COLUNAS + " FROM ddd_sugs WHERE id_sugs = ?";
         ResultSet rs = null;
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setLong(1, idSugestoes);
             rs = ps.executeQuery();
             if (rs.next()) {
-                sugestao.setIdSugestoes(rs.getLong("id_sugs"));
-                sugestao.setTitulo(rs.getString("titulo"));
-                sugestao.setTipo(rs.getString("tipo"));
-                sugestao.setDescricao(rs.getString("descricao"));
-                sugestao.setDuracao(rs.getString("duracao"));
-                sugestao.setDificuldade(rs.getString("dificuldade"));
-                sugestao.setLink(rs.getString("link"));
+                sugestao = mapear(rs);
             } else {
                 return null;
             }
         } catch (SQLException e) {
             System.out.println("Erro na busca: " + e.getMessage());
         } finally {
-            ConnectionFactory.closeConnection();
             if (rs != null) {
                 rs.close();
             }
@@ -99,29 +164,27 @@ public class SugestoesDAO {
      * Insere um novo registro de sugestão na tabela <b>ddd_sugs</b>.
      *
      * @param sugestao o objeto {@link SugestoesTO} contendo os dados a serem inseridos.
-     * @return o próprio {@link SugestoesTO} se o registro for inserido com sucesso,
-     * ou {@code null} em caso de erro.
+     * @return o próprio {@link SugestoesTO}, já com o ID gerado pelo banco, se o registro for inserido
+     * com sucesso, ou {@code null} em caso de erro.
      */
     public SugestoesTO save(SugestoesTO sugestao) {
         String sql = "INSERT INTO ddd_sugs(titulo, tipo, descricao, duracao, dificuldade, link) VALUES(?,?,?,?,?,?)";
 
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
-            ps.setString(1, sugestao.getTitulo());
-            ps.setString(2, sugestao.getTipo());
-            ps.setString(3, sugestao.getDescricao());
-            ps.setString(4, sugestao.getDuracao());
-            ps.setString(5, sugestao.getDificuldade());
-            ps.setString(6, sugestao.getLink());
-
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql, new String[]{"id_sugs"})) {
+            vincular(ps, sugestao);
             if (ps.executeUpdate() > 0) {
+                try (ResultSet chaves = ps.getGeneratedKeys()) {
+                    if (chaves.next()) {
+                        sugestao.setIdSugestoes(chaves.getLong(1));
+                    }
+                }
                 return sugestao;
             } else {
                 return null;
             }
         } catch (SQLException e) {
             System.out.println("Erro ao salvar: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return null;
     }
@@ -134,13 +197,12 @@ public class SugestoesDAO {
      */
     public boolean delete(Long idSugestoes) {
         String sql = "DELETE FROM ddd_sugs WHERE id_sugs = ?";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setLong(1, idSugestoes);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
             System.out.println("Erro ao excluir: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return false;
     }
@@ -153,14 +215,9 @@ public class SugestoesDAO {
      */
     public SugestoesTO update(SugestoesTO sugestao) {
         String sql = "UPDATE ddd_sugs SET titulo=?, tipo=?, descricao=?, duracao=?, dificuldade=?, link=? WHERE id_sugs=?";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
-            ps.setString(1, sugestao.getTitulo());
-            ps.setString(2, sugestao.getTipo());
-            ps.setString(3, sugestao.getDescricao());
-            ps.setString(4, sugestao.getDuracao());
-            ps.setString(5, sugestao.getDificuldade());
-            ps.setString(6, sugestao.getLink());
-            ps.setLong(7, sugestao.getIdSugestoes());
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(vincular(ps, sugestao), sugestao.getIdSugestoes());
 
             if (ps.executeUpdate() > 0) {
                 return sugestao;
@@ -169,9 +226,47 @@ public class SugestoesDAO {
             }
         } catch (SQLException e) {
             System.out.println("Erro ao atualizar: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Converte a linha atual do {@link ResultSet} em um {@link SugestoesTO}.
+     *
+     * <p>A leitura é feita pela posição das colunas de {@link #COLUNAS}, evitando a busca por nome
+     * a cada coluna de cada linha.</p>
+     *
+     * @param rs o resultado posicionado na linha a ser convertida
+     * @return o {@link SugestoesTO} preenchido com os dados da linha
+     * @throws SQLException se ocorrer erro na leitura das colunas
+     */
+    static SugestoesTO mapear(ResultSet rs) throws SQLException {
+        SugestoesTO to = new SugestoesTO();
+        to.setIdSugestoes(rs.getLong(1));
+        to.setTitulo(rs.getString(2));
+        to.setTipo(rs.getString(3));
+        to.setDescricao(rs.getString(4));
+        to.setDuracao(rs.getString(5));
+        to.setDificuldade(rs.getString(6));
+        to.setLink(rs.getString(7));
+        return to;
+    }
+
+    /**
+     * Preenche os parâmetros de inserção e atualização a partir de um {@link SugestoesTO}.
+     *
+     * @param ps o comando a ser preenchido
+     * @param to o objeto com os dados a serem gravados
+     * @return a posição do próximo parâmetro livre
+     * @throws SQLException se ocorrer erro ao definir os parâmetros
+     */
+    static int vincular(PreparedStatement ps, SugestoesTO to) throws SQLException {
+        ps.setString(1, to.getTitulo());
+        ps.setString(2, to.getTipo());
+        ps.setString(3, to.getDescricao());
+        ps.setString(4, to.getDuracao());
+        ps.setString(5, to.getDificuldade());
+        ps.setString(6, to.getLink());
+        return 7;
+    }
+}
@@ -1,11 +1,15 @@
 package br.com.fiap.dao;
 
+import br.com.fiap.to.TrilhaCompletaTO;
 import br.com.fiap.to.TrilhaTO;
 
+import java.io.IOException;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
 
 /**
  * Classe responsável pelo acesso e manipulação dos dados da entidade <strong>ddd_trilha</strong>
@@ -26,6 +30,18 @@ import java.util.ArrayList;
  */
 public class TrilhaDAO {
 
+    /**
+     * Colunas lidas pelas consultas, na ordem esperada por {@link #mapear(ResultSet)}.
+     */
+    static final String COLUNAS = "id_tri, nome, dificuldade, descricao";
+
+    /**
+     * Junção externa das trilhas com os seus módulos: as colunas da trilha seguidas das de {@link ModuloDAO#COLUNAS}.
+     */
+    private static final String SELECT_COMPLETA = "SELECT t.id_tri, t.nome, t.dificuldade, t.descricao, "
+            + "m.id_mod, m.nome, m.duracao, m.link, m.id_tri "
+            + "FROM ddd_trilha t LEFT JOIN ddd_modulo m ON m.id_tri = t.id_tri";
+
     /**
      * Recupera todas as trilhas cadastradas na tabela <b>ddd_trilha</b>.
      *
@@ -34,29 +50,95 @@ public class TrilhaDAO {
      */
     public ArrayList<TrilhaTO> findAll() {
         ArrayList<TrilhaTO> trilhas = new ArrayList<TrilhaTO>();
-        String sql = "SELECT * FROM ddd_trilha ORDER BY id_tri";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        String sql = "SELECT " + COLUNAS + " FROM ddd_trilha ORDER BY id_tri";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ResultSet rs = ps.executeQuery();
             if (rs != null) {
                 while (rs.next()) {
-                    TrilhaTO trilha = new TrilhaTO();
-                    trilha.setIdTrilha(rs.getLong("id_tri"));
-                    trilha.setNome(rs.getString("nome"));
-                    trilha.setDificuldade(rs.getString("dificuldade"));
-                    trilha.setDescricao(rs.getString("descricao"));
-                    trilhas.add(trilha);
+                    trilhas.add(mapear(rs));
                 }
             } else {
                 return null;
             }
         } catch (SQLException e) {
             System.out.println("Erro na trilha: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return trilhas;
     }
 
+    /**
+     * Percorre todas as trilhas da tabela <b>ddd_trilha</b>, entregando cada linha ao consumidor assim que é lida.
+     *
+     * <p>Nenhuma lista é montada: a memória usada depende apenas do {@code fetchSize}, e a escrita lenta
+     * do consumidor (por exemplo, um cliente HTTP lento) naturalmente atrasa a leitura do banco.</p>
+     *
+     * @param fetchSize  quantidade de linhas trazidas do banco a cada ida ao servidor
+     * @param consumidor destino de cada {@link TrilhaTO} lido
+     * @throws SQLException se ocorrer erro na consulta
+     * @throws IOException  se o consumidor falhar ao processar uma linha
+     */
+    public void exportar(int fetchSize, ConsumidorLinha<TrilhaTO> consumidor) throws SQLException, IOException {
+        String sql = "SELECT " + COLUNAS + " FROM ddd_trilha ORDER BY id_tri";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setFetchSize(fetchSize);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    consumidor.aceitar(mapear(rs));
+                }
+            }
+        }
+    }
+
+    /**
+     * Recupera uma página de trilhas da tabela <b>ddd_trilha</b> usando paginação por cursor (keyset).
+     *
+     * <p>A consulta percorre o índice da chave primária a partir de {@code after}, então o custo
+     * não cresce com a profundidade da página.</p>
+     *
+     * @param after  último ID já entregue ao cliente (exclusivo); use 0 para a primeira página
+     * @param limite quantidade máxima de registros a retornar
+     * @return uma lista de {@link TrilhaTO} ordenada pelo ID, com no máximo {@code limite} registros,
+     * ou {@code null} em caso de erro.
+     */
+    public ArrayList<TrilhaTO> findPage(long after, int limite) {
+        ArrayList<TrilhaTO> trilhas = new ArrayList<>(limite);
+        String sql = "SELECT " + COLUNAS + " FROM ddd_trilha WHERE id_tri > ? ORDER BY id_tri FETCH FIRST ? ROWS ONLY";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(1, after);
+            ps.setInt(2, limite);
+            ps.setFetchSize(limite);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    trilhas.add(mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Erro na trilha: " + e.getMessage());
+            return null;
+        }
+        return trilhas;
+    }
+
+    /**
+     * Recupera os registros da tabela <b>ddd_trilha</b> cujos IDs estão na lista, com uma consulta {@code IN}
+     * (dividida em blocos de até {@value ListaIn#TAMANHO_BLOCO} IDs).
+     *
+     * @param ids os IDs procurados, sem repetições
+     * @return uma lista de {@link TrilhaTO} com os registros encontrados, em qualquer ordem,
+     * ou {@code null} em caso de erro.
+     */
+    public ArrayList<TrilhaTO> findByIds(Collection<Long> ids) {
+        try {
+            return ListaIn.buscar("SELECT " + COLUNAS + " FROM ddd_trilha WHERE id_tri IN ", ids, TrilhaDAO::mapear);
+        } catch (SQLException e) {
+            System.out.println("Erro na trilha: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Busca uma trilha pelo seu identificador único (ID).
      *
@@ -65,24 +147,21 @@ public class TrilhaDAO {
      * ou {@code null} se nenhum registro for encontrado.
      */
     public TrilhaTO findByCodigo(Long idTrilha) throws SQLException {
-        TrilhaTO trilha = new TrilhaTO();
-        String sql = "SELECT * FROM ddd_trilha WHERE id_tri = ?";
+        TrilhaTO trilha = null;
+        String sql = "SELECT " + COLUNAS + " FROM ddd_trilha WHERE id_tri = ?";
         ResultSet rs = null;
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setLong(1, idTrilha);
             rs = ps.executeQuery();
             if (rs.next()) {
-                trilha.setIdTrilha(rs.getLong("id_tri"));
-                trilha.setNome(rs.getString("nome"));
-                trilha.setDificuldade(rs.getString("dificuldade"));
-                trilha.setDescricao(rs.getString("descricao"));
+                trilha = mapear(rs);
             } else {
                 return null;
             }
         } catch (SQLException e) {
             System.out.println("Erro na trilha: " + e.getMessage());
         } finally {
-            ConnectionFactory.closeConnection();
             if (rs != null) {
                 rs.close();
             }
@@ -90,29 +169,96 @@ public class TrilhaDAO {
         return trilha;
     }
 
+    /**
+     * Busca uma trilha junto com os seus módulos, em uma única consulta com junção.
+     *
+     * @param idTrilha o código (ID) da trilha
+     * @return a {@link TrilhaCompletaTO} com os módulos, ou {@code null} se a trilha não existir.
+     */
+    public TrilhaCompletaTO findCompleta(Long idTrilha) {
+        String sql = SELECT_COMPLETA + " WHERE t.id_tri = ? ORDER BY t.id_tri, m.id_mod";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(1, idTrilha);
+            try (ResultSet rs = ps.executeQuery()) {
+                ArrayList<TrilhaCompletaTO> trilhas = agrupar(rs);
+                return trilhas.isEmpty() ? null : trilhas.get(0);
+            }
+        } catch (SQLException e) {
+            System.out.println("Erro na trilha: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Recupera todas as trilhas com os seus módulos, em uma única consulta com junção.
+     *
+     * @return uma lista de {@link TrilhaCompletaTO} ordenada pelo ID da trilha
+     */
+    public ArrayList<TrilhaCompletaTO> findAllCompletas() {
+        String sql = SELECT_COMPLETA + " ORDER BY t.id_tri, m.id_mod";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            try (ResultSet rs = ps.executeQuery()) {
+                return agrupar(rs);
+            }
+        } catch (SQLException e) {
+            System.out.println("Erro na trilha: " + e.getMessage());
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Agrupa as linhas da junção trilha-módulo, ordenadas pela trilha, em {@link TrilhaCompletaTO}.
+     *
+     * <p>As colunas 1 a 4 são as da trilha ({@link #COLUNAS}) e as seguintes, as de {@link ModuloDAO#COLUNAS};
+     * trilhas sem módulos chegam com as colunas do módulo nulas, pela junção externa.</p>
+     *
+     * @param rs o resultado da junção
+     * @return as trilhas, na ordem do resultado
+     * @throws SQLException se ocorrer erro na leitura das colunas
+     */
+    private static ArrayList<TrilhaCompletaTO> agrupar(ResultSet rs) throws SQLException {
+        ArrayList<TrilhaCompletaTO> trilhas = new ArrayList<>();
+        TrilhaCompletaTO atual = null;
+        while (rs.next()) {
+            long idTrilha = rs.getLong(1);
+            if (atual == null || atual.getIdTrilha() != idTrilha) {
+                atual = new TrilhaCompletaTO(mapear(rs));
+                trilhas.add(atual);
+            }
+            if (rs.getObject(5) != null) {
+                atual.getModulos().add(ModuloDAO.mapear(rs, 5));
+            }
+        }
+        return trilhas;
+    }
+
     /**
      * Insere um novo registro de trilha na tabela <b>ddd_trilha</b>.
      *
      * @param trilha o objeto {@link TrilhaTO} contendo os dados a serem inseridos.
-     * @return o próprio {@link TrilhaTO} se o registro for inserido com sucesso,
-     * ou {@code null} em caso de erro.
+     * @return o próprio {@link TrilhaTO}, já com o ID gerado pelo banco, se o registro for inserido
+     * com sucesso, ou {@code null} em caso de erro.
      */
     public TrilhaTO save(TrilhaTO trilha) {
         String sql = "INSERT INTO ddd_trilha(nome, dificuldade, descricao) VALUES(?,?,?)";
 
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
-            ps.setString(1, trilha.getNome());
-            ps.setString(2, trilha.getDificuldade());
-            ps.setString(3, trilha.getDescricao());
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql, new String[]{"id_tri"})) {
+            vincular(ps, trilha);
             if (ps.executeUpdate() > 0) {
+                try (ResultSet chaves = ps.getGeneratedKeys()) {
+                    if (chaves.next()) {
+                        trilha.setIdTrilha(chaves.getLong(1));
+                    }
+                }
                 return trilha;
             } else {
                 return null;
             }
         } catch (SQLException e) {
             System.out.println("Erro ao salvar: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return null;
     }
@@ -125,13 +271,12 @@ public class TrilhaDAO {
      */
     public boolean delete(Long idTrilha) {
         String sql = "DELETE FROM ddd_trilha WHERE id_tri = ?";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setLong(1, idTrilha);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
             System.out.println("Erro ao excluir: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return false;
     }
@@ -144,11 +289,9 @@ public class TrilhaDAO {
      */
     public TrilhaTO update(TrilhaTO trilha) {
         String sql = "UPDATE ddd_trilha SET nome=?, dificuldade=?, descricao=? WHERE id_tri=?";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
-            ps.setString(1, trilha.getNome());
-            ps.setString(2, trilha.getDificuldade());
-            ps.setString(3, trilha.getDescricao());
-            ps.setLong(4, trilha.getIdTrilha());
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(vincular(ps, trilha), trilha.getIdTrilha());
 
             if (ps.executeUpdate() > 0) {
                 return trilha;
@@ -157,9 +300,41 @@ public class TrilhaDAO {
             }
         } catch (SQLException e) {
             System.out.println("Erro ao atualizar: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return null;
     }
+
+    /**
+     * Converte a linha atual do {@link ResultSet} em um {@link TrilhaTO}.
+     *
+     * <p>A leitura é feita pela posição das colunas de {@link #COLUNAS}, evitando a busca por nome
+     * a cada coluna de cada linha.</p>
+     *
+     * @param rs o resultado posicionado na linha a ser convertida
+     * @return o {@link TrilhaTO} preenchido com os dados da linha
+     * @throws SQLException se ocorrer erro na leitura das colunas
+     */
+    static TrilhaTO mapear(ResultSet rs) throws SQLException {
+        TrilhaTO to = new TrilhaTO();
+        to.setIdTrilha(rs.getLong(1));
+        to.setNome(rs.getString(2));
+        to.setDificuldade(rs.getString(3));
+        to.setDescricao(rs.getString(4));
+        return to;
+    }
+
+    /**
+     * Preenche os parâmetros de inserção e atualização a partir de um {@link TrilhaTO}.
+     *
+     * @param ps o comando a ser preenchido
+     * @param to o objeto com os dados a serem gravados
+     * @return a posição do próximo parâmetro livre
+     * @throws SQLException se ocorrer erro ao definir os parâmetros
+     */
+    static int vincular(PreparedStatement ps, TrilhaTO to) throws SQLException {
+        ps.setString(1, to.getNome());
+        ps.setString(2, to.getDificuldade());
+        ps.setString(3, to.getDescricao());
+        return 4;
+    }
 }
@@ -1,12 +1,22 @@
 package br.com.fiap.dao;
 
+import br.com.fiap.to.TrilhaPersonalizadaResumoTO;
 import br.com.fiap.to.TrilhaPersonalizadaTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Date;
+import java.sql.Types;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.function.Predicate;
 
 /**
  * <p>Classe responsável pelo acesso e manipulação dos dados da entidade
@@ -17,6 +27,14 @@ import java.util.ArrayList;
  *
  * <p>Utiliza a {@link ConnectionFactory} para gerenciar conexões com o banco de dados.</p>
  *
+ * <p>A coluna <b>json_conteudo</b> pode ser um CLOB ou, no Oracle 21+, do tipo JSON (ver
+ * {@link ArmazenamentoJson}). As buscas pelo conteúdo ({@link #findResumosByModulo(long)} e
+ * {@link #findResumosByDificuldade(String)}) são filtradas pelo banco com SQL/JSON no Oracle, e na aplicação
+ * nos demais bancos.</p>
+ *
+ * <p>As colunas de resumo (<b>titulo</b> e <b>tamanho_conteudo</b>) só são usadas se existirem no esquema
+ * (ver {@link ColunasResumo}).</p>
+ *
  * @author Lucas Barros Gouveia
  * @author Enzo Okuizumi Miranda de Souza
  * @author Milton Jakson de Souza Marcelino
@@ -25,6 +43,30 @@ import java.util.ArrayList;
  */
 public class TrilhaPersonalizadaDAO {
 
+    /**
+     * Colunas lidas pelas consultas, na ordem esperada por {@link #mapear(ResultSet)}.
+     */
+    static final String COLUNAS = "id_pers, id_user, data_criacao, json_conteudo";
+
+    /**
+     * Colunas lidas pelas listagens resumidas, na ordem esperada por {@link #mapearResumo(ResultSet)}.
+     * Nenhuma delas é o CLOB do conteúdo.
+     */
+    static final String COLUNAS_RESUMO = "id_pers, id_user, data_criacao, titulo, tamanho_conteudo";
+
+    /** Usado apenas nos filtros aplicados na aplicação, quando o banco não tem SQL/JSON. */
+    private static final ObjectMapper LEITOR_JSON = new ObjectMapper();
+
+    /**
+     * Filtro sobre o conteúdo JSON, nas duas formas em que pode ser aplicado.
+     *
+     * @param condicao condição SQL/JSON com um único parâmetro, usada no Oracle
+     * @param valor    valor do parâmetro da condição
+     * @param teste    o mesmo filtro, aplicado na aplicação sobre o conteúdo já lido
+     */
+    private record FiltroJson(String condicao, Object valor, Predicate<JsonNode> teste) {
+    }
+
     /**
      * Recupera todas as trilhas personalizadas cadastradas na tabela <b>ddd_trilha_pers</b>.
      *
@@ -33,29 +75,211 @@ public class TrilhaPersonalizadaDAO {
      */
     public ArrayList<TrilhaPersonalizadaTO> findAll() {
         ArrayList<TrilhaPersonalizadaTO> trilhas = new ArrayList<>();
-        String sql = "SELECT * FROM ddd_trilha_pers ORDER BY id_pers";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        String sql = "SELECT " + COLUNAS + " FROM ddd_trilha_pers ORDER BY id_pers";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ResultSet rs = ps.executeQuery();
             if (rs != null) {
                 while (rs.next()) {
-                    TrilhaPersonalizadaTO trilhaP = new TrilhaPersonalizadaTO();
-                    trilhaP.setIdTrilhaPers(rs.getLong("id_pers"));
-                    trilhaP.setIdUser(rs.getLong("id_user"));
-                    trilhaP.setDataCriacao(rs.getDate("data_criacao").toLocalDate());
-                    trilhaP.setJsonConteudo(rs.getString("json_conteudo"));
-                    trilhas.add(trilhaP);
+                    trilhas.add(mapear(rs));
                 }
             } else {
                 return null;
             }
         } catch (SQLException e) {
             System.out.println("Erro na busca: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return trilhas;
     }
 
+    /**
+     * Recupera o resumo de todas as trilhas personalizadas, sem ler o conteúdo JSON.
+     *
+     * @return uma lista de {@link TrilhaPersonalizadaResumoTO} ordenada pelo ID, ou {@code null} em caso de erro.
+     */
+    public ArrayList<TrilhaPersonalizadaResumoTO> findResumos() {
+        return buscarResumos("FROM ddd_trilha_pers ORDER BY id_pers", null);
+    }
+
+    /**
+     * Recupera o resumo das trilhas personalizadas de um usuário, sem ler o conteúdo JSON.
+     *
+     * @param idUser o ID do usuário.
+     * @return uma lista de {@link TrilhaPersonalizadaResumoTO} da mais recente para a mais antiga,
+     * ou {@code null} em caso de erro.
+     */
+    public ArrayList<TrilhaPersonalizadaResumoTO> findResumosByUserId(Long idUser) {
+        return buscarResumos("FROM ddd_trilha_pers WHERE id_user = ? ORDER BY data_criacao DESC", idUser);
+    }
+
+    /**
+     * Recupera o resumo das trilhas personalizadas que incluem o módulo informado
+     * (algum item de {@code modulos} com esse {@code idModulo}).
+     *
+     * @param idModulo o ID do módulo procurado.
+     * @return uma lista de {@link TrilhaPersonalizadaResumoTO} ordenada pelo ID, ou {@code null} em caso de erro.
+     */
+    public ArrayList<TrilhaPersonalizadaResumoTO> findResumosByModulo(long idModulo) {
+        return filtrarResumos(new FiltroJson(
+                "JSON_EXISTS(json_conteudo, '$.modulos[*]?(@.idModulo == $id)' PASSING ? AS \"id\")", idModulo,
+                raiz -> {
+                    for (JsonNode modulo : raiz.path("modulos")) {
+                        JsonNode id = modulo.path("idModulo");
+                        if (id.isIntegralNumber() && id.longValue() == idModulo) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }));
+    }
+
+    /**
+     * Recupera o resumo das trilhas personalizadas com a dificuldade informada (campo {@code dificuldade}).
+     *
+     * @param dificuldade a dificuldade procurada.
+     * @return uma lista de {@link TrilhaPersonalizadaResumoTO} ordenada pelo ID, ou {@code null} em caso de erro.
+     */
+    public ArrayList<TrilhaPersonalizadaResumoTO> findResumosByDificuldade(String dificuldade) {
+        return filtrarResumos(new FiltroJson(
+                "JSON_EXISTS(json_conteudo, '$?(@.dificuldade == $dificuldade)' PASSING ? AS \"dificuldade\")", dificuldade,
+                raiz -> raiz.path("dificuldade").isTextual() && raiz.path("dificuldade").textValue().equals(dificuldade)));
+    }
+
+    /**
+     * Executa um filtro sobre o conteúdo. Com SQL/JSON, apenas as colunas do resumo saem do banco; sem ele, o
+     * conteúdo de cada linha é lido e testado aqui, uma linha por vez.
+     */
+    private ArrayList<TrilhaPersonalizadaResumoTO> filtrarResumos(FiltroJson filtro) {
+        ArrayList<TrilhaPersonalizadaResumoTO> resumos = new ArrayList<>();
+        try (Connection con = ConnectionFactory.getConnection()) {
+            boolean noBanco = ArmazenamentoJson.de(con).filtraNoBanco();
+            String colunas = ColunasResumo.selecao(con);
+            String sql = noBanco
+                    ? "SELECT " + colunas + " FROM ddd_trilha_pers WHERE " + filtro.condicao() + " ORDER BY id_pers"
+                    : "SELECT " + colunas + ", json_conteudo FROM ddd_trilha_pers ORDER BY id_pers";
+            try (PreparedStatement ps = con.prepareStatement(sql)) {
+                if (noBanco) {
+                    ps.setObject(1, filtro.valor());
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    while (rs.next()) {
+                        if (noBanco || atende(rs.getCharacterStream(6), filtro.teste())) {
+                            resumos.add(mapearResumo(rs));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException | IOException e) {
+            System.out.println("Erro na busca pelo conteúdo: " + e.getMessage());
+            return null;
+        }
+        return resumos;
+    }
+
+    private static boolean atende(Reader conteudo, Predicate<JsonNode> teste) throws IOException {
+        if (conteudo == null) {
+            return false;
+        }
+        try (conteudo) {
+            return teste.test(LEITOR_JSON.readTree(conteudo));
+        } catch (JsonProcessingException e) {
+            // conteúdo que não é JSON válido não atende a nenhum filtro, como no SQL/JSON
+            return false;
+        }
+    }
+
+    /** Executa uma listagem resumida; {@code restante} é a consulta a partir do {@code FROM}. */
+    private ArrayList<TrilhaPersonalizadaResumoTO> buscarResumos(String restante, Long idUser) {
+        ArrayList<TrilhaPersonalizadaResumoTO> resumos = new ArrayList<>();
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement("SELECT " + ColunasResumo.selecao(con) + " " + restante)) {
+            if (idUser != null) {
+                ps.setLong(1, idUser);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    resumos.add(mapearResumo(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Erro na busca dos resumos: " + e.getMessage());
+            return null;
+        }
+        return resumos;
+    }
+
+    /**
+     * Percorre todas as trilhas personalizadas da tabela <b>ddd_trilha_pers</b>, entregando cada linha ao consumidor assim que é lida.
+     *
+     * <p>Nenhuma lista é montada: a memória usada depende apenas do {@code fetchSize}, e a escrita lenta
+     * do consumidor (por exemplo, um cliente HTTP lento) naturalmente atrasa a leitura do banco.</p>
+     *
+     * @param fetchSize  quantidade de linhas trazidas do banco a cada ida ao servidor
+     * @param consumidor destino de cada {@link TrilhaPersonalizadaTO} lido
+     * @throws SQLException se ocorrer erro na consulta
+     * @throws IOException  se o consumidor falhar ao processar uma linha
+     */
+    public void exportar(int fetchSize, ConsumidorLinha<TrilhaPersonalizadaTO> consumidor) throws SQLException, IOException {
+        String sql = "SELECT " + COLUNAS + " FROM ddd_trilha_pers ORDER BY id_pers";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setFetchSize(fetchSize);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    consumidor.aceitar(mapear(rs));
+                }
+            }
+        }
+    }
+
+    /**
+     * Recupera uma página de trilhas personalizadas da tabela <b>ddd_trilha_pers</b> usando paginação por cursor (keyset).
+     *
+     * <p>A consulta percorre o índice da chave primária a partir de {@code after}, então o custo
+     * não cresce com a profundidade da página.</p>
+     *
+     * @param after  último ID já entregue ao cliente (exclusivo); use 0 para a primeira página
+     * @param limite quantidade máxima de registros a retornar
+     * @return uma lista de {@link TrilhaPersonalizadaTO} ordenada pelo ID, com no máximo {@code limite} registros,
+     * ou {@code null} em caso de erro.
+     */
+    public ArrayList<TrilhaPersonalizadaTO> findPage(long after, int limite) {
+        ArrayList<TrilhaPersonalizadaTO> trilhas = new ArrayList<>(limite);
+        String sql = "SELECT " + COLUNAS + " FROM ddd_trilha_pers WHERE id_pers > ? ORDER BY id_pers FETCH FIRST ? ROWS ONLY";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(1, after);
+            ps.setInt(2, limite);
+            ps.setFetchSize(limite);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    trilhas.add(mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Erro na busca: " + e.getMessage());
+            return null;
+        }
+        return trilhas;
+    }
+
+    /**
+     * Recupera os registros da tabela <b>ddd_trilha_pers</b> cujos IDs estão na lista, com uma consulta {@code IN}
+     * (dividida em blocos de até {@value ListaIn#TAMANHO_BLOCO} IDs).
+     *
+     * @param ids os IDs procurados, sem repetições
+     * @return uma lista de {@link TrilhaPersonalizadaTO} com os registros encontrados, em qualquer ordem,
+     * ou {@code null} em caso de erro.
+     */
+    public ArrayList<TrilhaPersonalizadaTO> findByIds(Collection<Long> ids) {
+        try {
+            return ListaIn.buscar("SELECT " + COLUNAS + " FROM ddd_trilha_pers WHERE id_pers IN ", ids, TrilhaPersonalizadaDAO::mapear);
+        } catch (SQLException e) {
+            System.out.println("Erro na busca: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Busca uma trilha personalizada pelo seu identificador único (ID).
      *
@@ -64,24 +288,21 @@ public class TrilhaPersonalizadaDAO {
      * ou {@code null} se nenhum registro for encontrado.
      */
     public TrilhaPersonalizadaTO findByCodigo(Long idTrilhaPers) throws SQLException {
-        TrilhaPersonalizadaTO trilhaP = new TrilhaPersonalizadaTO();
-        String sql = "SELECT * FROM ddd_trilha_pers WHERE id_pers = ?";
+        TrilhaPersonalizadaTO trilhaP = null;
+        String sql = "SELECT " + COLUNAS + " FROM ddd_trilha_pers WHERE id_pers = ?";
         ResultSet rs = null;
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setLong(1, idTrilhaPers);
             rs = ps.executeQuery();
             if (rs.next()) {
-                trilhaP.setIdTrilhaPers(rs.getLong("id_pers"));
-                trilhaP.setIdUser(rs.getLong("id_user"));
-                trilhaP.setDataCriacao(rs.getDate("data_criacao").toLocalDate());
-                trilhaP.setJsonConteudo(rs.getString("json_conteudo"));
+                trilhaP = mapear(rs);
             } else {
                 return null;
             }
         } catch (SQLException e) {
             System.out.println("Erro na busca: " + e.getMessage());
         } finally {
-            ConnectionFactory.closeConnection();
             if (rs != null) {
                 rs.close();
             }
@@ -97,20 +318,16 @@ public class TrilhaPersonalizadaDAO {
      */
     public ArrayList<TrilhaPersonalizadaTO> findByUserId(Long idUser) throws SQLException {
         ArrayList<TrilhaPersonalizadaTO> trilhas = new ArrayList<>();
-        String sql = "SELECT * FROM ddd_trilha_pers WHERE id_user = ? ORDER BY data_criacao DESC";
+        String sql = "SELECT " + COLUNAS + " FROM ddd_trilha_pers WHERE id_user = ? ORDER BY data_criacao DESC";
         ResultSet rs = null;
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setLong(1, idUser);
             rs = ps.executeQuery();
 
             if (rs != null) {
                 while (rs.next()) {
-                    TrilhaPersonalizadaTO trilhaP = new TrilhaPersonalizadaTO();
-                    trilhaP.setIdTrilhaPers(rs.getLong("id_pers"));
-                    trilhaP.setIdUser(rs.getLong("id_user"));
-                    trilhaP.setDataCriacao(rs.getDate("data_criacao").toLocalDate());
-                    trilhaP.setJsonConteudo(rs.getString("json_conteudo"));
-                    trilhas.add(trilhaP);
+                    trilhas.add(mapear(rs));
                 }
             } else {
                 return null;
@@ -119,7 +336,6 @@ public class TrilhaPersonalizadaDAO {
             System.out.println("Erro na busca por ID de usuário: " + e.getMessage());
             return null;
         } finally {
-            ConnectionFactory.closeConnection();
             if (rs != null) {
                 rs.close();
             }
@@ -132,31 +348,187 @@ public class TrilhaPersonalizadaDAO {
     /**
      * Insere um novo registro de trilha personalizada na tabela <b>ddd_trilha_pers</b>.
      *
+     * <p>Sem {@code dataCriacao}, vale a data atual do banco, devolvida junto com o ID gerado. O título e o
+     * tamanho do conteúdo são gravados junto, para as listagens resumidas, se as colunas existirem.</p>
+     *
      * @param trilhaP o objeto {@link TrilhaPersonalizadaTO} contendo os dados a serem inseridos.
-     * @return o próprio {@link TrilhaPersonalizadaTO} se o registro for inserido com sucesso,
-     * ou {@code null} em caso de erro.
+     * @return o próprio {@link TrilhaPersonalizadaTO}, já com o ID gerado pelo banco, se o registro for inserido
+     * com sucesso, ou {@code null} em caso de erro.
      */
     public TrilhaPersonalizadaTO save(TrilhaPersonalizadaTO trilhaP) {
-        String sql = "INSERT INTO ddd_trilha_pers(id_user, data_criacao, json_conteudo) VALUES(?,?,?)";
-
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
-            ps.setLong(1, trilhaP.getIdUser());
-            ps.setDate(2, Date.valueOf(trilhaP.getDataCriacao()));
-            ps.setString(3, trilhaP.getJsonConteudo());
+        try (Connection con = ConnectionFactory.getConnection()) {
+            boolean comResumo = ColunasResumo.existem(con);
+            String sql = comResumo
+                    ? "INSERT INTO ddd_trilha_pers(id_user, data_criacao, json_conteudo, titulo, tamanho_conteudo) VALUES(?, NVL(?, SYSDATE), ?, ?, ?)"
+                    : "INSERT INTO ddd_trilha_pers(id_user, data_criacao, json_conteudo) VALUES(?, NVL(?, SYSDATE), ?)";
+            try (PreparedStatement ps = con.prepareStatement(sql, new String[]{"id_pers", "data_criacao"})) {
+                vincular(ps, trilhaP, comResumo);
+                if (ps.executeUpdate() > 0) {
+                    try (ResultSet chaves = ps.getGeneratedKeys()) {
+                        if (chaves.next()) {
+                            trilhaP.setIdTrilhaPers(chaves.getLong(1));
+                            Date dataCriacao = chaves.getDate(2);
+                            trilhaP.setDataCriacao(dataCriacao != null ? dataCriacao.toLocalDate() : null);
+                        }
+                    }
+                    return trilhaP;
+                } else {
+                    return null;
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Erro ao salvar: " + e.getMessage());
+        }
+        return null;
+    }
 
-            if (ps.executeUpdate() > 0) {
-                return trilhaP;
-            } else {
+    /**
+     * Abre a leitura do conteúdo JSON de uma trilha personalizada, sem carregá-lo em memória.
+     *
+     * <p>A conexão fica emprestada até o fechamento da {@link LeituraClob} retornada, que deve ocorrer
+     * assim que o conteúdo for copiado.</p>
+     *
+     * @param idTrilhaPers o identificador da trilha.
+     * @return a {@link LeituraClob} posicionada no conteúdo, ou {@code null} se a trilha não existir ou não
+     * tiver conteúdo.
+     * @throws SQLException se ocorrer erro na consulta
+     */
+    public LeituraClob abrirConteudo(Long idTrilhaPers) throws SQLException {
+        Connection con = ConnectionFactory.getConnection();
+        boolean aberta = false;
+        try {
+            // o tipo JSON é convertido para texto no banco, e o CLOB resultante é lido em partes como os demais
+            String conteudo = ArmazenamentoJson.de(con) == ArmazenamentoJson.JSON_NATIVO
+                    ? "JSON_SERIALIZE(json_conteudo RETURNING CLOB)" : "json_conteudo";
+            String sql = "SELECT " + conteudo + " FROM ddd_trilha_pers WHERE id_pers = ?";
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setLong(1, idTrilhaPers);
+            ResultSet rs = ps.executeQuery();
+            Reader leitor = rs.next() ? rs.getCharacterStream(1) : null;
+            if (leitor == null) {
                 return null;
             }
+            aberta = true;
+            return new LeituraClob(con, ps, rs, leitor);
         } catch (SQLException e) {
-            System.out.println("Erro ao salvar: " + e.getMessage());
+            System.out.println("Erro na leitura do conteúdo: " + e.getMessage());
+            throw e;
         } finally {
-            ConnectionFactory.closeConnection();
+            if (!aberta) {
+                // o pool fecha junto a consulta e o resultado
+                con.close();
+            }
+        }
+    }
+
+    /**
+     * Insere uma trilha personalizada com o conteúdo JSON lido diretamente de um {@link Reader}
+     * (por exemplo, o corpo da requisição), enviado ao banco em partes por {@code setCharacterStream}.
+     *
+     * <p>O título e o tamanho só são conhecidos depois que o conteúdo é lido, então são gravados por um
+     * segundo comando, na mesma transação. O título é procurado nos primeiros caracteres do conteúdo.</p>
+     *
+     * @param idUser   o ID do usuário dono da trilha.
+     * @param conteudo o conteúdo JSON, lido até o fim.
+     * @return um {@link TrilhaPersonalizadaTO} com o ID e a data de criação gerados (sem o conteúdo),
+     * ou {@code null} se o registro não foi inserido.
+     * @throws SQLException se ocorrer erro na gravação, inclusive na leitura do conteúdo; a transação é desfeita
+     */
+    public TrilhaPersonalizadaTO saveConteudo(Long idUser, Reader conteudo) throws SQLException {
+        String sql = "INSERT INTO ddd_trilha_pers(id_user, data_criacao, json_conteudo) VALUES(?, SYSDATE, ?)";
+
+        try (Connection con = ConnectionFactory.getConnection()) {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try (PreparedStatement ps = con.prepareStatement(sql, new String[]{"id_pers", "data_criacao"})) {
+                ResumoConteudo.Medidor medidor = new ResumoConteudo.Medidor(conteudo);
+                ps.setLong(1, idUser);
+                ps.setCharacterStream(2, medidor);
+                TrilhaPersonalizadaTO trilhaP = null;
+                if (ps.executeUpdate() > 0) {
+                    try (ResultSet chaves = ps.getGeneratedKeys()) {
+                        if (chaves.next()) {
+                            trilhaP = new TrilhaPersonalizadaTO();
+                            trilhaP.setIdTrilhaPers(chaves.getLong(1));
+                            trilhaP.setIdUser(idUser);
+                            Date dataCriacao = chaves.getDate(2);
+                            trilhaP.setDataCriacao(dataCriacao != null ? dataCriacao.toLocalDate() : null);
+                        }
+                    }
+                }
+                if (trilhaP != null && gravarResumo(con, trilhaP.getIdTrilhaPers(), medidor)) {
+                    con.commit();
+                    return trilhaP;
+                }
+                con.rollback();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            System.out.println("Erro ao salvar: " + e.getMessage());
+            throw e;
         }
         return null;
     }
 
+    /**
+     * Substitui o conteúdo JSON de uma trilha personalizada, lendo-o de um {@link Reader} por
+     * {@code setCharacterStream}. O título e o tamanho são atualizados como em {@link #saveConteudo}.
+     *
+     * @param idTrilhaPers o identificador da trilha.
+     * @param conteudo     o novo conteúdo JSON, lido até o fim.
+     * @return {@code true} se a trilha foi atualizada, {@code false} se não existir.
+     * @throws SQLException se ocorrer erro na gravação, inclusive na leitura do conteúdo; a transação é desfeita
+     */
+    public boolean updateConteudo(Long idTrilhaPers, Reader conteudo) throws SQLException {
+        String sql = "UPDATE ddd_trilha_pers SET json_conteudo = ? WHERE id_pers = ?";
+        try (Connection con = ConnectionFactory.getConnection()) {
+            boolean autoCommit = con.getAutoCommit();
+            con.setAutoCommit(false);
+            try (PreparedStatement ps = con.prepareStatement(sql)) {
+                ResumoConteudo.Medidor medidor = new ResumoConteudo.Medidor(conteudo);
+                ps.setCharacterStream(1, medidor);
+                ps.setLong(2, idTrilhaPers);
+                if (ps.executeUpdate() > 0 && gravarResumo(con, idTrilhaPers, medidor)) {
+                    con.commit();
+                    return true;
+                }
+                con.rollback();
+            } catch (SQLException e) {
+                con.rollback();
+                throw e;
+            } finally {
+                con.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            System.out.println("Erro ao atualizar: " + e.getMessage());
+            throw e;
+        }
+        return false;
+    }
+
+    /**
+     * Grava o título e o tamanho medidos durante uma gravação em partes. Sem as colunas de resumo no esquema,
+     * não há o que gravar.
+     *
+     * @return {@code true} se a trilha foi atualizada, ou se as colunas não existem
+     */
+    private static boolean gravarResumo(Connection con, long idTrilhaPers, ResumoConteudo.Medidor medidor) throws SQLException {
+        if (!ColunasResumo.existem(con)) {
+            return true;
+        }
+        String sql = "UPDATE ddd_trilha_pers SET titulo = ?, tamanho_conteudo = ? WHERE id_pers = ?";
+        try (PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setString(1, medidor.titulo());
+            ps.setLong(2, medidor.tamanho());
+            ps.setLong(3, idTrilhaPers);
+            return ps.executeUpdate() > 0;
+        }
+    }
+
     /**
      * Exclui uma trilha personalizada pelo seu identificador único (ID).
      *
@@ -165,13 +537,12 @@ public class TrilhaPersonalizadaDAO {
      */
     public boolean delete(Long idTrilhaPers) {
         String sql = "DELETE FROM ddd_trilha_pers WHERE id_pers = ?";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setLong(1, idTrilhaPers);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
             System.out.println("Erro ao excluir: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return false;
     }
@@ -183,23 +554,89 @@ public class TrilhaPersonalizadaDAO {
      * @return o {@link TrilhaPersonalizadaTO} atualizado, ou {@code null} se ocorrer algum erro.
      */
     public TrilhaPersonalizadaTO update(TrilhaPersonalizadaTO trilhaP) {
-        String sql = "UPDATE ddd_trilha_pers SET id_user=?, data_criacao=?, json_conteudo=? WHERE id_pers=?";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
-            ps.setLong(1, trilhaP.getIdUser());
-            ps.setDate(2, Date.valueOf(trilhaP.getDataCriacao()));
-            ps.setString(3, trilhaP.getJsonConteudo());
-            ps.setLong(4, trilhaP.getIdTrilhaPers());
-
-            if (ps.executeUpdate() > 0) {
-                return trilhaP;
-            } else {
-                return null;
+        try (Connection con = ConnectionFactory.getConnection()) {
+            boolean comResumo = ColunasResumo.existem(con);
+            String sql = comResumo
+                    ? "UPDATE ddd_trilha_pers SET id_user=?, data_criacao=NVL(?, data_criacao), json_conteudo=?, titulo=?, tamanho_conteudo=? WHERE id_pers=?"
+                    : "UPDATE ddd_trilha_pers SET id_user=?, data_criacao=NVL(?, data_criacao), json_conteudo=? WHERE id_pers=?";
+            try (PreparedStatement ps = con.prepareStatement(sql)) {
+                ps.setLong(vincular(ps, trilhaP, comResumo), trilhaP.getIdTrilhaPers());
+
+                if (ps.executeUpdate() > 0) {
+                    return trilhaP;
+                } else {
+                    return null;
+                }
             }
         } catch (SQLException e) {
             System.out.println("Erro ao atualizar: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return null;
     }
-}
\ No newline at end of file
+
+    /**
+     * Converte a linha atual do {@link ResultSet} em um {@link TrilhaPersonalizadaTO}.
+     *
+     * <p>A leitura é feita pela posição das colunas de {@link #COLUNAS}, evitando a busca por nome
+     * a cada coluna de cada linha.</p>
+     *
+     * @param rs o resultado posicionado na linha a ser convertida
+     * @return o {@link TrilhaPersonalizadaTO} preenchido com os dados da linha
+     * @throws SQLException se ocorrer erro na leitura das colunas
+     */
+    static TrilhaPersonalizadaTO mapear(ResultSet rs) throws SQLException {
+        TrilhaPersonalizadaTO to = new TrilhaPersonalizadaTO();
+        to.setIdTrilhaPers(rs.getLong(1));
+        to.setIdUser(rs.getLong(2));
+        Date dataCriacao = rs.getDate(3);
+        to.setDataCriacao(dataCriacao != null ? dataCriacao.toLocalDate() : null);
+        to.setJsonConteudo(rs.getString(4));
+        return to;
+    }
+
+    /**
+     * Converte a linha atual do {@link ResultSet} em um {@link TrilhaPersonalizadaResumoTO}, pela posição das
+     * colunas de {@link #COLUNAS_RESUMO}.
+     *
+     * @param rs o resultado posicionado na linha a ser convertida
+     * @return o {@link TrilhaPersonalizadaResumoTO} preenchido com os dados da linha
+     * @throws SQLException se ocorrer erro na leitura das colunas
+     */
+    static TrilhaPersonalizadaResumoTO mapearResumo(ResultSet rs) throws SQLException {
+        TrilhaPersonalizadaResumoTO to = new TrilhaPersonalizadaResumoTO();
+        to.setIdTrilhaPers(rs.getLong(1));
+        to.setIdUser(rs.getLong(2));
+        Date dataCriacao = rs.getDate(3);
+        to.setDataCriacao(dataCriacao != null ? dataCriacao.toLocalDate() : null);
+        to.setTitulo(rs.getString(4));
+        long tamanho = rs.getLong(5);
+        to.setTamanhoConteudo(rs.wasNull() ? null : tamanho);
+        return to;
+    }
+
+    /**
+     * Preenche os parâmetros de inserção e atualização a partir de um {@link TrilhaPersonalizadaTO},
+     * incluindo, se pedido, o título e o tamanho extraídos do conteúdo.
+     *
+     * @param ps        o comando a ser preenchido
+     * @param to        o objeto com os dados a serem gravados
+     * @param comResumo se o comando inclui as colunas {@code titulo} e {@code tamanho_conteudo}
+     * @return a posição do próximo parâmetro livre
+     * @throws SQLException se ocorrer erro ao definir os parâmetros
+     */
+    static int vincular(PreparedStatement ps, TrilhaPersonalizadaTO to, boolean comResumo) throws SQLException {
+        ps.setLong(1, to.getIdUser());
+        ps.setDate(2, to.getDataCriacao() != null ? Date.valueOf(to.getDataCriacao()) : null);
+        ps.setString(3, to.getJsonConteudo());
+        if (!comResumo) {
+            return 4;
+        }
+        ps.setString(4, ResumoConteudo.titulo(to.getJsonConteudo()));
+        if (to.getJsonConteudo() != null) {
+            ps.setLong(5, to.getJsonConteudo().length());
+        } else {
+            ps.setNull(5, Types.NUMERIC);
+        }
+        return 6;
+    }
+}
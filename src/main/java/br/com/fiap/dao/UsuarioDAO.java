@@ -1,9 +1,12 @@
 package br.com.fiap.dao;
 
+import br.com.fiap.to.AprendizadoTO;
 import br.com.fiap.to.UsuarioTO;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 
 /**
  * Classe responsável pelo acesso e manipulação dos dados da entidade <strong>ddd_user</strong>
@@ -24,6 +27,11 @@ import java.util.ArrayList;
  */
 public class UsuarioDAO {
 
+    /**
+     * Colunas lidas pelas consultas, na ordem esperada por {@link #mapear(ResultSet)}.
+     */
+    static final String COLUNAS = "id_user, nome, email, senha";
+
     /**
      * Recupera todos os usuarios cadastrados na tabela <b>ddd_user</b>.
      *
@@ -32,29 +40,95 @@ public class UsuarioDAO {
      */
     public ArrayList<UsuarioTO> findAll() {
         ArrayList<UsuarioTO> users = new ArrayList<UsuarioTO>();
-        String sql = "SELECT * FROM ddd_user ORDER BY id_user";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        String sql = "SELECT " + COLUNAS + " FROM ddd_user ORDER BY id_user";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ResultSet rs = ps.executeQuery();
             if (rs != null) {
                 while (rs.next()) {
-                    UsuarioTO user = new UsuarioTO();
-                    user.setIdUser(rs.getLong("id_user"));
-                    user.setNome(rs.getString("nome"));
-                    user.setEmail(rs.getString("email"));
-                    user.setSenha(rs.getString("senha"));
-                    users.add(user);
+                    users.add(mapear(rs));
                 }
             } else {
                 return null;
             }
         } catch (SQLException e) {
             System.out.println("Erro na user: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return users;
     }
 
+    /**
+     * Percorre todos os usuários da tabela <b>ddd_user</b>, entregando cada linha ao consumidor assim que é lida.
+     *
+     * <p>Nenhuma lista é montada: a memória usada depende apenas do {@code fetchSize}, e a escrita lenta
+     * do consumidor (por exemplo, um cliente HTTP lento) naturalmente atrasa a leitura do banco.</p>
+     *
+     * @param fetchSize  quantidade de linhas trazidas do banco a cada ida ao servidor
+     * @param consumidor destino de cada {@link UsuarioTO} lido
+     * @throws SQLException se ocorrer erro na consulta
+     * @throws IOException  se o consumidor falhar ao processar uma linha
+     */
+    public void exportar(int fetchSize, ConsumidorLinha<UsuarioTO> consumidor) throws SQLException, IOException {
+        String sql = "SELECT " + COLUNAS + " FROM ddd_user ORDER BY id_user";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setFetchSize(fetchSize);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    consumidor.aceitar(mapear(rs));
+                }
+            }
+        }
+    }
+
+    /**
+     * Recupera uma página de usuários da tabela <b>ddd_user</b> usando paginação por cursor (keyset).
+     *
+     * <p>A consulta percorre o índice da chave primária a partir de {@code after}, então o custo
+     * não cresce com a profundidade da página.</p>
+     *
+     * @param after  último ID já entregue ao cliente (exclusivo); use 0 para a primeira página
+     * @param limite quantidade máxima de registros a retornar
+     * @return uma lista de {@link UsuarioTO} ordenada pelo ID, com no máximo {@code limite} registros,
+     * ou {@code null} em caso de erro.
+     */
+    public ArrayList<UsuarioTO> findPage(long after, int limite) {
+        ArrayList<UsuarioTO> users = new ArrayList<>(limite);
+        String sql = "SELECT " + COLUNAS + " FROM ddd_user WHERE id_user > ? ORDER BY id_user FETCH FIRST ? ROWS ONLY";
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(1, after);
+            ps.setInt(2, limite);
+            ps.setFetchSize(limite);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    users.add(mapear(rs));
+                }
+            }
+        } catch (SQLException e) {
+            System.out.println("Erro na user: " + e.getMessage());
+            return null;
+        }
+        return users;
+    }
+
+    /**
+     * Recupera os registros da tabela <b>ddd_user</b> cujos IDs estão na lista, com uma consulta {@code IN}
+     * (dividida em blocos de até {@value ListaIn#TAMANHO_BLOCO} IDs).
+     *
+     * @param ids os IDs procurados, sem repetições
+     * @return uma lista de {@link UsuarioTO} com os registros encontrados, em qualquer ordem,
+     * ou {@code null} em caso de erro.
+     */
+    public ArrayList<UsuarioTO> findByIds(Collection<Long> ids) {
+        try {
+            return ListaIn.buscar("SELECT " + COLUNAS + " FROM ddd_user WHERE id_user IN ", ids, UsuarioDAO::mapear);
+        } catch (SQLException e) {
+            System.out.println("Erro na user: " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Busca um usuario pelo seu identificador único (ID).
      *
@@ -63,24 +137,21 @@ public class UsuarioDAO {
      * ou {@code null} se nenhum registro for encontrado.
      */
     public UsuarioTO findByCodigo(Long idUser) throws SQLException {
-        UsuarioTO user = new UsuarioTO();
-        String sql = "SELECT * FROM ddd_user WHERE id_user = ?";
+        UsuarioTO user = null;
+        String sql = "SELECT " + COLUNAS + " FROM ddd_user WHERE id_user = ?";
         ResultSet rs = null;
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setLong(1, idUser);
             rs = ps.executeQuery();
             if (rs.next()) {
-                user.setIdUser(rs.getLong("id_user"));
-                user.setNome(rs.getString("nome"));
-                user.setEmail(rs.getString("email"));
-                user.setSenha(rs.getString("senha"));
+                user = mapear(rs);
             } else {
                 return null;
             }
         } catch (SQLException e) {
             System.out.println("Erro na user: " + e.getMessage());
         } finally {
-            ConnectionFactory.closeConnection();
             if (rs != null) {
                 rs.close();
             }
@@ -88,6 +159,52 @@ public class UsuarioDAO {
         return user;
     }
 
+    /**
+     * Busca o usuário, os seus progressos e as suas trilhas personalizadas na mesma conexão.
+     *
+     * <p>As três consultas são enviadas juntas por {@link ConsultasEmPipeline}, pagando uma única ida e
+     * volta ao banco quando ele aceita pipeline.</p>
+     *
+     * @param idUser o código (ID) do usuario.
+     * @return um {@link AprendizadoTO} (com usuário {@code null} se o ID não existir),
+     * ou {@code null} em caso de erro.
+     */
+    public AprendizadoTO findAprendizado(Long idUser) {
+        AprendizadoTO aprendizado = new AprendizadoTO();
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement psUsuario = con.prepareStatement(
+                     "SELECT " + COLUNAS + " FROM ddd_user WHERE id_user = ?");
+             PreparedStatement psProgressos = con.prepareStatement(
+                     "SELECT " + ProgressoDAO.COLUNAS + " FROM ddd_prog WHERE id_user = ? ORDER BY id_prog");
+             PreparedStatement psTrilhas = con.prepareStatement(
+                     "SELECT " + TrilhaPersonalizadaDAO.COLUNAS + " FROM ddd_trilha_pers WHERE id_user = ?"
+                             + " ORDER BY data_criacao DESC")) {
+            psUsuario.setLong(1, idUser);
+            psProgressos.setLong(1, idUser);
+            psTrilhas.setLong(1, idUser);
+            ConsultasEmPipeline.executar(con,
+                    new ConsultasEmPipeline.Consulta(psUsuario, rs -> {
+                        if (rs.next()) {
+                            aprendizado.setUsuario(mapear(rs));
+                        }
+                    }),
+                    new ConsultasEmPipeline.Consulta(psProgressos, rs -> {
+                        while (rs.next()) {
+                            aprendizado.getProgressos().add(ProgressoDAO.mapear(rs));
+                        }
+                    }),
+                    new ConsultasEmPipeline.Consulta(psTrilhas, rs -> {
+                        while (rs.next()) {
+                            aprendizado.getTrilhasPersonalizadas().add(TrilhaPersonalizadaDAO.mapear(rs));
+                        }
+                    }));
+        } catch (SQLException e) {
+            System.out.println("Erro na busca do aprendizado do usuário: " + e.getMessage());
+            return null;
+        }
+        return aprendizado;
+    }
+
     /**
      * Busca um usuário pelo email.
      *
@@ -96,23 +213,19 @@ public class UsuarioDAO {
      */
     public UsuarioTO findByEmail(String email) throws SQLException {
         UsuarioTO user = null;
-        String sql = "SELECT * FROM ddd_user WHERE email = ?";
+        String sql = "SELECT " + COLUNAS + " FROM ddd_user WHERE email = ?";
         ResultSet rs = null;
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setString(1, email);
             rs = ps.executeQuery();
 
             if (rs.next()) {
-                user = new UsuarioTO();
-                user.setIdUser(rs.getLong("id_user"));
-                user.setNome(rs.getString("nome"));
-                user.setEmail(rs.getString("email"));
-                user.setSenha(rs.getString("senha"));
+                user = mapear(rs);
             }
         } catch (SQLException e) {
             System.out.println("Erro na busca de usuário por email: " + e.getMessage());
         } finally {
-            ConnectionFactory.closeConnection();
             if (rs != null) {
                 rs.close();
             }
@@ -124,25 +237,27 @@ public class UsuarioDAO {
      * Insere um novo registro de usuario na tabela <b>ddd_user</b>.
      *
      * @param user o objeto {@link UsuarioTO} contendo os dados a serem inseridos.
-     * @return o próprio {@link UsuarioTO} se o registro for inserido com sucesso,
-     * ou {@code null} em caso de erro.
+     * @return o próprio {@link UsuarioTO}, já com o ID gerado pelo banco, se o registro for inserido
+     * com sucesso, ou {@code null} em caso de erro.
      */
     public UsuarioTO save(UsuarioTO user) {
         String sql = "INSERT INTO ddd_user(nome, email, senha) VALUES(?,?,?)";
 
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
-            ps.setString(1, user.getNome());
-            ps.setString(2, user.getEmail());
-            ps.setString(3, user.getSenha());
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql, new String[]{"id_user"})) {
+            vincular(ps, user);
             if (ps.executeUpdate() > 0) {
+                try (ResultSet chaves = ps.getGeneratedKeys()) {
+                    if (chaves.next()) {
+                        user.setIdUser(chaves.getLong(1));
+                    }
+                }
                 return user;
             } else {
                 return null;
             }
         } catch (SQLException e) {
             System.out.println("Erro ao salvar: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return null;
     }
@@ -155,13 +270,12 @@ public class UsuarioDAO {
      */
     public boolean delete(Long idUser) {
         String sql = "DELETE FROM ddd_user WHERE id_user = ?";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
             ps.setLong(1, idUser);
             return ps.executeUpdate() > 0;
         } catch (SQLException e) {
             System.out.println("Erro ao excluir: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return false;
     }
@@ -174,11 +288,9 @@ public class UsuarioDAO {
      */
     public UsuarioTO update(UsuarioTO user) {
         String sql = "UPDATE ddd_user SET nome=?, email=?, senha=? WHERE id_user=?";
-        try (PreparedStatement ps = ConnectionFactory.getConnection().prepareStatement(sql)) {
-            ps.setString(1, user.getNome());
-            ps.setString(2, user.getEmail());
-            ps.setString(3, user.getSenha());
-            ps.setLong(4, user.getIdUser());
+        try (Connection con = ConnectionFactory.getConnection();
+             PreparedStatement ps = con.prepareStatement(sql)) {
+            ps.setLong(vincular(ps, user), user.getIdUser());
 
             if (ps.executeUpdate() > 0) {
                 return user;
@@ -187,9 +299,41 @@ public class UsuarioDAO {
             }
         } catch (SQLException e) {
             System.out.println("Erro ao atualizar: " + e.getMessage());
-        } finally {
-            ConnectionFactory.closeConnection();
         }
         return null;
     }
+
+    /**
+     * Converte a linha atual do {@link ResultSet} em um {@link UsuarioTO}.
+     *
+     * <p>A leitura é feita pela posição das colunas de {@link #COLUNAS}, evitando a busca por nome
+     * a cada coluna de cada linha.</p>
+     *
+     * @param rs o resultado posicionado na linha a ser convertida
+     * @return o {@link UsuarioTO} preenchido com os dados da linha
+     * @throws SQLException se ocorrer erro na leitura das colunas
+     */
+    static UsuarioTO mapear(ResultSet rs) throws SQLException {
+        UsuarioTO to = new UsuarioTO();
+        to.setIdUser(rs.getLong(1));
+        to.setNome(rs.getString(2));
+        to.setEmail(rs.getString(3));
+        to.setSenha(rs.getString(4));
+        return to;
+    }
+
+    /**
+     * Preenche os parâmetros de inserção e atualização a partir de um {@link UsuarioTO}.
+     *
+     * @param ps o comando a ser preenchido
+     * @param to o objeto com os dados a serem gravados
+     * @return a posição do próximo parâmetro livre
+     * @throws SQLException se ocorrer erro ao definir os parâmetros
+     */
+    static int vincular(PreparedStatement ps, UsuarioTO to) throws SQLException {
+        ps.setString(1, to.getNome());
+        ps.setString(2, to.getEmail());
+        ps.setString(3, to.getSenha());
+        return 4;
+    }
 }
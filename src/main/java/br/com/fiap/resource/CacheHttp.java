@@ -0,0 +1,113 @@
+package br.com.fiap.resource;
+
+import br.com.fiap.bo.Versoes;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * <p>Suporte a requisições condicionais ({@code ETag} / {@code If-None-Match}) e ao cabeçalho
+ * {@code Cache-Control} nas respostas GET.</p>
+ *
+ * <p>A ETag é derivada do contador de versão da entidade ({@link Versoes}), e não do corpo da resposta.
+ * Assim, quando o cliente já tem a versão atual, a resposta 304 é decidida antes de qualquer consulta ao
+ * banco ou serialização. Cada representação tem ETag própria (a do CBOR leva o sufixo {@code -cbor}), e as
+ * respostas levam {@code Vary: Accept}, para que os caches intermediários guardem cada formato separadamente.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+final class CacheHttp {
+
+    private CacheHttp() {
+    }
+
+    /**
+     * Monta a ETag forte de um recurso.
+     *
+     * @param recurso nome do recurso (por exemplo, {@code "trilha"})
+     * @param versao  versão atual da entidade, lida antes da consulta dos dados
+     * @return a {@link EntityTag} correspondente
+     */
+    static EntityTag etag(String recurso, long versao) {
+        return new EntityTag(Versoes.INSTANCIA + "-" + recurso + "-" + versao);
+    }
+
+    /**
+     * Monta a ETag forte da representação escolhida pelo {@code Accept}, nos endpoints que produzem JSON e CBOR.
+     *
+     * @param recurso    nome do recurso (por exemplo, {@code "trilha"})
+     * @param versao     versão atual da entidade, lida antes da consulta dos dados
+     * @param cabecalhos cabeçalhos da requisição
+     * @return a {@link EntityTag} correspondente, com o sufixo {@code -cbor} se a resposta for em CBOR
+     */
+    static EntityTag etag(String recurso, long versao, HttpHeaders cabecalhos) {
+        return etag(recurso, versao, emCbor(cabecalhos));
+    }
+
+    /**
+     * Monta a ETag forte de um recurso na representação indicada.
+     *
+     * @param recurso nome do recurso (por exemplo, {@code "trilha"})
+     * @param versao  versão atual da entidade, lida antes da consulta dos dados
+     * @param cbor    se a resposta será em CBOR
+     * @return a {@link EntityTag} correspondente
+     */
+    static EntityTag etag(String recurso, long versao, boolean cbor) {
+        EntityTag etag = etag(recurso, versao);
+        return cbor ? new EntityTag(etag.getValue() + "-cbor") : etag;
+    }
+
+    /**
+     * Repete a escolha do Quarkus REST entre JSON e {@link CorpoCbor#CBOR}: vence a maior qualidade do
+     * {@code Accept} multiplicada pela qualidade do servidor ({@code qs}), e o JSON no empate.
+     */
+    private static boolean emCbor(HttpHeaders cabecalhos) {
+        MediaType cbor = MediaType.valueOf(CorpoCbor.TIPO);
+        double json = 0;
+        double binario = 0;
+        for (MediaType aceito : cabecalhos.getAcceptableMediaTypes()) {
+            String q = aceito.getParameters().get("q");
+            double qualidade = q != null ? Double.parseDouble(q) : 1;
+            if (aceito.isCompatible(MediaType.APPLICATION_JSON_TYPE)) {
+                json = Math.max(json, qualidade);
+            }
+            if (aceito.isCompatible(cbor)) {
+                binario = Math.max(binario, qualidade * 0.5);
+            }
+        }
+        return binario > json;
+    }
+
+    /**
+     * Verifica o cabeçalho {@code If-None-Match} da requisição.
+     *
+     * @param request      requisição atual
+     * @param etag         ETag atual do recurso
+     * @param cacheControl valor do cabeçalho {@code Cache-Control}
+     * @return a resposta 304 (Not Modified) se o cliente já tiver a versão atual, ou {@code null}
+     */
+    static Response naoModificado(Request request, EntityTag etag, String cacheControl) {
+        Response.ResponseBuilder builder = request.evaluatePreconditions(etag);
+        return builder != null ? builder.header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT).build() : null;
+    }
+
+    /**
+     * Monta a resposta 200 (OK) com a ETag e o {@code Cache-Control}.
+     *
+     * @param entidade     corpo da resposta
+     * @param etag         ETag atual do recurso
+     * @param cacheControl valor do cabeçalho {@code Cache-Control}
+     * @return a resposta pronta
+     */
+    static Response ok(Object entidade, EntityTag etag, String cacheControl) {
+        return Response.ok(entidade).tag(etag).header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT).build();
+    }
+}
@@ -0,0 +1,41 @@
+package br.com.fiap.resource;
+
+import br.com.fiap.bo.CacheCatalogo;
+import br.com.fiap.to.EstatisticasCacheTO;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+
+import java.util.List;
+
+/**
+ * <p>Classe Resource que expõe as estatísticas dos caches do catálogo.</p>
+ *
+ * Endpoints disponíveis:
+ * <ul>
+ * <li>GET /cache - Retorna acertos, falhas, remoções e invalidações de cada cache</li>
+ * </ul>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+@Path("/cache")
+public class CacheResource {
+
+    /**
+     * Retorna as estatísticas de todos os caches.
+     *
+     * @return Response com status 200 (OK) e a lista de {@link EstatisticasCacheTO}.
+     */
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response estatisticas() {
+        List<EstatisticasCacheTO> resultado = CacheCatalogo.todasEstatisticas();
+        return Response.ok(resultado).build();
+    }
+}
@@ -0,0 +1,120 @@
+package br.com.fiap.resource;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.StreamReadConstraints;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.BadRequestException;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * <p>Leitura e escrita dos corpos em CBOR ({@code application/cbor}, RFC 8949), o formato binário
+ * oferecido aos clientes móveis e aos serviços, escolhido pelos cabeçalhos {@code Accept} e
+ * {@code Content-Type}.</p>
+ *
+ * <p>A conversão usa o {@link CBORFactory} do {@code jackson-dataformat-cbor} com uma cópia do
+ * {@link ObjectMapper} da aplicação: os módulos e as configurações são os mesmos, então os nomes dos
+ * campos, os tipos e a validação ({@code @Valid}) também são os do JSON. O objeto é gravado direto no
+ * fluxo da resposta, e o corpo da requisição é lido direto do fluxo de entrada.</p>
+ *
+ * <p>Só os endpoints que declaram {@link #CBOR} em {@code @Produces} ou {@link #TIPO} em {@code @Consumes}
+ * usam este formato; nos demais, {@code Accept: application/cbor} continua resultando em 406. Como o
+ * provider aceita qualquer tipo de entidade, os endpoints que devolvem corpo precisam declarar
+ * {@code @Produces}: sem ele, o Quarkus REST escolheria o tipo da resposta entre todos os providers, e
+ * {@code Accept: *}{@code /*} poderia resultar em CBOR.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+@Provider
+@Produces(CorpoCbor.CBOR)
+@Consumes(CorpoCbor.TIPO)
+public class CorpoCbor implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+    /** Tipo de mídia CBOR, usado em {@code @Consumes}. */
+    static final String TIPO = "application/cbor";
+
+    /** Tipo de mídia CBOR para {@code @Produces}. A qualidade menor mantém o JSON como padrão para {@code Accept: *}{@code /*}. */
+    static final String CBOR = TIPO + ";qs=0.5";
+
+    /** Aninhamento máximo aceito na leitura, para que um corpo malicioso não esgote a pilha. */
+    private static final int PROFUNDIDADE_MAXIMA = 64;
+
+    /** Mapper JSON da aplicação, de onde vêm os módulos e as configurações. */
+    @Inject
+    ObjectMapper mapper;
+
+    private ObjectMapper cbor;
+
+    /**
+     * Cria o mapper CBOR a partir do mapper da aplicação. Os fluxos pertencem ao Quarkus REST e não são
+     * fechados pelo Jackson.
+     */
+    @PostConstruct
+    void iniciar() {
+        CBORFactory fabrica = CBORFactory.builder()
+                .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+                .streamReadConstraints(StreamReadConstraints.builder().maxNestingDepth(PROFUNDIDADE_MAXIMA).build())
+                .build();
+        cbor = mapper.copyWith(fabrica).enable(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+    }
+
+    /**
+     * Aceita apenas as respostas de métodos que declaram CBOR em {@code @Produces}.
+     */
+    @Override
+    public boolean isWriteable(Class<?> tipo, Type generico, Annotation[] anotacoes, MediaType mediaType) {
+        for (Annotation anotacao : anotacoes) {
+            if (anotacao instanceof Produces produces) {
+                for (String valor : produces.value()) {
+                    if (valor.startsWith(TIPO)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void writeTo(Object entidade, Class<?> tipo, Type generico, Annotation[] anotacoes, MediaType mediaType,
+                        MultivaluedMap<String, Object> cabecalhos, OutputStream saida) throws IOException {
+        cbor.writeValue(saida, entidade);
+    }
+
+    @Override
+    public boolean isReadable(Class<?> tipo, Type generico, Annotation[] anotacoes, MediaType mediaType) {
+        return true;
+    }
+
+    @Override
+    public Object readFrom(Class<Object> tipo, Type generico, Annotation[] anotacoes, MediaType mediaType,
+                           MultivaluedMap<String, String> cabecalhos, InputStream entrada) throws IOException {
+        try {
+            return cbor.readValue(entrada, cbor.constructType(generico));
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Corpo CBOR inválido: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package br.com.fiap.resource;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * <p>Corpo de requisição que é validado como JSON à medida que é lido.</p>
+ *
+ * <p>Cada bloco lido por quem consome o corpo (por exemplo, o driver JDBC gravando o CLOB) é entregue também
+ * ao parser não bloqueante do Jackson, que só guarda o token em andamento. Assim o conteúdo é validado sem ser
+ * montado em memória. Ao encontrar um erro, a leitura falha com {@link IOException}, o que interrompe a
+ * gravação, e a causa fica disponível em {@link #erro()}.</p>
+ *
+ * <p>Aceita um único documento JSON, com espaços em volta; qualquer conteúdo depois dele é recusado.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+final class CorpoJsonValidado extends FilterInputStream {
+
+    private static final JsonFactory FABRICA = new JsonFactory();
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder alimentador;
+
+    /** Objetos e listas abertos e ainda não fechados. */
+    private int profundidade;
+
+    /** Se o documento já terminou; a partir daí só espaços são aceitos. */
+    private boolean concluido;
+
+    private boolean fimDaEntrada;
+    private String erro;
+
+    CorpoJsonValidado(InputStream corpo) throws IOException {
+        super(corpo);
+        parser = FABRICA.createNonBlockingByteArrayParser();
+        alimentador = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * @return a descrição do problema encontrado no JSON, ou {@code null} se o corpo lido até agora é válido
+     */
+    String erro() {
+        return erro;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] um = new byte[1];
+        int lidos = read(um, 0, 1);
+        return lidos == -1 ? -1 : um[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] destino, int inicio, int quantidade) throws IOException {
+        if (erro != null) {
+            throw new IOException(erro);
+        }
+        int lidos = super.read(destino, inicio, quantidade);
+        if (lidos == -1) {
+            terminar();
+        } else if (lidos > 0) {
+            alimentador.feedInput(destino, inicio, inicio + lidos);
+            avancar();
+        }
+        return lidos;
+    }
+
+    @Override
+    public long skip(long quantidade) throws IOException {
+        // os bytes pulados também precisam passar pelo parser
+        byte[] bloco = new byte[(int) Math.max(0, Math.min(quantidade, 8192))];
+        long pulados = 0;
+        while (pulados < quantidade) {
+            int lidos = read(bloco, 0, (int) Math.min(bloco.length, quantidade - pulados));
+            if (lidos == -1) {
+                break;
+            }
+            pulados += lidos;
+        }
+        return pulados;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void terminar() throws IOException {
+        if (fimDaEntrada) {
+            return;
+        }
+        fimDaEntrada = true;
+        alimentador.endOfInput();
+        avancar();
+        if (!concluido) {
+            throw falha("documento JSON incompleto");
+        }
+    }
+
+    /** Consome os tokens disponíveis; o parser guarda o que sobrar de um token incompleto. */
+    private void avancar() throws IOException {
+        try {
+            for (JsonToken token = parser.nextToken(); token != null && token != JsonToken.NOT_AVAILABLE;
+                 token = parser.nextToken()) {
+                if (concluido) {
+                    throw falha("conteúdo após o fim do documento JSON");
+                }
+                if (token.isStructStart()) {
+                    profundidade++;
+                } else if (token.isStructEnd()) {
+                    profundidade--;
+                }
+                concluido = profundidade == 0;
+            }
+        } catch (JsonProcessingException e) {
+            throw falha(e.getOriginalMessage());
+        }
+    }
+
+    private IOException falha(String mensagem) {
+        erro = mensagem;
+        return new IOException(mensagem);
+    }
+}
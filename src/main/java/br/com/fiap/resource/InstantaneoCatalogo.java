@@ -0,0 +1,200 @@
+package br.com.fiap.resource;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import com.aayushatharva.brotli4j.encoder.Encoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * <p>Cópia já serializada (e comprimida) da listagem completa de uma entidade do catálogo.</p>
+ *
+ * <p>As listagens do catálogo são iguais para todos os clientes e só mudam com as escritas, que incrementam
+ * a versão da entidade em {@link br.com.fiap.bo.Versoes}. Por isso o JSON é gerado uma única vez por versão,
+ * junto com as variantes gzip e brotli, e as requisições seguintes recebem esses bytes diretamente, sem
+ * passar pelo Jackson nem comprimir de novo. A codificação é escolhida pelo cabeçalho
+ * {@code Accept-Encoding}; o brotli só é oferecido quando a biblioteca nativa está disponível na
+ * plataforma.</p>
+ *
+ * <p>Cada codificação é uma representação diferente, com ETag própria: a ETag da versão recebe o sufixo
+ * {@code -gz} ou {@code -br}, e as requisições condicionais são avaliadas contra a ETag da variante
+ * escolhida.</p>
+ *
+ * <p>Listagens nulas (erro do DAO) ou vazias não são guardadas, pelo mesmo motivo do
+ * {@link br.com.fiap.bo.CacheCatalogo}: a lista já carregada é entregue ao resource, que decide a resposta
+ * sem consultar o banco de novo.</p>
+ *
+ * <p>No modo de leitura reativo ({@code reintegrai.dados.modo=reativo}), o {@code GET /trilha} simples é
+ * atendido pelo {@link LeituraReativaResource} e não usa esta cópia.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+final class InstantaneoCatalogo {
+
+    private static final String GZIP = "gzip";
+    private static final String BROTLI = "br";
+
+    /** Verificado uma vez: a biblioteca nativa do brotli não aparece nem some com a aplicação rodando. */
+    private static final boolean BROTLI_DISPONIVEL = Brotli4jLoader.isAvailable();
+
+    /** Qualidade do brotli (0 a 11). */
+    private static final int QUALIDADE_BROTLI = 5;
+
+    /** Variantes de uma versão da listagem; {@code brotli} é {@code null} quando o brotli não está disponível. */
+    private record Corpo(long versao, byte[] json, byte[] gzip, byte[] brotli) {
+    }
+
+    private volatile Corpo atual;
+
+    /**
+     * Serializa as gerações. É um {@link ReentrantLock}, e não {@code synchronized}, porque a geração consulta
+     * o banco e comprime: com {@code synchronized}, as threads virtuais que aguardam prenderiam as threads
+     * de plataforma que as executam.
+     */
+    private final ReentrantLock geracao = new ReentrantLock();
+
+    /**
+     * Monta a resposta da listagem na versão informada, gerando os bytes se a versão guardada for outra.
+     *
+     * @param mapper         {@link ObjectMapper} da aplicação
+     * @param versao         versão da entidade lida antes da consulta, a mesma usada na ETag
+     * @param carga          consulta da listagem, chamada apenas quando os bytes precisam ser gerados
+     * @param vazia          resposta para uma listagem nula ou vazia, que recebe a lista carregada
+     * @param request        requisição atual, para o {@code If-None-Match}
+     * @param acceptEncoding valor do cabeçalho {@code Accept-Encoding}, ou {@code null}
+     * @param etag           ETag da versão, sem o sufixo da codificação
+     * @param cacheControl   valor do cabeçalho {@code Cache-Control}
+     * @return a resposta 200 (OK), 304 (Not Modified) se o cliente já tiver a variante, ou a de {@code vazia}
+     * @throws IOException se a serialização ou a compressão falharem
+     */
+    Response responder(ObjectMapper mapper, long versao, Supplier<? extends Collection<?>> carga,
+                       Function<Collection<?>, Response> vazia, Request request, String acceptEncoding,
+                       EntityTag etag, String cacheControl) throws IOException {
+        String codificacao = BROTLI_DISPONIVEL && aceita(acceptEncoding, BROTLI) ? BROTLI
+                : aceita(acceptEncoding, GZIP) ? GZIP : null;
+        EntityTag variante = codificacao == null ? etag
+                : new EntityTag(etag.getValue() + (codificacao.equals(BROTLI) ? "-br" : "-gz"), etag.isWeak());
+        Response.ResponseBuilder naoModificado = request.evaluatePreconditions(variante);
+        if (naoModificado != null) {
+            return comCabecalhos(naoModificado, cacheControl).build();
+        }
+
+        // caminho comum: a versão pedida já foi gerada, e a leitura dispensa a trava
+        Corpo corpo = atual;
+        if (corpo == null || corpo.versao() != versao) {
+            Collection<?> lista = null;
+            geracao.lock();
+            try {
+                // requisições simultâneas com a mesma versão desatualizada esperam a primeira, em vez de
+                // consultar, serializar e comprimir a mesma listagem várias vezes
+                corpo = atual;
+                if (corpo == null || corpo.versao() != versao) {
+                    lista = carga.get();
+                    corpo = lista == null || lista.isEmpty() ? null : gerar(mapper, versao, lista);
+                }
+            } finally {
+                geracao.unlock();
+            }
+            if (corpo == null) {
+                return vazia.apply(lista);
+            }
+        }
+
+        Response.ResponseBuilder resposta = comCabecalhos(Response.ok(), cacheControl)
+                .type(MediaType.APPLICATION_JSON_TYPE).tag(variante);
+        if (codificacao == null) {
+            return resposta.entity(corpo.json()).build();
+        }
+        return resposta.entity(codificacao.equals(BROTLI) ? corpo.brotli() : corpo.gzip())
+                .header(HttpHeaders.CONTENT_ENCODING, codificacao).build();
+    }
+
+    private static Response.ResponseBuilder comCabecalhos(Response.ResponseBuilder resposta, String cacheControl) {
+        return resposta.header(HttpHeaders.CACHE_CONTROL, cacheControl)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    /** Gera as variantes de uma versão e as publica. Chamado com {@link #geracao} bloqueado. */
+    private Corpo gerar(ObjectMapper mapper, long versao, Collection<?> lista) throws IOException {
+        byte[] json = mapper.writeValueAsBytes(lista);
+        Corpo corpo = new Corpo(versao, json, gzip(json), brotli(json));
+        if (atual == null || atual.versao() < versao) {
+            atual = corpo;
+        }
+        return corpo;
+    }
+
+    private static byte[] gzip(byte[] json) throws IOException {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(json.length / 4 + 64);
+        // compressão máxima: o custo é pago uma vez por versão, e não por requisição
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(json);
+        }
+        return saida.toByteArray();
+    }
+
+    private static byte[] brotli(byte[] json) throws IOException {
+        if (!BROTLI_DISPONIVEL) {
+            return null;
+        }
+        // a geração segura as requisições da versão nova: a qualidade 11 levava perto de 1 s para uma listagem
+        // de 250 KB, e a 5 leva poucos milissegundos, com um corpo ainda menor que o do gzip
+        return Encoder.compress(json, new Encoder.Parameters().setQuality(QUALIDADE_BROTLI).setMode(Encoder.Mode.TEXT));
+    }
+
+    /**
+     * Verifica se a codificação é aceita pelo {@code Accept-Encoding}, com qualidade diferente de zero. Uma
+     * menção explícita à codificação prevalece sobre o {@code *}.
+     */
+    private static boolean aceita(String acceptEncoding, String codificacao) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        boolean curinga = false;
+        for (String item : acceptEncoding.split(",")) {
+            String[] partes = item.split(";");
+            String nome = partes[0].trim();
+            if (nome.equalsIgnoreCase(codificacao)) {
+                return !recusada(partes);
+            }
+            if (nome.equals("*")) {
+                curinga = !recusada(partes);
+            }
+        }
+        return curinga;
+    }
+
+    private static boolean recusada(String[] partes) {
+        for (int i = 1; i < partes.length; i++) {
+            String parametro = partes[i].trim();
+            if (parametro.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parametro.substring(2)) <= 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,138 @@
+package br.com.fiap.resource;
+
+import br.com.fiap.bo.ModuloBO;
+import br.com.fiap.bo.ProgressoBO;
+import br.com.fiap.bo.TrilhaBO;
+import br.com.fiap.bo.Versoes;
+import br.com.fiap.to.ModuloTO;
+import br.com.fiap.to.ProgressoTO;
+import br.com.fiap.to.TrilhaTO;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.server.ServerExceptionMapper;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * <p>Classe Resource com as versões não bloqueantes das leituras mais acessadas.</p>
+ *
+ * <p>Os métodos retornam {@link Uni} e rodam no event loop: a ETag e o cache do catálogo são avaliados
+ * direto nele, e apenas as consultas ao banco são agendadas no {@code ExecutorBanco}. Com
+ * {@code reintegrai.dados.modo=reativo} o {@link RoteadorLeituraReativa} encaminha para cá as rotas
+ * originais; os caminhos abaixo também podem ser chamados diretamente, para comparar os dois modos. Com a
+ * fila do {@code ExecutorBanco} cheia, a resposta é 503 (Service Unavailable) com {@code Retry-After}.</p>
+ *
+ * Endpoints disponíveis:
+ * <ul>
+ * <li>GET /reativo/trilha - Retorna todas as trilhas (equivale a GET /trilha)</li>
+ * <li>GET /reativo/modulo/{id_modulo} - Retorna modulo pelo ID (equivale a GET /modulo/{id_modulo})</li>
+ * <li>GET /reativo/progresso/usuario/{id_user} - Retorna os progressos do usuário (equivale a GET /progresso/usuario/{id_user})</li>
+ * </ul>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+@Path(LeituraReativaResource.PREFIXO)
+public class LeituraReativaResource {
+    /** Prefixo dos caminhos atendidos por esta classe. */
+    static final String PREFIXO = "/reativo";
+
+    private TrilhaBO trilhaBO = new TrilhaBO();
+    private ModuloBO moduloBO = new ModuloBO();
+    private ProgressoBO progressoBO = new ProgressoBO();
+
+    /** Valor do cabeçalho Cache-Control das leituras do catálogo. */
+    @ConfigProperty(name = "reintegrai.http.cache-control.catalogo", defaultValue = "no-cache")
+    String cacheControlCatalogo;
+
+    /** Valor do cabeçalho Cache-Control das leituras de progresso. */
+    @ConfigProperty(name = "reintegrai.http.cache-control.progresso", defaultValue = "private, no-cache")
+    String cacheControlProgresso;
+
+    /**
+     * Retorna todas as trilhas.
+     *
+     * @param request requisição atual, usada para avaliar o cabeçalho {@code If-None-Match}
+     * @return Response com status 200 (OK) e lista de {@link TrilhaTO}, 304 (Not Modified) se a ETag
+     * informada ainda for a atual, ou 404 se não houver dados.
+     */
+    @GET
+    @Path("/trilha")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Uni<Response> findAllTrilhas(@Context Request request) {
+        EntityTag etag = CacheHttp.etag("trilha", Versoes.atual(Versoes.Entidade.TRILHA));
+        Response naoModificado = CacheHttp.naoModificado(request, etag, cacheControlCatalogo);
+        if (naoModificado != null) {
+            return Uni.createFrom().item(naoModificado);
+        }
+        return trilhaBO.findAllReativo().map(resultado -> resultado != null && !resultado.isEmpty()
+                ? CacheHttp.ok(resultado, etag, cacheControlCatalogo)
+                : Response.status(404).entity(resultado).build());
+    }
+
+    /**
+     * Busca modulo pelo ID.
+     *
+     * @param codigo ID do modulo.
+     * @param request requisição atual, usada para avaliar o cabeçalho {@code If-None-Match}
+     * @return Response com status 200 (OK) e {@link ModuloTO}, 304 (Not Modified) se a ETag ainda for a atual, ou 404 se não encontrado.
+     */
+    @GET
+    @Path("/modulo/{id_modulo}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Uni<Response> findModuloByCodigo(@PathParam("id_modulo") Long codigo, @Context Request request) {
+        EntityTag etag = CacheHttp.etag("modulo", Versoes.atual(Versoes.Entidade.MODULO));
+        Response naoModificado = CacheHttp.naoModificado(request, etag, cacheControlCatalogo);
+        if (naoModificado != null) {
+            return Uni.createFrom().item(naoModificado);
+        }
+        return moduloBO.findByCodigoReativo(codigo).map(resultado -> resultado != null
+                ? CacheHttp.ok(resultado, etag, cacheControlCatalogo)
+                : Response.status(404).build());
+    }
+
+    /**
+     * Busca progressos pelo ID do usuário.
+     *
+     * @param idUser ID do usuário.
+     * @param request requisição atual, usada para avaliar o cabeçalho {@code If-None-Match}
+     * @return Response 200 (OK) com a lista de {@link ProgressoTO}, 304 (Not Modified) se a ETag ainda for
+     * a atual, ou 404 (Not Found) se o usuário não tiver progressos.
+     */
+    @GET
+    @Path("/progresso/usuario/{id_user}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Uni<Response> findProgressoByUserId(@PathParam("id_user") Long idUser, @Context Request request) {
+        EntityTag etag = CacheHttp.etag("progresso-" + idUser, Versoes.progressoDoUsuario(idUser));
+        Response naoModificado = CacheHttp.naoModificado(request, etag, cacheControlProgresso);
+        if (naoModificado != null) {
+            return Uni.createFrom().item(naoModificado);
+        }
+        return progressoBO.findByUserIdReativo(idUser).map(resultado -> resultado != null && !resultado.isEmpty()
+                ? CacheHttp.ok(resultado, etag, cacheControlProgresso)
+                : Response.status(404).entity(resultado).build());
+    }
+
+    /**
+     * Responde 503 (Service Unavailable) quando a fila de consultas do {@code ExecutorBanco} está cheia.
+     *
+     * @param e a recusa do executor
+     * @return a resposta 503, com {@code Retry-After}
+     */
+    @ServerExceptionMapper
+    public Response filaCheia(RejectedExecutionException e) {
+        return LimiteConcorrenciaFilter.ocupado();
+    }
+}
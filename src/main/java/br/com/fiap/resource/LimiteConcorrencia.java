@@ -0,0 +1,113 @@
+package br.com.fiap.resource;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.ConfigProvider;
+
+import java.time.Duration;
+
+/**
+ * <p>Limite adaptativo de requisições simultâneas de um grupo de endpoints (AIMD).</p>
+ *
+ * <p>Cada requisição concluída dentro da latência alvo, com o limite em uso, soma {@code 1/limite} ao
+ * limite, ou seja, cerca de uma vaga a mais por "rodada" de requisições. Uma requisição lenta ou com
+ * erro 5xx multiplica o limite por {@value #FATOR_REDUCAO}. Assim, quando o banco fica lento, cada grupo
+ * passa a aceitar menos consultas simultâneas, em vez de empilhar mais carga sobre ele.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+final class LimiteConcorrencia {
+
+    /** Fator aplicado ao limite quando uma requisição excede a latência alvo ou falha. */
+    private static final double FATOR_REDUCAO = 0.9;
+
+    private final int minimo;
+    private final int maximo;
+    private final long latenciaAlvoNanos;
+
+    /** Limite atual, fracionário para permitir o aumento de {@code 1/limite}. */
+    private double limite;
+
+    /** Requisições em andamento. */
+    private int emUso;
+
+    private LimiteConcorrencia(int inicial, int minimo, int maximo, Duration latenciaAlvo) {
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.latenciaAlvoNanos = latenciaAlvo.toNanos();
+        this.limite = Math.max(minimo, Math.min(maximo, inicial));
+    }
+
+    /**
+     * Cria o limite de um grupo a partir da configuração. Cada propriedade pode ser definida para o grupo
+     * ({@code reintegrai.limite.<grupo>.maximo}) ou para todos ({@code reintegrai.limite.maximo}).
+     *
+     * @param grupo nome do grupo de endpoints
+     * @return o limite configurado
+     */
+    static LimiteConcorrencia configurado(String grupo) {
+        Config config = ConfigProvider.getConfig();
+        return new LimiteConcorrencia(
+                valor(config, grupo, "inicial", Integer.class, 20),
+                valor(config, grupo, "minimo", Integer.class, 2),
+                valor(config, grupo, "maximo", Integer.class, 200),
+                valor(config, grupo, "latencia-alvo", Duration.class, Duration.ofMillis(250)));
+    }
+
+    private static <T> T valor(Config config, String grupo, String nome, Class<T> tipo, T padrao) {
+        return config.getOptionalValue("reintegrai.limite." + grupo + "." + nome, tipo)
+                .orElse(config.getOptionalValue("reintegrai.limite." + nome, tipo).orElse(padrao));
+    }
+
+    /**
+     * Reserva uma vaga para uma requisição.
+     *
+     * @return {@code true} se a requisição pode prosseguir; {@code false} se o limite foi atingido
+     */
+    synchronized boolean adquirir() {
+        if (emUso >= (int) limite) {
+            return false;
+        }
+        emUso++;
+        return true;
+    }
+
+    /**
+     * Devolve a vaga de uma requisição concluída e ajusta o limite conforme a latência observada.
+     *
+     * @param latenciaNanos duração da requisição
+     * @param falhou        se a requisição terminou com erro do servidor
+     */
+    synchronized void liberar(long latenciaNanos, boolean falhou) {
+        // o limite só cresce quando está sendo usado; com poucas requisições a latência não diz nada sobre ele
+        boolean limitado = emUso * 2 >= limite;
+        emUso--;
+        if (falhou || latenciaNanos > latenciaAlvoNanos) {
+            limite = Math.max(minimo, limite * FATOR_REDUCAO);
+        } else if (limitado) {
+            limite = Math.min(maximo, limite + 1.0 / limite);
+        }
+    }
+
+    /**
+     * Devolve a vaga de uma requisição cuja duração não serve de amostra (por exemplo, uma resposta
+     * transmitida em partes, que dura o quanto o cliente demorar para lê-la). Só um erro do servidor
+     * reduz o limite.
+     *
+     * @param falhou se a requisição terminou com erro do servidor
+     */
+    synchronized void devolver(boolean falhou) {
+        emUso--;
+        if (falhou) {
+            limite = Math.max(minimo, limite * FATOR_REDUCAO);
+        }
+    }
+
+    /** @return o limite atual, arredondado para baixo */
+    synchronized int limiteAtual() {
+        return (int) limite;
+    }
+}
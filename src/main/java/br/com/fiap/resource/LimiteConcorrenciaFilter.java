@@ -0,0 +1,162 @@
+package br.com.fiap.resource;
+
+import io.vertx.ext.web.RoutingContext;
+import jakarta.ws.rs.HttpMethod;
+import io.smallrye.mutiny.Multi;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import org.eclipse.microprofile.config.ConfigProvider;
+import org.jboss.resteasy.reactive.server.ServerRequestFilter;
+import org.jboss.resteasy.reactive.server.ServerResponseFilter;
+
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * <p>Filtro que isola os grupos de endpoints com um limite adaptativo de requisições simultâneas para cada um.</p>
+ *
+ * <p>Grupos: leituras do catálogo (GET em {@code /trilha}, {@code /modulo} e {@code /sugestoes}),
+ * escritas de progresso, leituras de progresso (GET em {@code /progresso} e {@code /painel}), usuários
+ * ({@code /usuario}) e trilhas personalizadas. As requisições {@code OPTIONS} (preflight de CORS) não
+ * consultam o banco e não contam em nenhum grupo. Cada grupo tem o seu
+ * {@link LimiteConcorrencia}, de modo que um endpoint sobrecarregado não consome a capacidade dos outros.
+ * A vaga é devolvida quando a resposta termina (ou a conexão cai).</p>
+ *
+ * <p>O limite é ajustado pelo tempo de processamento da requisição, medido até o resource devolver a
+ * resposta e antes de o corpo ser escrito: o tempo de envio depende da rede do cliente, e um cliente lento
+ * não deve reduzir o limite com o banco saudável. Pelo mesmo motivo, as respostas transmitidas em partes
+ * (NDJSON, conteúdo das trilhas personalizadas), cuja leitura do banco acontece durante o envio, não
+ * servem de amostra; nelas, só um erro 5xx reduz o limite.</p>
+ *
+ * <p>Com o limite do grupo atingido, a requisição recebe na hora 503 (Service Unavailable) com
+ * {@code Retry-After}, em vez de esperar na fila. As demais rotas não são limitadas.
+ * Com {@code reintegrai.limite.habilitado=false} o filtro não faz nada.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+public class LimiteConcorrenciaFilter {
+
+    /** Grupos de endpoints com limite próprio. */
+    enum Grupo { CATALOGO, PROGRESSO, LEITURA_PROGRESSO, USUARIO, TRILHA_PERSONALIZADA }
+
+    private static final boolean HABILITADO = ConfigProvider.getConfig()
+            .getOptionalValue("reintegrai.limite.habilitado", Boolean.class).orElse(true);
+
+    /** Segundos informados no cabeçalho Retry-After das respostas 503. */
+    private static final String RETRY_AFTER = ConfigProvider.getConfig()
+            .getOptionalValue("reintegrai.limite.retry-after", String.class).orElse("1");
+
+    private static final Map<Grupo, LimiteConcorrencia> LIMITES = new EnumMap<>(Grupo.class);
+
+    /** Chaves do {@link RoutingContext}: início da requisição e tempo de processamento medido. */
+    private static final String INICIO = "reintegrai.limite.inicio";
+    private static final String PROCESSAMENTO = "reintegrai.limite.processamento";
+
+    static {
+        for (Grupo grupo : Grupo.values()) {
+            LIMITES.put(grupo, LimiteConcorrencia.configurado(grupo.name().toLowerCase().replace('_', '-')));
+        }
+    }
+
+    /**
+     * Reserva uma vaga no limite do grupo da requisição.
+     *
+     * @param request requisição atual
+     * @param contexto contexto HTTP da requisição, usado para devolver a vaga quando a resposta termina
+     * @return {@code null} para seguir com a requisição, ou a resposta 503 se o limite foi atingido
+     */
+    @ServerRequestFilter
+    public Response limitar(ContainerRequestContext request, RoutingContext contexto) {
+        if (!HABILITADO) {
+            return null;
+        }
+        Grupo grupo = grupo(request.getMethod(), request.getUriInfo().getPath());
+        if (grupo == null) {
+            return null;
+        }
+        LimiteConcorrencia limite = LIMITES.get(grupo);
+        if (!limite.adquirir()) {
+            return ocupado();
+        }
+        contexto.put(INICIO, System.nanoTime());
+        contexto.addEndHandler(fim -> {
+            Long processamento = contexto.get(PROCESSAMENTO);
+            boolean falhou = contexto.response().getStatusCode() >= 500;
+            if (processamento != null) {
+                limite.liberar(processamento, falhou);
+            } else {
+                limite.devolver(falhou);
+            }
+        });
+        return null;
+    }
+
+    /**
+     * Monta a resposta 503 (Service Unavailable) com {@code Retry-After}, devolvida quando não há capacidade
+     * para atender a requisição.
+     *
+     * @return a resposta 503
+     */
+    static Response ocupado() {
+        return Response.status(Response.Status.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER)
+                .type(MediaType.TEXT_PLAIN)
+                .entity("Servidor ocupado, tente novamente em instantes.")
+                .build();
+    }
+
+    /**
+     * Registra o tempo de processamento da requisição, antes de o corpo da resposta ser escrito.
+     *
+     * @param resposta resposta devolvida pelo resource
+     * @param contexto contexto HTTP da requisição
+     */
+    @ServerResponseFilter
+    public void medir(ContainerResponseContext resposta, RoutingContext contexto) {
+        Long inicio = contexto.get(INICIO);
+        if (inicio == null || transmitida(resposta.getEntity())) {
+            return;
+        }
+        contexto.put(PROCESSAMENTO, System.nanoTime() - inicio);
+    }
+
+    private static boolean transmitida(Object entidade) {
+        return entidade instanceof StreamingOutput || entidade instanceof Multi<?> || entidade instanceof InputStream;
+    }
+
+    /**
+     * Identifica o grupo de uma requisição pelo método e pelo primeiro segmento do caminho.
+     *
+     * @param metodo  método HTTP
+     * @param caminho caminho da requisição
+     * @return o grupo, ou {@code null} se a rota não for limitada
+     */
+    static Grupo grupo(String metodo, String caminho) {
+        String[] segmentos = caminho.startsWith("/") ? caminho.substring(1).split("/") : caminho.split("/");
+        String recurso = segmentos[0];
+        if (recurso.equals(LeituraReativaResource.PREFIXO.substring(1)) && segmentos.length > 1) {
+            recurso = segmentos[1];
+        }
+        if (HttpMethod.OPTIONS.equals(metodo)) {
+            return null;
+        }
+        boolean leitura = HttpMethod.GET.equals(metodo) || HttpMethod.HEAD.equals(metodo);
+        return switch (recurso) {
+            case "trilha", "modulo", "sugestoes" -> leitura ? Grupo.CATALOGO : null;
+            case "progresso" -> leitura ? Grupo.LEITURA_PROGRESSO : Grupo.PROGRESSO;
+            case "painel" -> leitura ? Grupo.LEITURA_PROGRESSO : null;
+            case "usuario" -> Grupo.USUARIO;
+            case "trilhapersonalizada" -> Grupo.TRILHA_PERSONALIZADA;
+            default -> null;
+        };
+    }
+}
@@ -1,14 +1,28 @@
 package br.com.fiap.resource;
 
+import br.com.fiap.bo.BuscaPorIds;
+import br.com.fiap.bo.Paginacao;
 import br.com.fiap.bo.ModuloBO;
+import br.com.fiap.bo.Versoes;
+import br.com.fiap.to.PaginaTO;
+import br.com.fiap.to.ResultadoIdsTO;
 import br.com.fiap.to.ModuloTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.io.IOException;
 import java.sql.SQLException;
-import java.util.ArrayList;
 
 /**
  * <p>Classe Resource que expõe os endpoints REST para operações relacionadas a modulos.</p>
@@ -16,13 +30,18 @@ import java.util.ArrayList;
  *
  * Endpoints disponíveis:
  * <ul>
- *     <li>GET /modulo - Retorna todos os modulos</li>
+ *     <li>GET /modulo - Retorna todos os modulos (paginável com ?after=&amp;limit=); busca por IDs com ?ids=1,2,3</li>
+ *     <li>GET /modulo (Accept: application/x-ndjson) - Exporta todos os registros em NDJSON</li>
  *     <li>GET /modulo/{id_modulo} - Retorna modulo pelo ID</li>
+ *     <li>GET /modulo/trilha/{id_trilha} - Retorna os modulos de uma trilha</li>
  *     <li>POST /modulo - Cadastra uma nova modulo</li>
  *     <li>PUT /modulo/{id_modulo} - Atualiza modulo existente</li>
  *     <li>DELETE /modulo/{id_modulo} - Remove modulo pelo ID</li>
  * </ul>
  *
+ * <p>As leituras em JSON retornam {@code ETag} e {@code Cache-Control}; se o cliente enviar
+ * {@code If-None-Match} com a versão atual, a resposta é 304 (Not Modified), sem consulta ao banco.</p>
+ *
  * @author Lucas Barros Gouveia
  * @author Enzo Okuizumi Miranda de Souza
  * @author Milton Jakson de Souza Marcelino
@@ -30,50 +49,142 @@ import java.util.ArrayList;
  * @since 21.0.7
  */
 @Path("/modulo")
+@RunOnVirtualThread
 public class ModuloResource {
     private ModuloBO moduloBO = new ModuloBO();
 
+    /** JSON (e variantes comprimidas) da listagem completa, gerado uma vez por versão. */
+    private static final InstantaneoCatalogo LISTAGEM = new InstantaneoCatalogo();
+
+    /** Mapper JSON da aplicação, usado nas exportações em NDJSON e na listagem completa. */
+    @Inject
+    ObjectMapper mapper;
+
+    /** Quantidade de linhas lidas do banco por vez nas exportações. */
+    @ConfigProperty(name = "reintegrai.exportacao.fetch-size", defaultValue = "500")
+    int fetchSize;
+
+    /** Valor do cabeçalho Cache-Control das leituras do catálogo. */
+    @ConfigProperty(name = "reintegrai.http.cache-control.catalogo", defaultValue = "no-cache")
+    String cacheControl;
+
     /**
      * Retorna todos os modulos.
      *
-     * @return Response com status 200 (OK) e lista de {@link ModuloTO}, ou 404 se não houver dados.
+     * <p>Com {@code after} ou {@code limit} a resposta passa a ser uma {@link PaginaTO}, paginada
+     * por cursor; sem eles, a lista completa é retornada como antes. Com {@code ids} (por exemplo,
+     * {@code ?ids=1,2,3}), retorna apenas esses registros, na ordem pedida, em um {@link ResultadoIdsTO}.</p>
+     *
+     * <p>Para a listagem completa, os bytes do JSON (e as versões em gzip e brotli) são reaproveitados
+     * enquanto nenhum módulo for alterado.</p>
+     *
+     * @param ids lista de IDs separados por vírgula; ativa a busca por IDs
+     * @param after cursor da página anterior (ou último ID recebido); ativa a paginação
+     * @param limit quantidade de itens por página (padrão {@value Paginacao#LIMITE_PADRAO})
+     * @param acceptEncoding codificações aceitas pelo cliente ({@code gzip}, {@code br})
+     * @param request requisição atual, usada para avaliar o cabeçalho {@code If-None-Match}
+     * @return Response com status 200 (OK) e lista de {@link ModuloTO}, 304 (Not Modified) se a ETag
+     * informada ainda for a atual, ou 404 se não houver dados.
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Response findAll() {
-        ArrayList<ModuloTO> resultado = moduloBO.findAll();
-        Response.ResponseBuilder response = (resultado != null) ? Response.ok() : Response.status(404);
-        response.entity(resultado);
-        return response.build();
+    public Response findAll(@QueryParam("ids") String ids, @QueryParam("after") String after,
+                            @QueryParam("limit") Integer limit,
+                            @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding,
+                            @Context Request request) throws IOException {
+        long versao = Versoes.atual(Versoes.Entidade.MODULO);
+        EntityTag etag = CacheHttp.etag("modulo", versao);
+        Response naoModificado = CacheHttp.naoModificado(request, etag, cacheControl);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
+        if (ids != null) {
+            try {
+                ResultadoIdsTO<ModuloTO> resultado = moduloBO.findByIds(BuscaPorIds.ids(ids));
+                return resultado != null ? CacheHttp.ok(resultado, etag, cacheControl) : Response.status(500).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+            }
+        }
+        if (after != null || limit != null) {
+            try {
+                PaginaTO<ModuloTO> pagina = moduloBO.findPage(Paginacao.cursor(after), Paginacao.limite(limit));
+                return pagina != null ? CacheHttp.ok(pagina, etag, cacheControl) : Response.status(500).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+            }
+        }
+        // lista vazia continua sendo 200 nos módulos; só o erro do DAO (null) vira 404
+        return LISTAGEM.responder(mapper, versao, moduloBO::findAll,
+                lista -> lista != null ? CacheHttp.ok(lista, etag, cacheControl) : Response.status(404).build(),
+                request, acceptEncoding, etag, cacheControl);
+    }
+
+    /**
+     * Exporta todos os modulos em NDJSON (um objeto JSON por linha), selecionado pelo cabeçalho
+     * {@code Accept: application/x-ndjson}.
+     *
+     * <p>As linhas seguem do banco para a resposta sem montar a lista em memória.</p>
+     *
+     * @return Response com status 200 (OK) e o corpo transmitido em partes.
+     */
+    @GET
+    @Produces(RespostaNdjson.NDJSON)
+    public Response exportar() {
+        return RespostaNdjson.de(mapper, fetchSize, moduloBO::exportar);
     }
 
     /**
      * Busca modulo pelo ID.
      *
      * @param codigo ID do modulo.
-     * @return Response com status 200 (OK) e {@link ModuloTO}, ou 404 se não encontrado.
+     * @param request requisição atual, usada para avaliar o cabeçalho {@code If-None-Match}
+     * @return Response com status 200 (OK) e {@link ModuloTO}, 304 (Not Modified) se a ETag ainda for a atual, ou 404 se não encontrado.
      */
     @GET
     @Path("/{id_modulo}")
     @Produces(MediaType.APPLICATION_JSON)
-    public Response findByCodigo(@PathParam("id_modulo") Long codigo) throws SQLException {
+    public Response findByCodigo(@PathParam("id_modulo") Long codigo, @Context Request request) throws SQLException {
+        EntityTag etag = CacheHttp.etag("modulo", Versoes.atual(Versoes.Entidade.MODULO));
+        Response naoModificado = CacheHttp.naoModificado(request, etag, cacheControl);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
         ModuloTO resultado = moduloBO.findByCodigo(codigo);
-        Response.ResponseBuilder response = (resultado != null) ? Response.ok() : Response.status(404);
-        response.entity(resultado);
-        return response.build();
+        if (resultado != null) {
+            return CacheHttp.ok(resultado, etag, cacheControl);
+        }
+        return Response.status(404).build();
+    }
+
+    /**
+     * Busca os módulos de uma trilha.
+     *
+     * @param idTrilha ID da trilha.
+     * @return Response com status 200 (OK) e lista de {@link ModuloTO} da trilha (vazia se não houver módulos).
+     */
+    @GET
+    @Path("/trilha/{id_trilha}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response findByTrilha(@PathParam("id_trilha") Long idTrilha) {
+        return Response.ok(moduloBO.findByTrilha(idTrilha)).build();
     }
 
     /**
      * Cadastra uma nova modulo.
      *
      * @param modulo {@link ModuloTO} com os dados do modulo.
-     * @return Response com status 201 (CREATED) e {@link ModuloTO}, ou 400 se falhar.
+     * @param uriInfo dados da requisição, usados para montar o cabeçalho {@code Location}.
+     * @return Response com status 201 (CREATED), cabeçalho Location e {@link ModuloTO}, ou 400 se falhar.
      */
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
-    public Response save(@Valid ModuloTO modulo) {
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response save(@Valid ModuloTO modulo, @Context UriInfo uriInfo) {
         ModuloTO resultado = moduloBO.save(modulo);
-        Response.ResponseBuilder response = (resultado != null) ? Response.created(null) : Response.status(400);
+        Response.ResponseBuilder response = (resultado != null)
+                ? Response.created(uriInfo.getAbsolutePathBuilder().path(String.valueOf(resultado.getIdModulo())).build())
+                : Response.status(400);
         response.entity(resultado);
         return response.build();
     }
@@ -87,6 +198,7 @@ public class ModuloResource {
      */
     @PUT
     @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
     @Path("/{id_modulo}")
     public Response update(@Valid ModuloTO modulo, @PathParam("id_modulo") Long idModulo) {
         modulo.setIdModulo(idModulo);
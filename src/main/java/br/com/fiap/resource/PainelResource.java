@@ -0,0 +1,70 @@
+package br.com.fiap.resource;
+
+import br.com.fiap.bo.PainelBO;
+import br.com.fiap.bo.Versoes;
+import br.com.fiap.to.PainelTO;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
+import jakarta.ws.rs.core.Response;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * <p>Classe Resource que expõe o painel de aprendizado dos usuários.</p>
+ * <p>Utiliza a {@link PainelBO} para manipulação de dados.</p>
+ *
+ * Endpoints disponíveis:
+ * <ul>
+ * <li>GET /painel/usuario/{id_user} - Retorna, por trilha, os módulos concluídos, a média de status,
+ * o último módulo trabalhado e a conclusão, além da conclusão geral</li>
+ * </ul>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+@Path("/painel")
+@RunOnVirtualThread
+public class PainelResource {
+    private PainelBO painelBO = new PainelBO();
+
+    /** Valor do cabeçalho Cache-Control do painel, que é dado do usuário. */
+    @ConfigProperty(name = "reintegrai.http.cache-control.progresso", defaultValue = "private, no-cache")
+    String cacheControl;
+
+    /**
+     * Retorna o painel de aprendizado de um usuário.
+     *
+     * <p>A ETag muda com o progresso do usuário e com as escritas de trilhas e módulos, que alteram
+     * os totais de cada trilha.</p>
+     *
+     * @param idUser ID do usuário.
+     * @param request requisição atual, usada para avaliar o cabeçalho {@code If-None-Match}
+     * @return Response com status 200 (OK) e {@link PainelTO}, 304 (Not Modified) se a ETag ainda for a atual,
+     * ou 500 se não foi possível consultar o banco.
+     */
+    @GET
+    @Path("/usuario/{id_user}")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response findByUserId(@PathParam("id_user") Long idUser, @Context Request request) {
+        EntityTag etag = CacheHttp.etag("painel-" + idUser, Versoes.progressoDoUsuario(idUser)
+                + Versoes.atual(Versoes.Entidade.TRILHA) + Versoes.atual(Versoes.Entidade.MODULO));
+        Response naoModificado = CacheHttp.naoModificado(request, etag, cacheControl);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
+        PainelTO resultado = painelBO.findByUserId(idUser);
+        if (resultado != null) {
+            return CacheHttp.ok(resultado, etag, cacheControl);
+        }
+        return Response.status(500).build();
+    }
+}
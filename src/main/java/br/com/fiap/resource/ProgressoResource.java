@@ -1,14 +1,34 @@
 package br.com.fiap.resource;
 
+import br.com.fiap.bo.BuscaPorIds;
+import br.com.fiap.bo.Paginacao;
 import br.com.fiap.bo.ProgressoBO;
+import br.com.fiap.bo.Versoes;
+import br.com.fiap.to.PaginaTO;
+import br.com.fiap.to.ResultadoIdsTO;
 import br.com.fiap.to.ProgressoTO;
+import br.com.fiap.to.ResultadoLoteTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * <p>Classe Resource que expõe os endpoints REST para operações relacionadas a progressos.</p>
@@ -16,10 +36,15 @@ import java.util.ArrayList;
  *
  * Endpoints disponíveis:
  * <ul>
- *     <li>GET /progresso - Retorna todos os progressos</li>
+ *     <li>GET /progresso - Retorna todos os progressos (paginável com ?after=&amp;limit=); busca por IDs com ?ids=1,2,3</li>
+ *     <li>GET /progresso (Accept: application/x-ndjson) - Exporta todos os registros em NDJSON</li>
  *     <li>GET /progresso/{id_progresso} - Retorna progresso pelo ID</li>
+ *     <li>GET /progresso/usuario/{id_user} - Retorna os progressos do usuário (com ETag)</li>
  *     <li>POST /progresso - Cadastra uma nova progresso</li>
+ *     <li>POST /progresso/batch - Cadastra ou atualiza vários progressos em uma única transação</li>
  *     <li>PUT /progresso/{id_progresso} - Atualiza progresso existente</li>
+ *     <li>PUT /progresso/usuario/{id_user}/modulo/{id_modulo} - Cadastra ou atualiza o progresso do usuário
+ *     no módulo (?manterMaior=true impede que o status retroceda)</li>
  *     <li>DELETE /progresso/{id_progresso} - Remove progresso pelo ID</li>
  * </ul>
  *
@@ -30,23 +55,74 @@ import java.util.ArrayList;
  * @since 21.0.7
  */
 @Path("/progresso")
+@RunOnVirtualThread
 public class ProgressoResource {
     private ProgressoBO progressoBO = new ProgressoBO();
 
+    /** Mapper JSON da aplicação, usado nas exportações em NDJSON. */
+    @Inject
+    ObjectMapper mapper;
+
+    /** Quantidade de linhas lidas do banco por vez nas exportações. */
+    @ConfigProperty(name = "reintegrai.exportacao.fetch-size", defaultValue = "500")
+    int fetchSize;
+
+    /** Valor do cabeçalho Cache-Control das leituras de progresso por usuário. */
+    @ConfigProperty(name = "reintegrai.http.cache-control.progresso", defaultValue = "private, no-cache")
+    String cacheControl;
+
     /**
      * Retorna todos os progressos.
      *
+     * <p>Com {@code after} ou {@code limit} a resposta passa a ser uma {@link PaginaTO}, paginada
+     * por cursor; sem eles, a lista completa é retornada como antes. Com {@code ids} (por exemplo,
+     * {@code ?ids=1,2,3}), retorna apenas esses registros, na ordem pedida, em um {@link ResultadoIdsTO}.</p>
+     *
+     * @param ids lista de IDs separados por vírgula; ativa a busca por IDs
+     * @param after cursor da página anterior (ou último ID recebido); ativa a paginação
+     * @param limit quantidade de itens por página (padrão {@value Paginacao#LIMITE_PADRAO})
      * @return Response com status 200 (OK) e lista de {@link ProgressoTO}, ou 404 se não houver dados.
      */
     @GET
-    @Produces(MediaType.APPLICATION_JSON)
-    public Response findAll() {
+    @Produces({MediaType.APPLICATION_JSON, CorpoCbor.CBOR})
+    public Response findAll(@QueryParam("ids") String ids, @QueryParam("after") String after,
+                            @QueryParam("limit") Integer limit) {
+        if (ids != null) {
+            try {
+                ResultadoIdsTO<ProgressoTO> resultado = progressoBO.findByIds(BuscaPorIds.ids(ids));
+                return resultado != null ? Response.ok(resultado).build() : Response.status(500).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+            }
+        }
+        if (after != null || limit != null) {
+            try {
+                PaginaTO<ProgressoTO> pagina = progressoBO.findPage(Paginacao.cursor(after), Paginacao.limite(limit));
+                return pagina != null ? Response.ok(pagina).build() : Response.status(500).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+            }
+        }
         ArrayList<ProgressoTO> resultado = progressoBO.findAll();
         Response.ResponseBuilder response = (resultado != null) ? Response.ok() : Response.status(404);
         response.entity(resultado);
         return response.build();
     }
 
+    /**
+     * Exporta todos os progressos em NDJSON (um objeto JSON por linha), selecionado pelo cabeçalho
+     * {@code Accept: application/x-ndjson}.
+     *
+     * <p>As linhas seguem do banco para a resposta sem montar a lista em memória.</p>
+     *
+     * @return Response com status 200 (OK) e o corpo transmitido em partes.
+     */
+    @GET
+    @Produces(RespostaNdjson.NDJSON)
+    public Response exportar() {
+        return RespostaNdjson.de(mapper, fetchSize, progressoBO::exportar);
+    }
+
     /**
      * Busca progresso pelo ID.
      *
@@ -55,7 +131,7 @@ public class ProgressoResource {
      */
     @GET
     @Path("/{id_progresso}")
-    @Produces(MediaType.APPLICATION_JSON)
+    @Produces({MediaType.APPLICATION_JSON, CorpoCbor.CBOR})
     public Response findByCodigo(@PathParam("id_progresso") Long codigo) throws SQLException {
         ProgressoTO resultado = progressoBO.findByCodigo(codigo);
         Response.ResponseBuilder response = (resultado != null) ? Response.ok() : Response.status(404);
@@ -66,32 +142,113 @@ public class ProgressoResource {
     /**
      * Busca progressos pelo ID do usuário.
      *
+     * <p>A ETag acompanha apenas as alterações de progresso do próprio usuário, de modo que
+     * escritas de outros usuários não invalidam a cópia do cliente.</p>
+     *
      * @param idUser ID do usuário.
-     * @return Response 200 (OK) com a lista de progressos, ou 404 (Not Found)
-     * se o usuário não tiver progressos.
+     * @param request requisição atual, usada para avaliar o cabeçalho {@code If-None-Match}
+     * @param cabecalhos cabeçalhos da requisição, usados para escolher a ETag da representação
+     * @return Response 200 (OK) com a lista de progressos, 304 (Not Modified) se a ETag ainda for
+     * a atual, ou 404 (Not Found) se o usuário não tiver progressos.
      */
     @GET
     @Path("/usuario/{id_user}")
-    @Produces(MediaType.APPLICATION_JSON)
-    public Response findByUserId(@PathParam("id_user") Long idUser) throws SQLException {
+    @Produces({MediaType.APPLICATION_JSON, CorpoCbor.CBOR})
+    public Response findByUserId(@PathParam("id_user") Long idUser, @Context Request request,
+                                 @Context HttpHeaders cabecalhos) throws SQLException {
+        EntityTag etag = CacheHttp.etag("progresso-" + idUser, Versoes.progressoDoUsuario(idUser), cabecalhos);
+        Response naoModificado = CacheHttp.naoModificado(request, etag, cacheControl);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
         ArrayList<ProgressoTO> resultado = progressoBO.findByUserId(idUser);
 
-        Response.ResponseBuilder response = (resultado != null && !resultado.isEmpty()) ? Response.ok() : Response.status(404);
-        response.entity(resultado);
-        return response.build();
+        if (resultado != null && !resultado.isEmpty()) {
+            return CacheHttp.ok(resultado, etag, cacheControl);
+        }
+        return Response.status(404).entity(resultado).build();
     }
 
     /**
      * Cadastra uma nova progresso.
      *
      * @param progresso {@link ProgressoTO} com os dados do progresso.
-     * @return Response com status 201 (CREATED) e {@link ProgressoTO}, ou 400 se falhar.
+     * @param uriInfo dados da requisição, usados para montar o cabeçalho {@code Location}.
+     * @return Response com status 201 (CREATED), cabeçalho Location e {@link ProgressoTO}, ou 400 se falhar.
      */
     @POST
-    @Consumes(MediaType.APPLICATION_JSON)
-    public Response save(@Valid ProgressoTO progresso) {
+    @Consumes({MediaType.APPLICATION_JSON, CorpoCbor.TIPO})
+    @Produces({MediaType.APPLICATION_JSON, CorpoCbor.CBOR})
+    public Response save(@Valid ProgressoTO progresso, @Context UriInfo uriInfo) {
         ProgressoTO resultado = progressoBO.save(progresso);
-        Response.ResponseBuilder response = (resultado != null) ? Response.created(null) : Response.status(400);
+        Response.ResponseBuilder response = (resultado != null)
+                ? Response.created(uriInfo.getAbsolutePathBuilder().path(String.valueOf(resultado.getIdProgresso())).build())
+                : Response.status(400);
+        response.entity(resultado);
+        return response.build();
+    }
+
+    /**
+     * Grava o progresso de um usuário em um módulo, criando o registro se ele ainda não existir.
+     *
+     * <p>Dispensa a consulta prévia por {@code GET /progresso/usuario/{id_user}}: a gravação é feita
+     * por um único {@code MERGE} na chave ({@code id_user}, {@code id_modulo}). O usuário e o módulo
+     * vêm da URL; do corpo, apenas o {@code status} é usado, e ele é obrigatório: um corpo sem
+     * {@code status} é recusado, em vez de zerar o progresso.</p>
+     *
+     * @param progresso {@link ProgressoTO} com o status do progresso.
+     * @param idUser ID do usuário.
+     * @param idModulo ID do módulo.
+     * @param manterMaior se {@code true}, mantém o status atual quando ele for maior que o enviado.
+     * @return Response com status 200 (OK) e {@link ProgressoTO} como ficou gravado, ou 400 se o status
+     * estiver ausente ou fora do intervalo, ou se a gravação falhar.
+     */
+    @PUT
+    @Path("/usuario/{id_user}/modulo/{id_modulo}")
+    @Consumes({MediaType.APPLICATION_JSON, CorpoCbor.TIPO})
+    @Produces({MediaType.APPLICATION_JSON, CorpoCbor.CBOR})
+    public Response upsert(ProgressoTO progresso, @PathParam("id_user") Long idUser,
+                           @PathParam("id_modulo") Long idModulo,
+                           @QueryParam("manterMaior") @DefaultValue("false") boolean manterMaior) {
+        if (progresso == null || progresso.getStatus() == null) {
+            return Response.status(400).entity("O status é obrigatório.").build();
+        }
+        if (progresso.getStatus() < 0 || progresso.getStatus() > 100) {
+            return Response.status(400).entity("O status deve estar entre 0 e 100.").build();
+        }
+        progresso.setIdProgresso(null);
+        progresso.setIdUser(idUser);
+        progresso.setIdModulo(idModulo);
+        ProgressoTO resultado = progressoBO.upsert(progresso, manterMaior);
+        Response.ResponseBuilder response = (resultado != null) ? Response.ok() : Response.status(400);
+        response.entity(resultado);
+        return response.build();
+    }
+
+    /**
+     * Cadastra ou atualiza vários progressos em uma única requisição.
+     *
+     * <p>Itens sem {@code idProgresso} são inseridos e os demais atualizados. Todos são validados antes
+     * da gravação e gravados em uma única transação, com uma ida ao banco por tipo de operação: ou todos
+     * são gravados, ou nenhum é.</p>
+     *
+     * @param progressos lista de {@link ProgressoTO} (até {@value ProgressoBO#LIMITE_LOTE} itens).
+     * @return Response com status 200 (OK) e o resultado de cada item (os inseridos já com o ID gerado), 400 com
+     * os resultados se algum item não pôde ser gravado, ou 500 se não foi possível acessar o banco.
+     */
+    @POST
+    @Path("/batch")
+    @Consumes({MediaType.APPLICATION_JSON, CorpoCbor.TIPO})
+    @Produces({MediaType.APPLICATION_JSON, CorpoCbor.CBOR})
+    public Response saveLote(@NotEmpty @Size(max = ProgressoBO.LIMITE_LOTE) List<@Valid @NotNull ProgressoTO> progressos) {
+        List<ResultadoLoteTO> resultado = progressoBO.saveLote(progressos);
+        if (resultado == null) {
+            return Response.status(500).build();
+        }
+        boolean gravado = resultado.stream()
+                .allMatch(item -> ResultadoLoteTO.INSERIDO.equals(item.getSituacao())
+                        || ResultadoLoteTO.ATUALIZADO.equals(item.getSituacao()));
+        Response.ResponseBuilder response = gravado ? Response.ok() : Response.status(400);
         response.entity(resultado);
         return response.build();
     }
@@ -101,17 +258,26 @@ public class ProgressoResource {
      *
      * @param progresso {@link ProgressoTO} com dados atualizados.
      * @param idProgresso ID do progresso a ser atualizado.
-     * @return Response com status 201 (CREATED) e {@link ProgressoTO}, ou 400 se falhar.
+     * @return Response com status 201 (CREATED) e {@link ProgressoTO}, 404 se o progresso não existir, ou 400
+     * se o usuário ou o módulo não existirem.
+     * @throws SQLException se ocorrer erro no banco, respondido com status 500
      */
     @PUT
-    @Consumes(MediaType.APPLICATION_JSON)
+    @Consumes({MediaType.APPLICATION_JSON, CorpoCbor.TIPO})
+    @Produces({MediaType.APPLICATION_JSON, CorpoCbor.CBOR})
     @Path("/{id_progresso}")
-    public Response update(@Valid ProgressoTO progresso, @PathParam("id_progresso") Long idProgresso) {
+    public Response update(@Valid ProgressoTO progresso, @PathParam("id_progresso") Long idProgresso) throws SQLException {
         progresso.setIdProgresso(idProgresso);
-        ProgressoTO resultado = progressoBO.update(progresso);
-        Response.ResponseBuilder response = (resultado != null) ? Response.created(null) : Response.status(400);
-        response.entity(resultado);
-        return response.build();
+        ProgressoTO resultado;
+        try {
+            resultado = progressoBO.update(progresso);
+        } catch (SQLIntegrityConstraintViolationException e) {
+            return Response.status(400).build();
+        }
+        if (resultado == null) {
+            return Response.status(404).build();
+        }
+        return Response.created(null).entity(resultado).build();
     }
 
     /**
@@ -0,0 +1,73 @@
+package br.com.fiap.resource;
+
+import br.com.fiap.dao.ConsumidorLinha;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * <p>Monta respostas NDJSON (um objeto JSON por linha) transmitidas diretamente a partir do banco.</p>
+ *
+ * <p>Cada linha do {@link java.sql.ResultSet} é serializada e escrita na saída HTTP assim que é lida, e a
+ * saída é descarregada a cada {@code fetchSize} linhas. Como a escrita bloqueia quando o cliente não consome
+ * os dados, o ritmo de leitura do banco acompanha o do cliente, e a memória usada é constante.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+final class RespostaNdjson {
+
+    /** Tipo de mídia NDJSON. A qualidade menor mantém o JSON como padrão quando o cliente aceita qualquer tipo. */
+    static final String NDJSON = "application/x-ndjson;qs=0.5";
+
+    private RespostaNdjson() {
+    }
+
+    /**
+     * Operação que percorre uma tabela entregando cada linha a um consumidor.
+     *
+     * @param <T> tipo dos itens exportados
+     */
+    @FunctionalInterface
+    interface Exportacao<T> {
+        void exportar(int fetchSize, ConsumidorLinha<T> consumidor) throws SQLException, IOException;
+    }
+
+    /**
+     * Cria a resposta NDJSON para uma exportação.
+     *
+     * @param mapper    {@link ObjectMapper} da aplicação
+     * @param fetchSize quantidade de linhas lidas do banco por vez e intervalo entre descargas da saída
+     * @param exportacao operação que percorre a tabela
+     * @param <T>       tipo dos itens exportados
+     * @return Response 200 (OK) com o corpo transmitido em partes
+     */
+    static <T> Response de(ObjectMapper mapper, int fetchSize, Exportacao<T> exportacao) {
+        ObjectWriter writer = mapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingOutput corpo = out -> {
+            try (JsonGenerator gen = writer.createGenerator(out)) {
+                gen.setRootValueSeparator(null);
+                int[] linhas = {0};
+                exportacao.exportar(fetchSize, item -> {
+                    writer.writeValue(gen, item);
+                    gen.writeRaw('\n');
+                    if (++linhas[0] % fetchSize == 0) {
+                        gen.flush();
+                    }
+                });
+            } catch (SQLException e) {
+                throw new IOException("Erro na exportação: " + e.getMessage(), e);
+            }
+        };
+        return Response.ok(corpo, "application/x-ndjson").build();
+    }
+}
@@ -0,0 +1,65 @@
+package br.com.fiap.resource;
+
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.PreMatching;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.ext.Provider;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.regex.Pattern;
+
+/**
+ * <p>Escolhe entre o modo de leitura bloqueante e o reativo, conforme {@code reintegrai.dados.modo}.</p>
+ *
+ * <p>No modo {@code reativo}, antes da escolha do método, as requisições GET para a listagem simples de
+ * trilhas, a busca de modulo por ID e os progressos de um usuário são redirecionadas internamente para o
+ * {@link LeituraReativaResource}. As demais requisições, inclusive a listagem de trilhas com
+ * {@code ?ids=}, paginação ou NDJSON, e as pedidas em CBOR continuam no resource original. A listagem
+ * de trilhas redirecionada responde pelo cache do BO, sem a cópia pré-serializada e comprimida de
+ * {@link InstantaneoCatalogo}. No modo padrão
+ * ({@code bloqueante}) nada é alterado.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+@Provider
+@PreMatching
+public class RoteadorLeituraReativa implements ContainerRequestFilter {
+
+    /** Caminhos com versão reativa. */
+    private static final Pattern ROTAS = Pattern.compile("/trilha|/modulo/\\d+|/progresso/usuario/\\d+");
+
+    /** Modo de acesso ao banco nas leituras: {@code bloqueante} ou {@code reativo}. */
+    @ConfigProperty(name = "reintegrai.dados.modo", defaultValue = "bloqueante")
+    String modo;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if (!"reativo".equals(modo) || !HttpMethod.GET.equals(request.getMethod())) {
+            return;
+        }
+        String caminho = request.getUriInfo().getPath();
+        if (!caminho.startsWith("/")) {
+            caminho = "/" + caminho;
+        }
+        if (!ROTAS.matcher(caminho).matches()) {
+            return;
+        }
+        String accept = request.getHeaderString(HttpHeaders.ACCEPT);
+        if (accept != null && accept.contains("cbor")) {
+            return;
+        }
+        if (caminho.equals("/trilha")
+                && (!request.getUriInfo().getQueryParameters().isEmpty()
+                || (accept != null && accept.contains("x-ndjson")))) {
+            return;
+        }
+        request.setRequestUri(request.getUriInfo().getRequestUriBuilder()
+                .replacePath(LeituraReativaResource.PREFIXO + caminho).build());
+    }
+}
@@ -1,12 +1,27 @@
 package br.com.fiap.resource;
 
+import br.com.fiap.bo.BuscaPorIds;
+import br.com.fiap.bo.Paginacao;
 import br.com.fiap.bo.SugestoesBO;
+import br.com.fiap.bo.Versoes;
+import br.com.fiap.to.PaginaTO;
+import br.com.fiap.to.ResultadoIdsTO;
 import br.com.fiap.to.SugestoesTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
 
@@ -16,13 +31,17 @@ import java.util.ArrayList;
  *
  * Endpoints disponíveis:
  * <ul>
- * <li>GET /sugestoes - Retorna todas as sugestões</li>
+ * <li>GET /sugestoes - Retorna todas as sugestões (paginável com ?after=&amp;limit=); busca por IDs com ?ids=1,2,3</li>
+ * <li>GET /sugestoes (Accept: application/x-ndjson) - Exporta todos os registros em NDJSON</li>
  * <li>GET /sugestoes/{id_sugestao} - Retorna sugestão pelo ID</li>
  * <li>POST /sugestoes - Cadastra uma nova sugestão</li>
  * <li>PUT /sugestoes/{id_sugestao} - Atualiza sugestão existente</li>
  * <li>DELETE /sugestoes/{id_sugestao} - Remove sugestão pelo ID</li>
  * </ul>
  *
+ * <p>As leituras em JSON retornam {@code ETag} e {@code Cache-Control}; se o cliente enviar
+ * {@code If-None-Match} com a versão atual, a resposta é 304 (Not Modified), sem consulta ao banco.</p>
+ *
  * @author Lucas Barros Gouveia
  * @author Enzo Okuizumi Miranda de Souza
  * @author Milton Jakson de Souza Marcelino
@@ -30,50 +49,159 @@ import java.util.ArrayList;
  * @since 21.0.7
  */
 @Path("/sugestoes")
+@RunOnVirtualThread
 public class SugestoesResource {
     private SugestoesBO sugestoesBO = new SugestoesBO();
 
+    /** JSON (e variantes comprimidas) da listagem completa, gerado uma vez por versão. */
+    private static final InstantaneoCatalogo LISTAGEM = new InstantaneoCatalogo();
+
+    /** Mapper JSON da aplicação, usado nas exportações em NDJSON e na listagem completa. */
+    @Inject
+    ObjectMapper mapper;
+
+    /** Quantidade de linhas lidas do banco por vez nas exportações. */
+    @ConfigProperty(name = "reintegrai.exportacao.fetch-size", defaultValue = "500")
+    int fetchSize;
+
+    /** Valor do cabeçalho Cache-Control das leituras do catálogo. */
+    @ConfigProperty(name = "reintegrai.http.cache-control.catalogo", defaultValue = "no-cache")
+    String cacheControl;
+
     /**
      * Retorna todas as sugestões.
      *
-     * @return Response com status 200 (OK) e lista de {@link SugestoesTO}, ou 404 se não houver dados.
+     * <p>Com {@code after} ou {@code limit} a resposta passa a ser uma {@link PaginaTO}, paginada
+     * por cursor; sem eles, a lista completa é retornada como antes. Com {@code ids} (por exemplo,
+     * {@code ?ids=1,2,3}), retorna apenas esses registros, na ordem pedida, em um {@link ResultadoIdsTO}.</p>
+     *
+     * <p>A listagem completa é respondida com o JSON já serializado da versão atual, comprimido conforme o
+     * cabeçalho {@code Accept-Encoding}.</p>
+     *
+     * @param ids lista de IDs separados por vírgula; ativa a busca por IDs
+     * @param after cursor da página anterior (ou último ID recebido); ativa a paginação
+     * @param limit quantidade de itens por página (padrão {@value Paginacao#LIMITE_PADRAO})
+     * @param acceptEncoding codificações aceitas pelo cliente ({@code gzip}, {@code br})
+     * @param request requisição atual, usada para avaliar o cabeçalho {@code If-None-Match}
+     * @return Response com status 200 (OK) e lista de {@link SugestoesTO}, 304 (Not Modified) se a ETag
+     * informada ainda for a atual, ou 404 se não houver dados.
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Response findAll() {
-        ArrayList<SugestoesTO> resultado = sugestoesBO.findAll();
-        Response.ResponseBuilder response = (resultado != null && !resultado.isEmpty()) ? Response.ok() : Response.status(404);
-        response.entity(resultado);
-        return response.build();
+    public Response findAll(@QueryParam("ids") String ids, @QueryParam("after") String after,
+                            @QueryParam("limit") Integer limit,
+                            @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding,
+                            @Context Request request) throws IOException {
+        return listar(ids, after, limit, acceptEncoding, request, false);
+    }
+
+    /**
+     * Retorna todas as sugestões em CBOR, selecionado pelo cabeçalho {@code Accept: application/cbor}, com
+     * os mesmos parâmetros de {@link #findAll}. A listagem completa é serializada a cada requisição, pois a
+     * cópia pronta existe apenas em JSON.
+     *
+     * @param ids lista de IDs separados por vírgula; ativa a busca por IDs
+     * @param after cursor da página anterior (ou último ID recebido); ativa a paginação
+     * @param limit quantidade de itens por página (padrão {@value Paginacao#LIMITE_PADRAO})
+     * @param request requisição atual, usada para avaliar o cabeçalho {@code If-None-Match}
+     * @return as mesmas respostas de {@link #findAll}, com o corpo em CBOR.
+     */
+    @GET
+    @Produces(CorpoCbor.CBOR)
+    public Response findAllCbor(@QueryParam("ids") String ids, @QueryParam("after") String after,
+                                @QueryParam("limit") Integer limit, @Context Request request) throws IOException {
+        return listar(ids, after, limit, null, request, true);
+    }
+
+    private Response listar(String ids, String after, Integer limit, String acceptEncoding, Request request,
+                            boolean cbor) throws IOException {
+        long versao = Versoes.atual(Versoes.Entidade.SUGESTOES);
+        EntityTag etag = CacheHttp.etag("sugestoes", versao, cbor);
+        Response naoModificado = CacheHttp.naoModificado(request, etag, cacheControl);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
+        if (ids != null) {
+            try {
+                ResultadoIdsTO<SugestoesTO> resultado = sugestoesBO.findByIds(BuscaPorIds.ids(ids));
+                return resultado != null ? CacheHttp.ok(resultado, etag, cacheControl) : Response.status(500).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+            }
+        }
+        if (after != null || limit != null) {
+            try {
+                PaginaTO<SugestoesTO> pagina = sugestoesBO.findPage(Paginacao.cursor(after), Paginacao.limite(limit));
+                return pagina != null ? CacheHttp.ok(pagina, etag, cacheControl) : Response.status(500).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+            }
+        }
+        if (cbor) {
+            ArrayList<SugestoesTO> resultado = sugestoesBO.findAll();
+            if (resultado != null && !resultado.isEmpty()) {
+                return CacheHttp.ok(resultado, etag, cacheControl);
+            }
+            return Response.status(404).build();
+        }
+        return LISTAGEM.responder(mapper, versao, sugestoesBO::findAll, lista -> Response.status(404).entity(lista).build(),
+                request, acceptEncoding, etag, cacheControl);
+    }
+
+    /**
+     * Exporta todas as sugestões em NDJSON (um objeto JSON por linha), selecionado pelo cabeçalho
+     * {@code Accept: application/x-ndjson}.
+     *
+     * <p>As linhas seguem do banco para a resposta sem montar a lista em memória.</p>
+     *
+     * @return Response com status 200 (OK) e o corpo transmitido em partes.
+     */
+    @GET
+    @Produces(RespostaNdjson.NDJSON)
+    public Response exportar() {
+        return RespostaNdjson.de(mapper, fetchSize, sugestoesBO::exportar);
     }
 
     /**
      * Busca sugestão pelo ID.
      *
      * @param codigo ID da sugestão.
-     * @return Response com status 200 (OK) e {@link SugestoesTO}, ou 404 se não encontrada.
+     * @param request requisição atual, usada para avaliar o cabeçalho {@code If-None-Match}
+     * @param cabecalhos cabeçalhos da requisição, usados para escolher a ETag da representação
+     * @return Response com status 200 (OK) e {@link SugestoesTO}, 304 (Not Modified) se a ETag ainda for a atual, ou 404 se não encontrada.
      */
     @GET
     @Path("/{id_sugestao}")
-    @Produces(MediaType.APPLICATION_JSON)
-    public Response findByCodigo(@PathParam("id_sugestao") Long codigo) throws SQLException {
+    @Produces({MediaType.APPLICATION_JSON, CorpoCbor.CBOR})
+    public Response findByCodigo(@PathParam("id_sugestao") Long codigo, @Context Request request,
+                                 @Context HttpHeaders cabecalhos) throws SQLException {
+        EntityTag etag = CacheHttp.etag("sugestoes", Versoes.atual(Versoes.Entidade.SUGESTOES), cabecalhos);
+        Response naoModificado = CacheHttp.naoModificado(request, etag, cacheControl);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
         SugestoesTO resultado = sugestoesBO.findByCodigo(codigo);
-        Response.ResponseBuilder response = (resultado != null) ? Response.ok() : Response.status(404);
-        response.entity(resultado);
-        return response.build();
+        if (resultado != null) {
+            return CacheHttp.ok(resultado, etag, cacheControl);
+        }
+        return Response.status(404).build();
     }
 
     /**
      * Cadastra uma nova sugestão.
      *
      * @param sugestao {@link SugestoesTO} com os dados da sugestão.
-     * @return Response com status 201 (CREATED) e {@link SugestoesTO}, ou 400 se falhar.
+     * @param uriInfo dados da requisição, usados para montar o cabeçalho {@code Location}.
+     * @return Response com status 201 (CREATED), cabeçalho Location e {@link SugestoesTO}, ou 400 se falhar.
      */
     @POST
-    @Consumes(MediaType.APPLICATION_JSON)
-    public Response save(@Valid SugestoesTO sugestao) {
+    @Consumes({MediaType.APPLICATION_JSON, CorpoCbor.TIPO})
+    @Produces({MediaType.APPLICATION_JSON, CorpoCbor.CBOR})
+    public Response save(@Valid SugestoesTO sugestao, @Context UriInfo uriInfo) {
         SugestoesTO resultado = sugestoesBO.save(sugestao);
-        Response.ResponseBuilder response = (resultado != null) ? Response.created(null) : Response.status(400);
+        Response.ResponseBuilder response = (resultado != null)
+                ? Response.created(uriInfo.getAbsolutePathBuilder().path(String.valueOf(resultado.getIdSugestoes())).build())
+                : Response.status(400);
         response.entity(resultado);
         return response.build();
     }
@@ -86,7 +214,8 @@ public class SugestoesResource {
      * @return Response com status 201 (CREATED) e {@link SugestoesTO}, ou 400 se falhar.
      */
     @PUT
-    @Consumes(MediaType.APPLICATION_JSON)
+    @Consumes({MediaType.APPLICATION_JSON, CorpoCbor.TIPO})
+    @Produces({MediaType.APPLICATION_JSON, CorpoCbor.CBOR})
     @Path("/{id_sugestao}")
     public Response update(@Valid SugestoesTO sugestao, @PathParam("id_sugestao") Long idSugestao) {
         sugestao.setIdSugestoes(idSugestao);
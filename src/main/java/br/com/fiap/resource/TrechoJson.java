@@ -0,0 +1,74 @@
+package br.com.fiap.resource;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * <p>Localiza um trecho de um documento JSON, indicado por um JSON Pointer (RFC 6901), lendo o documento em
+ * fluxo.</p>
+ *
+ * <p>Os valores fora do caminho são pulados pelo parser sem serem montados, então a memória usada não depende
+ * do tamanho do documento. Depois de {@link #posicionar}, o parser fica no primeiro token do trecho, pronto
+ * para {@link com.fasterxml.jackson.core.JsonGenerator#copyCurrentStructure(JsonParser)}.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+final class TrechoJson {
+
+    private TrechoJson() {
+    }
+
+    /**
+     * Avança o parser, ainda não iniciado, até o valor indicado pelo ponteiro.
+     *
+     * @param parser   parser posicionado antes do primeiro token do documento
+     * @param ponteiro caminho do trecho; o ponteiro vazio indica o documento inteiro
+     * @return {@code true} se o trecho existe e o parser está no seu primeiro token
+     * @throws IOException se o documento não puder ser lido ou não for um JSON válido
+     */
+    static boolean posicionar(JsonParser parser, JsonPointer ponteiro) throws IOException {
+        JsonToken token = parser.nextToken();
+        for (JsonPointer resto = ponteiro; token != null && !resto.matches(); resto = resto.tail()) {
+            if (token == JsonToken.START_OBJECT) {
+                token = campo(parser, resto.getMatchingProperty());
+            } else if (token == JsonToken.START_ARRAY && resto.mayMatchElement()) {
+                token = elemento(parser, resto.getMatchingIndex());
+            } else {
+                return false;
+            }
+        }
+        return token != null;
+    }
+
+    /** Procura o campo no objeto atual; retorna o primeiro token do valor, ou {@code null} se não existir. */
+    private static JsonToken campo(JsonParser parser, String nome) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            boolean encontrado = nome.equals(parser.currentName());
+            JsonToken valor = parser.nextToken();
+            if (encontrado) {
+                return valor;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+
+    /** Procura a posição no array atual; retorna o primeiro token do elemento, ou {@code null} se não existir. */
+    private static JsonToken elemento(JsonParser parser, int indice) throws IOException {
+        int atual = 0;
+        for (JsonToken valor = parser.nextToken(); valor != null && valor != JsonToken.END_ARRAY; valor = parser.nextToken()) {
+            if (atual++ == indice) {
+                return valor;
+            }
+            parser.skipChildren();
+        }
+        return null;
+    }
+}
@@ -1,13 +1,38 @@
 package br.com.fiap.resource;
 
+import br.com.fiap.bo.BuscaPorIds;
+import br.com.fiap.bo.Paginacao;
 import br.com.fiap.bo.TrilhaPersonalizadaBO;
+import br.com.fiap.dao.LeituraClob;
+import br.com.fiap.to.PaginaTO;
+import br.com.fiap.to.ResultadoIdsTO;
+import br.com.fiap.to.TrilhaPersonalizadaResumoTO;
 import br.com.fiap.to.TrilhaPersonalizadaTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import jakarta.ws.rs.core.UriInfo;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PushbackReader;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
 import java.util.ArrayList;
 
 /**
@@ -18,11 +43,17 @@ import java.util.ArrayList;
  *
  * Endpoints disponíveis:
  * <ul>
- * <li>GET /trilhapersonalizada - Retorna todas as trilhas personalizadas</li>
+ * <li>GET /trilhapersonalizada - Retorna todas as trilhas personalizadas (paginável com ?after=&amp;limit=); busca por IDs com ?ids=1,2,3;
+ * apenas o resumo, sem o conteúdo, com ?resumo=true; resumo das trilhas filtradas pelo conteúdo com ?modulo= ou ?dificuldade=</li>
+ * <li>GET /trilhapersonalizada (Accept: application/x-ndjson) - Exporta todos os registros em NDJSON</li>
  * <li>GET /trilhapersonalizada/{id_trilha_pers} - Retorna trilha pelo ID</li>
- * <li>GET /trilhapersonalizada/usuario/{id_user} - Retorna todas as trilhas de um usuário</li>
+ * <li>GET /trilhapersonalizada/usuario/{id_user} - Retorna todas as trilhas de um usuário (apenas o resumo com ?resumo=true)</li>
+ * <li>GET /trilhapersonalizada/{id_trilha_pers}/conteudo - Retorna apenas o conteúdo JSON da trilha, transmitido do banco;
+ * um trecho dele com ?caminho=/json/pointer</li>
  * <li>POST /trilhapersonalizada - Cadastra uma nova trilha</li>
+ * <li>POST /trilhapersonalizada/usuario/{id_user}/conteudo - Cadastra uma trilha cujo conteúdo JSON é o corpo da requisição</li>
  * <li>PUT /trilhapersonalizada/{id_trilha_pers} - Atualiza trilha existente</li>
+ * <li>PUT /trilhapersonalizada/{id_trilha_pers}/conteudo - Substitui o conteúdo JSON da trilha pelo corpo da requisição</li>
  * <li>DELETE /trilhapersonalizada/{id_trilha_pers} - Remove trilha pelo ID</li>
  * </ul>
  *
@@ -33,24 +64,92 @@ import java.util.ArrayList;
  * @since 21.0.7
  */
 @Path("/trilhapersonalizada")
+@RunOnVirtualThread
 public class TrilhaPersonalizadaResource {
     private TrilhaPersonalizadaBO trilhaPersonalizadaBO = new TrilhaPersonalizadaBO();
 
+    /** Mapper JSON da aplicação, usado nas exportações em NDJSON. */
+    @Inject
+    ObjectMapper mapper;
+
+    /** Quantidade de linhas lidas do banco por vez nas exportações. */
+    @ConfigProperty(name = "reintegrai.exportacao.fetch-size", defaultValue = "500")
+    int fetchSize;
+
     /**
      * Retorna todas as trilhas personalizadas cadastradas no sistema.
      *
+     * <p>Com {@code after} ou {@code limit} a resposta passa a ser uma {@link PaginaTO}, paginada
+     * por cursor; sem eles, a lista completa é retornada como antes. Com {@code ids} (por exemplo,
+     * {@code ?ids=1,2,3}), retorna apenas esses registros, na ordem pedida, em um {@link ResultadoIdsTO}.
+     * Com {@code resumo=true} (e sem os demais parâmetros), a lista completa traz apenas o
+     * {@link TrilhaPersonalizadaResumoTO} de cada trilha, sem ler o conteúdo JSON do banco.
+     * Com {@code modulo} ou {@code dificuldade}, retorna o resumo apenas das trilhas cujo conteúdo inclui esse
+     * módulo ou tem essa dificuldade; o filtro é feito pelo banco quando ele suporta SQL/JSON.</p>
+     *
+     * @param ids lista de IDs separados por vírgula; ativa a busca por IDs
+     * @param after cursor da página anterior (ou último ID recebido); ativa a paginação
+     * @param limit quantidade de itens por página (padrão {@value Paginacao#LIMITE_PADRAO})
+     * @param resumo se {@code true}, retorna apenas o resumo das trilhas
+     * @param modulo ID de módulo que as trilhas devem incluir
+     * @param dificuldade dificuldade que as trilhas devem ter
      * @return Response com status 200 (OK) e a lista de {@link TrilhaPersonalizadaTO},
+     * 400 (Bad Request) se {@code modulo} e {@code dificuldade} forem usados juntos,
      * ou 404 (Not Found) se nenhuma trilha for encontrada.
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Response findAll() {
+    public Response findAll(@QueryParam("ids") String ids, @QueryParam("after") String after,
+                            @QueryParam("limit") Integer limit, @QueryParam("resumo") boolean resumo,
+                            @QueryParam("modulo") Long modulo, @QueryParam("dificuldade") String dificuldade) {
+        if (modulo != null && dificuldade != null) {
+            return Response.status(Response.Status.BAD_REQUEST).entity("Use apenas um filtro: modulo ou dificuldade.").build();
+        }
+        if (modulo != null) {
+            return listaOu404(trilhaPersonalizadaBO.findResumosByModulo(modulo));
+        }
+        if (dificuldade != null) {
+            return listaOu404(trilhaPersonalizadaBO.findResumosByDificuldade(dificuldade));
+        }
+        if (ids != null) {
+            try {
+                ResultadoIdsTO<TrilhaPersonalizadaTO> resultado = trilhaPersonalizadaBO.findByIds(BuscaPorIds.ids(ids));
+                return resultado != null ? Response.ok(resultado).build() : Response.status(500).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+            }
+        }
+        if (after != null || limit != null) {
+            try {
+                PaginaTO<TrilhaPersonalizadaTO> pagina = trilhaPersonalizadaBO.findPage(Paginacao.cursor(after), Paginacao.limite(limit));
+                return pagina != null ? Response.ok(pagina).build() : Response.status(500).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+            }
+        }
+        if (resumo) {
+            return listaOu404(trilhaPersonalizadaBO.findResumos());
+        }
         ArrayList<TrilhaPersonalizadaTO> resultado = trilhaPersonalizadaBO.findAll();
         Response.ResponseBuilder response = (resultado != null && !resultado.isEmpty()) ? Response.ok() : Response.status(404);
         response.entity(resultado);
         return response.build();
     }
 
+    /**
+     * Exporta todas as trilhas personalizadas em NDJSON (um objeto JSON por linha), selecionado pelo cabeçalho
+     * {@code Accept: application/x-ndjson}.
+     *
+     * <p>As linhas seguem do banco para a resposta sem montar a lista em memória.</p>
+     *
+     * @return Response com status 200 (OK) e o corpo transmitido em partes.
+     */
+    @GET
+    @Produces(RespostaNdjson.NDJSON)
+    public Response exportar() {
+        return RespostaNdjson.de(mapper, fetchSize, trilhaPersonalizadaBO::exportar);
+    }
+
     /**
      * Busca uma trilha personalizada específica pelo seu ID.
      *
@@ -71,37 +170,220 @@ public class TrilhaPersonalizadaResource {
     /**
      * Busca todas as trilhas personalizadas criadas por um usuário específico.
      *
+     * <p>Com {@code resumo=true}, retorna apenas o {@link TrilhaPersonalizadaResumoTO} de cada trilha: a
+     * listagem deixa de depender do tamanho dos conteúdos, que podem ser obtidos um a um depois.</p>
+     *
      * @param idUser O ID (id_user) do usuário.
+     * @param resumo se {@code true}, retorna apenas o resumo das trilhas
      * @return Response com status 200 (OK) e a lista de {@link TrilhaPersonalizadaTO} do usuário,
      * ou 404 (Not Found) se o usuário não tiver trilhas ou não existir.
      */
     @GET
     @Path("/usuario/{id_user}")
     @Produces(MediaType.APPLICATION_JSON)
-    public Response findByUserId(@PathParam("id_user") Long idUser) throws SQLException {
+    public Response findByUserId(@PathParam("id_user") Long idUser, @QueryParam("resumo") boolean resumo) throws SQLException {
+        if (resumo) {
+            return listaOu404(trilhaPersonalizadaBO.findResumosByUserId(idUser));
+        }
         ArrayList<TrilhaPersonalizadaTO> resultado = trilhaPersonalizadaBO.findByUserId(idUser);
         Response.ResponseBuilder response = (resultado != null && !resultado.isEmpty()) ? Response.ok() : Response.status(404);
         response.entity(resultado);
         return response.build();
     }
 
+    private static Response listaOu404(ArrayList<TrilhaPersonalizadaResumoTO> resumos) {
+        return (resumos != null && !resumos.isEmpty()) ? Response.ok(resumos).build() : Response.status(404).entity(resumos).build();
+    }
+
+    /**
+     * Retorna apenas o conteúdo JSON de uma trilha personalizada, como documento JSON (e não como texto
+     * dentro de um {@link TrilhaPersonalizadaTO}).
+     *
+     * <p>O CLOB é copiado do banco para a resposta em blocos, sem ser carregado em uma {@link String} nem
+     * interpretado de novo, então a memória por requisição não depende do tamanho da trilha.</p>
+     *
+     * <p>Com {@code caminho} (um JSON Pointer, por exemplo {@code ?caminho=/modulos/0}), retorna apenas
+     * esse trecho do conteúdo. O CLOB é então lido pelo parser em fluxo do Jackson, que pula o que está fora
+     * do caminho e copia o trecho para a resposta sem montar o documento.</p>
+     *
+     * @param codigo  O ID (id_trilha_pers) da trilha personalizada.
+     * @param caminho JSON Pointer do trecho desejado; sem ele, o conteúdo inteiro é retornado.
+     * @return Response com status 200 (OK) e o conteúdo transmitido em partes, 400 (Bad Request) se o caminho
+     * for inválido, ou 404 (Not Found) se a trilha não existir, não tiver conteúdo ou não tiver o trecho pedido.
+     */
+    @GET
+    @Path("/{id_trilha_pers}/conteudo")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response findConteudo(@PathParam("id_trilha_pers") Long codigo,
+                                 @QueryParam("caminho") String caminho) throws SQLException, IOException {
+        JsonPointer ponteiro = null;
+        if (caminho != null) {
+            try {
+                ponteiro = JsonPointer.compile(caminho);
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+            }
+        }
+        LeituraClob leitura = trilhaPersonalizadaBO.abrirConteudo(codigo);
+        if (leitura == null) {
+            return Response.status(404).build();
+        }
+        if (ponteiro != null) {
+            return trecho(leitura, ponteiro);
+        }
+        StreamingOutput corpo = out -> {
+            try (leitura; Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+                leitura.copiar(writer);
+            }
+        };
+        return Response.ok(corpo).build();
+    }
+
+    /**
+     * Posiciona a leitura do conteúdo no trecho pedido e o transmite a partir dali. A busca é feita antes da
+     * resposta começar, para que um caminho inexistente ainda possa virar 404.
+     */
+    private Response trecho(LeituraClob leitura, JsonPointer ponteiro) throws IOException {
+        try {
+            JsonParser origem = mapper.getFactory().createParser(leitura.leitor());
+            if (!TrechoJson.posicionar(origem, ponteiro)) {
+                leitura.close();
+                return Response.status(404).build();
+            }
+            StreamingOutput corpo = out -> {
+                try (leitura; origem; JsonGenerator destino = mapper.getFactory().createGenerator(out)) {
+                    destino.copyCurrentStructure(origem);
+                }
+            };
+            return Response.ok(corpo).build();
+        } catch (IOException | RuntimeException e) {
+            leitura.close();
+            throw e;
+        }
+    }
 
     /**
      * Cadastra uma nova trilha personalizada no sistema.
      *
      * @param trilhaP O objeto {@link TrilhaPersonalizadaTO} contendo os dados da nova trilha.
-     * @return Response com status 201 (Created) e o objeto {@link TrilhaPersonalizadaTO} salvo,
-     * ou 400 (Bad Request) se houver erro na validação ou gravação.
+     * @param uriInfo dados da requisição, usados para montar o cabeçalho {@code Location}.
+     * @return Response com status 201 (Created), cabeçalho Location e o objeto {@link TrilhaPersonalizadaTO}
+     * salvo (com ID e data de criação), ou 400 (Bad Request) se houver erro na validação ou gravação.
      */
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
-    public Response save(@Valid TrilhaPersonalizadaTO trilhaP) {
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response save(@Valid TrilhaPersonalizadaTO trilhaP, @Context UriInfo uriInfo) {
         TrilhaPersonalizadaTO resultado = trilhaPersonalizadaBO.save(trilhaP);
-        Response.ResponseBuilder response = (resultado != null) ? Response.created(null) : Response.status(400);
+        Response.ResponseBuilder response = (resultado != null)
+                ? Response.created(uriInfo.getAbsolutePathBuilder().path(String.valueOf(resultado.getIdTrilhaPers())).build())
+                : Response.status(400);
         response.entity(resultado);
         return response.build();
     }
 
+    /**
+     * Cadastra uma trilha personalizada cujo conteúdo JSON é o próprio corpo da requisição.
+     *
+     * <p>O corpo segue da requisição para o banco em partes ({@code setCharacterStream}), sem ser montado em
+     * memória. Ele é validado como JSON no caminho, por {@link CorpoJsonValidado}: um erro interrompe a
+     * gravação, que é desfeita.</p>
+     *
+     * @param idUser  O ID (id_user) do usuário dono da trilha.
+     * @param corpo   conteúdo JSON da trilha, em UTF-8.
+     * @param uriInfo dados da requisição, usados para montar o cabeçalho {@code Location}.
+     * @return Response com status 201 (Created), cabeçalho Location e o {@link TrilhaPersonalizadaTO} gravado
+     * (sem o conteúdo), ou 400 (Bad Request) se o corpo estiver vazio, não for um JSON válido ou o usuário
+     * não existir.
+     * @throws SQLException se ocorrer erro no banco, respondido com status 500
+     */
+    @POST
+    @Path("/usuario/{id_user}/conteudo")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response saveConteudo(@PathParam("id_user") Long idUser, InputStream corpo,
+                                 @Context UriInfo uriInfo) throws IOException, SQLException {
+        CorpoJsonValidado json = new CorpoJsonValidado(corpo);
+        TrilhaPersonalizadaTO resultado;
+        try {
+            Reader conteudo = conteudo(json);
+            if (conteudo == null) {
+                return Response.status(400).entity("O conteúdo da trilha não pode ser vazio.").build();
+            }
+            resultado = trilhaPersonalizadaBO.saveConteudo(idUser, conteudo);
+        } catch (IOException | SQLException e) {
+            if (json.erro() != null) {
+                return conteudoInvalido(json);
+            }
+            if (e instanceof SQLIntegrityConstraintViolationException) {
+                // usuário inexistente
+                return Response.status(400).build();
+            }
+            throw e;
+        }
+        if (resultado == null) {
+            return Response.status(400).build();
+        }
+        return Response.created(uriInfo.getBaseUriBuilder().path(TrilhaPersonalizadaResource.class)
+                        .path(String.valueOf(resultado.getIdTrilhaPers())).build())
+                .entity(resultado)
+                .build();
+    }
+
+    /**
+     * Substitui o conteúdo JSON de uma trilha personalizada pelo corpo da requisição, transmitido ao banco
+     * em partes e validado no caminho, como em {@link #saveConteudo}.
+     *
+     * @param idTrilhaPers O ID (id_trilha_pers) da trilha.
+     * @param corpo        novo conteúdo JSON da trilha, em UTF-8.
+     * @return Response com status 204 (No Content) se atualizada, 400 (Bad Request) se o corpo estiver vazio
+     * ou não for um JSON válido, ou 404 (Not Found) se a trilha não existir.
+     * @throws SQLException se ocorrer erro no banco, respondido com status 500
+     */
+    @PUT
+    @Path("/{id_trilha_pers}/conteudo")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response updateConteudo(@PathParam("id_trilha_pers") Long idTrilhaPers, InputStream corpo)
+            throws IOException, SQLException {
+        CorpoJsonValidado json = new CorpoJsonValidado(corpo);
+        try {
+            Reader conteudo = conteudo(json);
+            if (conteudo == null) {
+                return Response.status(400).entity("O conteúdo da trilha não pode ser vazio.").build();
+            }
+            return Response.status(trilhaPersonalizadaBO.updateConteudo(idTrilhaPers, conteudo) ? 204 : 404).build();
+        } catch (IOException | SQLException e) {
+            if (json.erro() != null) {
+                return conteudoInvalido(json);
+            }
+            throw e;
+        }
+    }
+
+    private static Response conteudoInvalido(CorpoJsonValidado json) {
+        return Response.status(400).entity("O conteúdo da trilha não é um JSON válido: " + json.erro()).build();
+    }
+
+    /**
+     * Prepara o corpo da requisição para a gravação em partes, verificando apenas se ele não está em branco
+     * (a mesma regra do {@code @NotBlank} de {@link TrilhaPersonalizadaTO#getJsonConteudo()}).
+     *
+     * @return o leitor posicionado no primeiro caractere não branco, ou {@code null} se o corpo estiver em branco
+     */
+    private static Reader conteudo(InputStream corpo) throws IOException {
+        PushbackReader leitor = new PushbackReader(new InputStreamReader(corpo, StandardCharsets.UTF_8));
+        int caractere = leitor.read();
+        while (caractere != -1 && Character.isWhitespace(caractere)) {
+            caractere = leitor.read();
+        }
+        if (caractere == -1) {
+            return null;
+        }
+        leitor.unread(caractere);
+        return leitor;
+    }
+
     /**
      * Atualiza uma trilha personalizada existente.
      *
@@ -112,6 +394,7 @@ public class TrilhaPersonalizadaResource {
      */
     @PUT
     @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
     @Path("/{id_trilha_pers}")
     public Response update(@Valid TrilhaPersonalizadaTO trilhaP, @PathParam("id_trilha_pers") Long idTrilhaPers) {
         trilhaP.setIdTrilhaPers(idTrilhaPers);
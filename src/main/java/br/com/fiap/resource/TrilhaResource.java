@@ -1,14 +1,29 @@
 package br.com.fiap.resource;
 
+import br.com.fiap.bo.BuscaPorIds;
+import br.com.fiap.bo.Paginacao;
 import br.com.fiap.bo.TrilhaBO;
+import br.com.fiap.bo.Versoes;
+import br.com.fiap.to.PaginaTO;
+import br.com.fiap.to.ResultadoIdsTO;
+import br.com.fiap.to.TrilhaCompletaTO;
 import br.com.fiap.to.TrilhaTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Request;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
+import java.io.IOException;
 import java.sql.SQLException;
-import java.util.ArrayList;
 
 /**
  * <p>Classe Resource que expõe os endpoints REST para operações relacionadas a trilhas.</p>
@@ -16,13 +31,19 @@ import java.util.ArrayList;
  *
  * Endpoints disponíveis:
  * <ul>
- * <li>GET /trilha - Retorna todas as trilhas</li>
+ * <li>GET /trilha - Retorna todas as trilhas (paginável com ?after=&amp;limit=); busca por IDs com ?ids=1,2,3</li>
+ * <li>GET /trilha (Accept: application/x-ndjson) - Exporta todos os registros em NDJSON</li>
  * <li>GET /trilha/{id_trilha} - Retorna trilha pelo ID</li>
+ * <li>GET /trilha/{id_trilha}/completa - Retorna trilha pelo ID com os seus módulos</li>
+ * <li>GET /trilha/completas - Retorna todas as trilhas com os seus módulos</li>
  * <li>POST /trilha - Cadastra uma nova trilha</li>
  * <li>PUT /trilha/{id_trilha} - Atualiza trilha existente</li>
  * <li>DELETE /trilha/{id_trilha} - Remove trilha pelo ID</li>
  * </ul>
  *
+ * <p>As leituras em JSON retornam {@code ETag} e {@code Cache-Control}; se o cliente enviar
+ * {@code If-None-Match} com a versão atual, a resposta é 304 (Not Modified), sem consulta ao banco.</p>
+ *
  * @author Lucas Barros Gouveia
  * @author Enzo Okuizumi Miranda de Souza
  * @author Milton Jakson de Souza Marcelino
@@ -30,50 +51,181 @@ import java.util.ArrayList;
  * @since 21.0.7
  */
 @Path("/trilha")
+@RunOnVirtualThread
 public class TrilhaResource {
     private TrilhaBO trilhaBO = new TrilhaBO();
 
+    /** JSON (e variantes comprimidas) da listagem completa, gerado uma vez por versão. */
+    private static final InstantaneoCatalogo LISTAGEM = new InstantaneoCatalogo();
+
+    /** Mapper JSON da aplicação, usado nas exportações em NDJSON e na listagem completa. */
+    @Inject
+    ObjectMapper mapper;
+
+    /** Quantidade de linhas lidas do banco por vez nas exportações. */
+    @ConfigProperty(name = "reintegrai.exportacao.fetch-size", defaultValue = "500")
+    int fetchSize;
+
+    /** Valor do cabeçalho Cache-Control das leituras do catálogo. */
+    @ConfigProperty(name = "reintegrai.http.cache-control.catalogo", defaultValue = "no-cache")
+    String cacheControl;
+
     /**
      * Retorna todas as trilhas.
      *
-     * @return Response com status 200 (OK) e lista de {@link TrilhaTO}, ou 404 se não houver dados.
+     * <p>Com {@code after} ou {@code limit} a resposta passa a ser uma {@link PaginaTO}, paginada
+     * por cursor; sem eles, a lista completa é retornada como antes. Com {@code ids} (por exemplo,
+     * {@code ?ids=1,2,3}), retorna apenas esses registros, na ordem pedida, em um {@link ResultadoIdsTO}.</p>
+     *
+     * <p>A listagem completa usa o JSON gerado uma única vez para a versão atual das trilhas, já
+     * comprimido em gzip e brotli; a variante é escolhida pelo cabeçalho {@code Accept-Encoding}.</p>
+     *
+     * @param ids lista de IDs separados por vírgula; ativa a busca por IDs
+     * @param after cursor da página anterior (ou último ID recebido); ativa a paginação
+     * @param limit quantidade de itens por página (padrão {@value Paginacao#LIMITE_PADRAO})
+     * @param acceptEncoding codificações aceitas pelo cliente ({@code gzip}, {@code br})
+     * @param request requisição atual, usada para avaliar o cabeçalho {@code If-None-Match}
+     * @return Response com status 200 (OK) e lista de {@link TrilhaTO}, 304 (Not Modified) se a ETag
+     * informada ainda for a atual, ou 404 se não houver dados.
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Response findAll() {
-        ArrayList<TrilhaTO> resultado = trilhaBO.findAll();
-        Response.ResponseBuilder response = (resultado != null && !resultado.isEmpty()) ? Response.ok() : Response.status(404);
-        response.entity(resultado);
-        return response.build();
+    public Response findAll(@QueryParam("ids") String ids, @QueryParam("after") String after,
+                            @QueryParam("limit") Integer limit,
+                            @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding,
+                            @Context Request request) throws IOException {
+        long versao = Versoes.atual(Versoes.Entidade.TRILHA);
+        EntityTag etag = CacheHttp.etag("trilha", versao);
+        Response naoModificado = CacheHttp.naoModificado(request, etag, cacheControl);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
+        if (ids != null) {
+            try {
+                ResultadoIdsTO<TrilhaTO> resultado = trilhaBO.findByIds(BuscaPorIds.ids(ids));
+                return resultado != null ? CacheHttp.ok(resultado, etag, cacheControl) : Response.status(500).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+            }
+        }
+        if (after != null || limit != null) {
+            try {
+                PaginaTO<TrilhaTO> pagina = trilhaBO.findPage(Paginacao.cursor(after), Paginacao.limite(limit));
+                return pagina != null ? CacheHttp.ok(pagina, etag, cacheControl) : Response.status(500).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+            }
+        }
+        return LISTAGEM.responder(mapper, versao, trilhaBO::findAll, lista -> Response.status(404).entity(lista).build(),
+                request, acceptEncoding, etag, cacheControl);
+    }
+
+    /**
+     * Exporta todas as trilhas em NDJSON (um objeto JSON por linha), selecionado pelo cabeçalho
+     * {@code Accept: application/x-ndjson}.
+     *
+     * <p>As linhas seguem do banco para a resposta sem montar a lista em memória.</p>
+     *
+     * @return Response com status 200 (OK) e o corpo transmitido em partes.
+     */
+    @GET
+    @Produces(RespostaNdjson.NDJSON)
+    public Response exportar() {
+        return RespostaNdjson.de(mapper, fetchSize, trilhaBO::exportar);
     }
 
     /**
      * Busca trilha pelo ID.
      *
      * @param codigo ID da trilha.
-     * @return Response com status 200 (OK) e {@link TrilhaTO}, ou 404 se não encontrada.
+     * @param request requisição atual, usada para avaliar o cabeçalho {@code If-None-Match}
+     * @return Response com status 200 (OK) e {@link TrilhaTO}, 304 (Not Modified) se a ETag ainda for a atual, ou 404 se não encontrada.
      */
     @GET
     @Path("/{id_trilha}")
     @Produces(MediaType.APPLICATION_JSON)
-    public Response findByCodigo(@PathParam("id_trilha") Long codigo) throws SQLException {
+    public Response findByCodigo(@PathParam("id_trilha") Long codigo, @Context Request request) throws SQLException {
+        EntityTag etag = CacheHttp.etag("trilha", Versoes.atual(Versoes.Entidade.TRILHA));
+        Response naoModificado = CacheHttp.naoModificado(request, etag, cacheControl);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
         TrilhaTO resultado = trilhaBO.findByCodigo(codigo);
-        Response.ResponseBuilder response = (resultado != null) ? Response.ok() : Response.status(404);
-        response.entity(resultado);
-        return response.build();
+        if (resultado != null) {
+            return CacheHttp.ok(resultado, etag, cacheControl);
+        }
+        return Response.status(404).build();
+    }
+
+    /**
+     * Retorna todas as trilhas com os seus módulos e o total de módulos de cada uma.
+     *
+     * @param request requisição atual, usada para avaliar o cabeçalho {@code If-None-Match}
+     * @return Response com status 200 (OK) e lista de {@link TrilhaCompletaTO}, ou 304 (Not Modified)
+     * se a ETag informada ainda for a atual.
+     */
+    @GET
+    @Path("/completas")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response findAllCompletas(@Context Request request) {
+        EntityTag etag = etagCompleta();
+        Response naoModificado = CacheHttp.naoModificado(request, etag, cacheControl);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
+        return CacheHttp.ok(trilhaBO.findAllCompletas(), etag, cacheControl);
+    }
+
+    /**
+     * Busca uma trilha pelo ID junto com os seus módulos, em uma única consulta.
+     *
+     * @param codigo ID da trilha.
+     * @param request requisição atual, usada para avaliar o cabeçalho {@code If-None-Match}
+     * @return Response com status 200 (OK) e {@link TrilhaCompletaTO}, 304 (Not Modified) se a ETag ainda
+     * for a atual, ou 404 se não encontrada.
+     */
+    @GET
+    @Path("/{id_trilha}/completa")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response findCompleta(@PathParam("id_trilha") Long codigo, @Context Request request) {
+        EntityTag etag = etagCompleta();
+        Response naoModificado = CacheHttp.naoModificado(request, etag, cacheControl);
+        if (naoModificado != null) {
+            return naoModificado;
+        }
+        TrilhaCompletaTO resultado = trilhaBO.findCompleta(codigo);
+        if (resultado != null) {
+            return CacheHttp.ok(resultado, etag, cacheControl);
+        }
+        return Response.status(404).build();
+    }
+
+    /**
+     * ETag das trilhas com módulos, que mudam com as escritas de trilhas e de módulos. Como as duas versões
+     * só crescem, a soma muda a cada escrita de qualquer uma delas.
+     *
+     * @return a ETag atual
+     */
+    private static EntityTag etagCompleta() {
+        return CacheHttp.etag("trilha-completa",
+                Versoes.atual(Versoes.Entidade.TRILHA) + Versoes.atual(Versoes.Entidade.MODULO));
     }
 
     /**
      * Cadastra uma nova trilha.
      *
      * @param trilha {@link TrilhaTO} com os dados da trilha.
-     * @return Response com status 201 (CREATED) e {@link TrilhaTO}, ou 400 se falhar.
+     * @param uriInfo dados da requisição, usados para montar o cabeçalho {@code Location}.
+     * @return Response com status 201 (CREATED), cabeçalho Location e {@link TrilhaTO}, ou 400 se falhar.
      */
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
-    public Response save(@Valid TrilhaTO trilha) {
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response save(@Valid TrilhaTO trilha, @Context UriInfo uriInfo) {
         TrilhaTO resultado = trilhaBO.save(trilha);
-        Response.ResponseBuilder response = (resultado != null) ? Response.created(null) : Response.status(400);
+        Response.ResponseBuilder response = (resultado != null)
+                ? Response.created(uriInfo.getAbsolutePathBuilder().path(String.valueOf(resultado.getIdTrilha())).build())
+                : Response.status(400);
         response.entity(resultado);
         return response.build();
     }
@@ -88,6 +240,7 @@ public class TrilhaResource {
      */
     @PUT
     @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
     @Path("/{id_trilha}")
     public Response update(@Valid TrilhaTO trilha, @PathParam("id_trilha") Long idTrilha) {
         trilha.setIdTrilha(idTrilha);
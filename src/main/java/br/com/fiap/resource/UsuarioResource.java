@@ -1,11 +1,22 @@
 package br.com.fiap.resource;
 
+import br.com.fiap.bo.BuscaPorIds;
+import br.com.fiap.bo.Paginacao;
 import br.com.fiap.bo.UsuarioBO;
+import br.com.fiap.to.AprendizadoTO;
+import br.com.fiap.to.PaginaTO;
+import br.com.fiap.to.ResultadoIdsTO;
 import br.com.fiap.to.UsuarioTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.UriInfo;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -16,8 +27,10 @@ import java.util.ArrayList;
  *
  * Endpoints disponíveis:
  * <ul>
- *     <li>GET /usuario - Retorna todos os usuários</li>
+ *     <li>GET /usuario - Retorna todos os usuários (paginável com ?after=&amp;limit=); busca por IDs com ?ids=1,2,3</li>
+ *     <li>GET /usuario (Accept: application/x-ndjson) - Exporta todos os registros em NDJSON</li>
  *     <li>GET /usuario/{id_user} - Retorna usuário pelo ID</li>
+ *     <li>GET /usuario/{id_user}/aprendizado - Retorna usuário, progressos e trilhas personalizadas</li>
  *     <li>POST /usuario - Cadastra um novo usuário</li>
  *     <li>PUT /usuario/{id_user} - Atualiza usuário existente</li>
  *     <li>DELETE /usuario/{id_user} - Remove usuário pelo ID</li>
@@ -30,23 +43,70 @@ import java.util.ArrayList;
  * @since 21.0.7
  */
 @Path("/usuario")
+@RunOnVirtualThread
 public class UsuarioResource {
     private UsuarioBO usuarioBO = new UsuarioBO();
 
+    /** Mapper JSON da aplicação, usado nas exportações em NDJSON. */
+    @Inject
+    ObjectMapper mapper;
+
+    /** Quantidade de linhas lidas do banco por vez nas exportações. */
+    @ConfigProperty(name = "reintegrai.exportacao.fetch-size", defaultValue = "500")
+    int fetchSize;
+
     /**
      * Retorna todos os usuários.
      *
+     * <p>Com {@code after} ou {@code limit} a resposta passa a ser uma {@link PaginaTO}, paginada
+     * por cursor; sem eles, a lista completa é retornada como antes. Com {@code ids} (por exemplo,
+     * {@code ?ids=1,2,3}), retorna apenas esses registros, na ordem pedida, em um {@link ResultadoIdsTO}.</p>
+     *
+     * @param ids lista de IDs separados por vírgula; ativa a busca por IDs
+     * @param after cursor da página anterior (ou último ID recebido); ativa a paginação
+     * @param limit quantidade de itens por página (padrão {@value Paginacao#LIMITE_PADRAO})
      * @return Response com status 200 (OK) e lista de {@link UsuarioTO}, ou 404 se não houver dados.
      */
     @GET
     @Produces(MediaType.APPLICATION_JSON)
-    public Response findAll() {
+    public Response findAll(@QueryParam("ids") String ids, @QueryParam("after") String after,
+                            @QueryParam("limit") Integer limit) {
+        if (ids != null) {
+            try {
+                ResultadoIdsTO<UsuarioTO> resultado = usuarioBO.findByIds(BuscaPorIds.ids(ids));
+                return resultado != null ? Response.ok(resultado).build() : Response.status(500).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+            }
+        }
+        if (after != null || limit != null) {
+            try {
+                PaginaTO<UsuarioTO> pagina = usuarioBO.findPage(Paginacao.cursor(after), Paginacao.limite(limit));
+                return pagina != null ? Response.ok(pagina).build() : Response.status(500).build();
+            } catch (IllegalArgumentException e) {
+                return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+            }
+        }
         ArrayList<UsuarioTO> resultado = usuarioBO.findAll();
         Response.ResponseBuilder response = (resultado != null) ? Response.ok() : Response.status(404);
         response.entity(resultado);
         return response.build();
     }
 
+    /**
+     * Exporta todos os usuários em NDJSON (um objeto JSON por linha), selecionado pelo cabeçalho
+     * {@code Accept: application/x-ndjson}.
+     *
+     * <p>As linhas seguem do banco para a resposta sem montar a lista em memória.</p>
+     *
+     * @return Response com status 200 (OK) e o corpo transmitido em partes.
+     */
+    @GET
+    @Produces(RespostaNdjson.NDJSON)
+    public Response exportar() {
+        return RespostaNdjson.de(mapper, fetchSize, usuarioBO::exportar);
+    }
+
     /**
      * Busca usuário pelo ID.
      *
@@ -63,6 +123,27 @@ public class UsuarioResource {
         return response.build();
     }
 
+    /**
+     * Busca o usuário junto com os seus progressos e trilhas personalizadas, em uma única requisição.
+     *
+     * @param idUser ID do usuário.
+     * @return Response com status 200 (OK) e {@link AprendizadoTO}, 404 se o usuário não existir
+     * ou 500 se não foi possível consultar o banco.
+     */
+    @GET
+    @Path("/{id_user}/aprendizado")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response findAprendizado(@PathParam("id_user") Long idUser) {
+        AprendizadoTO resultado = usuarioBO.findAprendizado(idUser);
+        if (resultado == null) {
+            return Response.status(500).build();
+        }
+        if (resultado.getUsuario() == null) {
+            return Response.status(404).build();
+        }
+        return Response.ok(resultado).build();
+    }
+
     /**
      * Endpoint para buscar usuário pelo email.
      *
@@ -86,13 +167,17 @@ public class UsuarioResource {
      * Cadastra um novo usuário.
      *
      * @param usuario {@link UsuarioTO} com os dados do usuário.
-     * @return Response com status 201 (CREATED) e {@link UsuarioTO}, ou 400 se falhar.
+     * @param uriInfo dados da requisição, usados para montar o cabeçalho {@code Location}.
+     * @return Response com status 201 (CREATED), cabeçalho Location e {@link UsuarioTO}, ou 400 se falhar.
      */
     @POST
     @Consumes(MediaType.APPLICATION_JSON)
-    public Response save(@Valid UsuarioTO usuario) {
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response save(@Valid UsuarioTO usuario, @Context UriInfo uriInfo) {
         UsuarioTO resultado = usuarioBO.save(usuario);
-        Response.ResponseBuilder response = (resultado != null) ? Response.created(null) : Response.status(400);
+        Response.ResponseBuilder response = (resultado != null)
+                ? Response.created(uriInfo.getAbsolutePathBuilder().path(String.valueOf(resultado.getIdUser())).build())
+                : Response.status(400);
         response.entity(resultado);
         return response.build();
     }
@@ -106,6 +191,7 @@ public class UsuarioResource {
      */
     @PUT
     @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
     @Path("/{id_user}")
     public Response update(@Valid UsuarioTO usuario, @PathParam("id_user") Long idUser) {
         usuario.setIdUser(idUser);
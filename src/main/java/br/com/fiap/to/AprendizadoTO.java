@@ -0,0 +1,63 @@
+package br.com.fiap.to;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Representa os dados de aprendizado de um usuário, carregados de uma só vez.
+ *
+ * <p>Reúne o {@link UsuarioTO}, os seus {@link ProgressoTO} e as suas {@link TrilhaPersonalizadaTO},
+ * que o frontend buscaria em três requisições separadas.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+public class AprendizadoTO {
+    /** Dados do usuário. */
+    private UsuarioTO usuario;
+
+    /** Progressos do usuário, ordenados pelo ID. */
+    private List<ProgressoTO> progressos = new ArrayList<>();
+
+    /** Trilhas personalizadas do usuário, da mais recente para a mais antiga. */
+    private List<TrilhaPersonalizadaTO> trilhasPersonalizadas = new ArrayList<>();
+
+    /**
+     * Construtor padrão da classe {@code AprendizadoTO}.
+     */
+    public AprendizadoTO() {
+    }
+
+    /** @return os dados do usuário */
+    public UsuarioTO getUsuario() {
+        return usuario;
+    }
+
+    /** @param usuario define os dados do usuário */
+    public void setUsuario(UsuarioTO usuario) {
+        this.usuario = usuario;
+    }
+
+    /** @return os progressos do usuário */
+    public List<ProgressoTO> getProgressos() {
+        return progressos;
+    }
+
+    /** @param progressos define os progressos do usuário */
+    public void setProgressos(List<ProgressoTO> progressos) {
+        this.progressos = progressos;
+    }
+
+    /** @return as trilhas personalizadas do usuário */
+    public List<TrilhaPersonalizadaTO> getTrilhasPersonalizadas() {
+        return trilhasPersonalizadas;
+    }
+
+    /** @param trilhasPersonalizadas define as trilhas personalizadas do usuário */
+    public void setTrilhasPersonalizadas(List<TrilhaPersonalizadaTO> trilhasPersonalizadas) {
+        this.trilhasPersonalizadas = trilhasPersonalizadas;
+    }
+}
@@ -0,0 +1,179 @@
+package br.com.fiap.to;
+
+/**
+ * Representa as estatísticas de uso de um cache do catálogo.
+ *
+ * <p>Esta classe contém o nome do cache, o tamanho atual e máximo e os contadores de acertos,
+ * falhas, remoções (por limite de tamanho ou expiração) e invalidações por escrita.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+public class EstatisticasCacheTO {
+    /** Nome do cache. */
+    private String nome;
+
+    /** Quantidade atual de entradas. */
+    private int tamanho;
+
+    /** Quantidade máxima de entradas. */
+    private int tamanhoMaximo;
+
+    /** Leituras atendidas pelo cache. */
+    private long acertos;
+
+    /** Leituras que precisaram consultar o banco. */
+    private long falhas;
+
+    /** Entradas removidas por limite de tamanho ou expiração. */
+    private long remocoes;
+
+    /** Limpezas causadas por escritas da entidade. */
+    private long invalidacoes;
+
+    /** Leituras que aproveitaram a carga de outra requisição, em vez de consultar o banco. */
+    private long compartilhadas;
+
+    /**
+     * Construtor padrão da classe {@code EstatisticasCacheTO}.
+     */
+    public EstatisticasCacheTO() {
+    }
+
+    /**
+     * Construtor completo.
+     *
+     * @param nome           nome do cache
+     * @param tamanho        quantidade atual de entradas
+     * @param tamanhoMaximo  quantidade máxima de entradas
+     * @param acertos        leituras atendidas pelo cache
+     * @param falhas         leituras que consultaram o banco
+     * @param remocoes       entradas removidas por limite ou expiração
+     * @param invalidacoes   limpezas causadas por escritas
+     * @param compartilhadas leituras que aproveitaram a carga de outra requisição
+     */
+    public EstatisticasCacheTO(String nome, int tamanho, int tamanhoMaximo, long acertos, long falhas,
+                               long remocoes, long invalidacoes, long compartilhadas) {
+        this.nome = nome;
+        this.tamanho = tamanho;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.acertos = acertos;
+        this.falhas = falhas;
+        this.remocoes = remocoes;
+        this.invalidacoes = invalidacoes;
+        this.compartilhadas = compartilhadas;
+    }
+
+    /** @return o nome do cache */
+    public String getNome() {
+        return nome;
+    }
+
+    /**
+     * Define o nome do cache.
+     * @param nome o nome do cache
+     */
+    public void setNome(String nome) {
+        this.nome = nome;
+    }
+
+    /** @return a quantidade atual de entradas */
+    public int getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Define a quantidade atual de entradas.
+     * @param tamanho a quantidade de entradas
+     */
+    public void setTamanho(int tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    /** @return a quantidade máxima de entradas */
+    public int getTamanhoMaximo() {
+        return tamanhoMaximo;
+    }
+
+    /**
+     * Define a quantidade máxima de entradas.
+     * @param tamanhoMaximo a quantidade máxima de entradas
+     */
+    public void setTamanhoMaximo(int tamanhoMaximo) {
+        this.tamanhoMaximo = tamanhoMaximo;
+    }
+
+    /** @return as leituras atendidas pelo cache */
+    public long getAcertos() {
+        return acertos;
+    }
+
+    /**
+     * Define as leituras atendidas pelo cache.
+     * @param acertos a quantidade de acertos
+     */
+    public void setAcertos(long acertos) {
+        this.acertos = acertos;
+    }
+
+    /** @return as leituras que consultaram o banco */
+    public long getFalhas() {
+        return falhas;
+    }
+
+    /**
+     * Define as leituras que consultaram o banco.
+     * @param falhas a quantidade de falhas
+     */
+    public void setFalhas(long falhas) {
+        this.falhas = falhas;
+    }
+
+    /** @return as entradas removidas por limite de tamanho ou expiração */
+    public long getRemocoes() {
+        return remocoes;
+    }
+
+    /**
+     * Define as entradas removidas por limite de tamanho ou expiração.
+     * @param remocoes a quantidade de remoções
+     */
+    public void setRemocoes(long remocoes) {
+        this.remocoes = remocoes;
+    }
+
+    /** @return as limpezas causadas por escritas */
+    public long getInvalidacoes() {
+        return invalidacoes;
+    }
+
+    /**
+     * Define as limpezas causadas por escritas.
+     * @param invalidacoes a quantidade de invalidações
+     */
+    public void setInvalidacoes(long invalidacoes) {
+        this.invalidacoes = invalidacoes;
+    }
+
+    /** @return as leituras que aproveitaram a carga de outra requisição */
+    public long getCompartilhadas() {
+        return compartilhadas;
+    }
+
+    /**
+     * Define as leituras que aproveitaram a carga de outra requisição.
+     * @param compartilhadas a quantidade de leituras compartilhadas
+     */
+    public void setCompartilhadas(long compartilhadas) {
+        this.compartilhadas = compartilhadas;
+    }
+
+    /** @return a fração das leituras atendidas pelo cache, entre 0 e 1 */
+    public double getTaxaAcerto() {
+        long total = acertos + falhas;
+        return total == 0 ? 0.0 : (double) acertos / total;
+    }
+}
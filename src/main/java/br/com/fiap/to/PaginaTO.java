@@ -0,0 +1,86 @@
+package br.com.fiap.to;
+
+import java.util.List;
+
+/**
+ * Representa uma página de resultados de uma listagem paginada por cursor (keyset).
+ *
+ * <p>Contém os itens da página e o cursor opaco que deve ser enviado no parâmetro {@code after}
+ * para obter a página seguinte. Quando não houver mais registros, o cursor é {@code null}.</p>
+ *
+ * @param <T> tipo dos itens da página
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+public class PaginaTO<T> {
+    /** Itens da página, na ordem do identificador. */
+    private List<T> itens;
+
+    /** Cursor opaco da próxima página, ou {@code null} se esta for a última. */
+    private String proximoCursor;
+
+    /** Quantidade máxima de itens solicitada para a página. */
+    private int limite;
+
+    /**
+     * Construtor padrão da classe {@code PaginaTO}.
+     */
+    public PaginaTO() {
+    }
+
+    /**
+     * Construtor completo.
+     *
+     * @param itens          itens da página
+     * @param proximoCursor  cursor da próxima página, ou {@code null}
+     * @param limite         quantidade máxima de itens da página
+     */
+    public PaginaTO(List<T> itens, String proximoCursor, int limite) {
+        this.itens = itens;
+        this.proximoCursor = proximoCursor;
+        this.limite = limite;
+    }
+
+    /** @return os itens da página */
+    public List<T> getItens() {
+        return itens;
+    }
+
+    /**
+     * Define os itens da página.
+     * @param itens os itens da página
+     */
+    public void setItens(List<T> itens) {
+        this.itens = itens;
+    }
+
+    /** @return o cursor da próxima página, ou {@code null} se não houver */
+    public String getProximoCursor() {
+        return proximoCursor;
+    }
+
+    /**
+     * Define o cursor da próxima página.
+     * @param proximoCursor o cursor opaco da próxima página
+     */
+    public void setProximoCursor(String proximoCursor) {
+        this.proximoCursor = proximoCursor;
+    }
+
+    /** @return a quantidade máxima de itens da página */
+    public int getLimite() {
+        return limite;
+    }
+
+    /**
+     * Define a quantidade máxima de itens da página.
+     * @param limite a quantidade máxima de itens
+     */
+    public void setLimite(int limite) {
+        this.limite = limite;
+    }
+}
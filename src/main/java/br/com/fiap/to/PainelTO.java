@@ -0,0 +1,73 @@
+package br.com.fiap.to;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Representa o painel de aprendizado de um usuário: o andamento em cada trilha iniciada e a conclusão geral.
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+public class PainelTO {
+    /** Identificador do usuário. */
+    private Long idUser;
+
+    /** Andamento em cada trilha com algum progresso do usuário, ordenado pelo ID da trilha. */
+    private List<PainelTrilhaTO> trilhas = new ArrayList<>();
+
+    /** Percentual de conclusão somando todos os módulos das trilhas iniciadas (0 a 100). */
+    private double conclusaoGeral;
+
+    /**
+     * Construtor padrão da classe {@code PainelTO}.
+     */
+    public PainelTO() {
+    }
+
+    /**
+     * Construtor completo.
+     *
+     * @param idUser         identificador do usuário
+     * @param trilhas        andamento em cada trilha iniciada
+     * @param conclusaoGeral percentual de conclusão geral
+     */
+    public PainelTO(Long idUser, List<PainelTrilhaTO> trilhas, double conclusaoGeral) {
+        this.idUser = idUser;
+        this.trilhas = trilhas;
+        this.conclusaoGeral = conclusaoGeral;
+    }
+
+    /** @return o identificador do usuário */
+    public Long getIdUser() {
+        return idUser;
+    }
+
+    /** @param idUser define o identificador do usuário */
+    public void setIdUser(Long idUser) {
+        this.idUser = idUser;
+    }
+
+    /** @return o andamento em cada trilha iniciada */
+    public List<PainelTrilhaTO> getTrilhas() {
+        return trilhas;
+    }
+
+    /** @param trilhas define o andamento em cada trilha iniciada */
+    public void setTrilhas(List<PainelTrilhaTO> trilhas) {
+        this.trilhas = trilhas;
+    }
+
+    /** @return o percentual de conclusão geral */
+    public double getConclusaoGeral() {
+        return conclusaoGeral;
+    }
+
+    /** @param conclusaoGeral define o percentual de conclusão geral */
+    public void setConclusaoGeral(double conclusaoGeral) {
+        this.conclusaoGeral = conclusaoGeral;
+    }
+}
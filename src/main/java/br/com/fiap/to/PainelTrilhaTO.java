@@ -0,0 +1,125 @@
+package br.com.fiap.to;
+
+/**
+ * Representa o andamento de um usuário em uma trilha, calculado pelo banco a partir dos seus progressos.
+ *
+ * <p>Esta classe contém a trilha, a quantidade de módulos da trilha, quantos o usuário iniciou e concluiu,
+ * a média de status dos módulos iniciados, o último módulo trabalhado e o percentual de conclusão.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+public class PainelTrilhaTO {
+    /** Identificador da trilha. */
+    private Long idTrilha;
+
+    /** Nome da trilha. */
+    private String nomeTrilha;
+
+    /** Quantidade de módulos da trilha. */
+    private int totalModulos;
+
+    /** Módulos da trilha com algum progresso do usuário. */
+    private int modulosIniciados;
+
+    /** Módulos da trilha com status 100. */
+    private int modulosConcluidos;
+
+    /** Média de status dos módulos iniciados (0 a 100). */
+    private double mediaStatus;
+
+    /** Último módulo trabalhado pelo usuário na trilha. */
+    private Long idUltimoModulo;
+
+    /** Percentual de conclusão da trilha, considerando também os módulos não iniciados (0 a 100). */
+    private double conclusao;
+
+    /**
+     * Construtor padrão da classe {@code PainelTrilhaTO}.
+     */
+    public PainelTrilhaTO() {
+    }
+
+    /** @return o identificador da trilha */
+    public Long getIdTrilha() {
+        return idTrilha;
+    }
+
+    /** @param idTrilha define o identificador da trilha */
+    public void setIdTrilha(Long idTrilha) {
+        this.idTrilha = idTrilha;
+    }
+
+    /** @return o nome da trilha */
+    public String getNomeTrilha() {
+        return nomeTrilha;
+    }
+
+    /** @param nomeTrilha define o nome da trilha */
+    public void setNomeTrilha(String nomeTrilha) {
+        this.nomeTrilha = nomeTrilha;
+    }
+
+    /** @return a quantidade de módulos da trilha */
+    public int getTotalModulos() {
+        return totalModulos;
+    }
+
+    /** @param totalModulos define a quantidade de módulos da trilha */
+    public void setTotalModulos(int totalModulos) {
+        this.totalModulos = totalModulos;
+    }
+
+    /** @return os módulos iniciados */
+    public int getModulosIniciados() {
+        return modulosIniciados;
+    }
+
+    /** @param modulosIniciados define os módulos iniciados */
+    public void setModulosIniciados(int modulosIniciados) {
+        this.modulosIniciados = modulosIniciados;
+    }
+
+    /** @return os módulos concluídos */
+    public int getModulosConcluidos() {
+        return modulosConcluidos;
+    }
+
+    /** @param modulosConcluidos define os módulos concluídos */
+    public void setModulosConcluidos(int modulosConcluidos) {
+        this.modulosConcluidos = modulosConcluidos;
+    }
+
+    /** @return a média de status dos módulos iniciados */
+    public double getMediaStatus() {
+        return mediaStatus;
+    }
+
+    /** @param mediaStatus define a média de status dos módulos iniciados */
+    public void setMediaStatus(double mediaStatus) {
+        this.mediaStatus = mediaStatus;
+    }
+
+    /** @return o último módulo trabalhado */
+    public Long getIdUltimoModulo() {
+        return idUltimoModulo;
+    }
+
+    /** @param idUltimoModulo define o último módulo trabalhado */
+    public void setIdUltimoModulo(Long idUltimoModulo) {
+        this.idUltimoModulo = idUltimoModulo;
+    }
+
+    /** @return o percentual de conclusão da trilha */
+    public double getConclusao() {
+        return conclusao;
+    }
+
+    /** @param conclusao define o percentual de conclusão da trilha */
+    public void setConclusao(double conclusao) {
+        this.conclusao = conclusao;
+    }
+}
@@ -22,7 +22,7 @@ public class ProgressoTO {
     @NotNull
     @Min(0)
     @Max(100)
-    private int status;
+    private Integer status;
 
     /** Identificador do usuário que está progredindo. */
     @NotNull
@@ -68,8 +68,8 @@ public class ProgressoTO {
         this.idProgresso = idProgresso;
     }
 
-    /** @return o status do progresso */
-    public int getStatus() {
+    /** @return o status do progresso, ou {@code null} se não tiver sido informado */
+    public Integer getStatus() {
         return status;
     }
 
@@ -77,7 +77,7 @@ public class ProgressoTO {
      * Define o status do progresso.
      * @param status o status atual do progresso.
      */
-    public void setStatus(int status) {
+    public void setStatus(Integer status) {
         this.status = status;
     }
 
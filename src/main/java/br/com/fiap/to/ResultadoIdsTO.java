@@ -0,0 +1,62 @@
+package br.com.fiap.to;
+
+import java.util.List;
+
+/**
+ * Representa o resultado de uma busca por uma lista de IDs ({@code ?ids=1,2,3}).
+ *
+ * <p>Os itens encontrados vêm na mesma ordem dos IDs solicitados, e os IDs sem registro correspondente
+ * são listados à parte.</p>
+ *
+ * @param <T> tipo dos itens encontrados
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+public class ResultadoIdsTO<T> {
+    /** Itens encontrados, na ordem dos IDs solicitados. */
+    private List<T> itens;
+
+    /** IDs solicitados que não foram encontrados. */
+    private List<Long> naoEncontrados;
+
+    /**
+     * Construtor padrão da classe {@code ResultadoIdsTO}.
+     */
+    public ResultadoIdsTO() {
+    }
+
+    /**
+     * Construtor completo.
+     *
+     * @param itens          itens encontrados, na ordem solicitada
+     * @param naoEncontrados IDs sem registro correspondente
+     */
+    public ResultadoIdsTO(List<T> itens, List<Long> naoEncontrados) {
+        this.itens = itens;
+        this.naoEncontrados = naoEncontrados;
+    }
+
+    /** @return os itens encontrados, na ordem solicitada */
+    public List<T> getItens() {
+        return itens;
+    }
+
+    /** @param itens define os itens encontrados */
+    public void setItens(List<T> itens) {
+        this.itens = itens;
+    }
+
+    /** @return os IDs sem registro correspondente */
+    public List<Long> getNaoEncontrados() {
+        return naoEncontrados;
+    }
+
+    /** @param naoEncontrados define os IDs sem registro correspondente */
+    public void setNaoEncontrados(List<Long> naoEncontrados) {
+        this.naoEncontrados = naoEncontrados;
+    }
+}
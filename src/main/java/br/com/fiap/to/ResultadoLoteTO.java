@@ -0,0 +1,88 @@
+package br.com.fiap.to;
+
+/**
+ * Representa o resultado de um item de uma gravação em lote.
+ *
+ * <p>Cada item do lote recebe um resultado, na mesma ordem (e com o mesmo índice) em que foi enviado,
+ * indicando se foi inserido, atualizado ou por que não pôde ser gravado.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+public class ResultadoLoteTO {
+    /** Item inserido com sucesso. */
+    public static final String INSERIDO = "inserido";
+
+    /** Item atualizado com sucesso. */
+    public static final String ATUALIZADO = "atualizado";
+
+    /** Item de atualização cujo ID não existe no banco. */
+    public static final String NAO_ENCONTRADO = "nao_encontrado";
+
+    /** Item recusado pelo banco (por exemplo, chave estrangeira inexistente). */
+    public static final String ERRO = "erro";
+
+    /** Item válido que não foi gravado porque outro item do lote falhou. */
+    public static final String NAO_GRAVADO = "nao_gravado";
+
+    /** Posição do item no lote enviado, começando em 0. */
+    private int indice;
+
+    /** Situação do item: inserido, atualizado, nao_encontrado, erro ou nao_gravado. */
+    private String situacao;
+
+    /** Dados do item enviado. */
+    private ProgressoTO progresso;
+
+    /**
+     * Construtor padrão da classe {@code ResultadoLoteTO}.
+     */
+    public ResultadoLoteTO() {
+    }
+
+    /**
+     * Construtor completo.
+     *
+     * @param indice    posição do item no lote
+     * @param situacao  situação do item após a gravação
+     * @param progresso dados do item enviado
+     */
+    public ResultadoLoteTO(int indice, String situacao, ProgressoTO progresso) {
+        this.indice = indice;
+        this.situacao = situacao;
+        this.progresso = progresso;
+    }
+
+    /** @return a posição do item no lote */
+    public int getIndice() {
+        return indice;
+    }
+
+    /** @param indice define a posição do item no lote */
+    public void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    /** @return a situação do item após a gravação */
+    public String getSituacao() {
+        return situacao;
+    }
+
+    /** @param situacao define a situação do item após a gravação */
+    public void setSituacao(String situacao) {
+        this.situacao = situacao;
+    }
+
+    /** @return os dados do item enviado */
+    public ProgressoTO getProgresso() {
+        return progresso;
+    }
+
+    /** @param progresso define os dados do item enviado */
+    public void setProgresso(ProgressoTO progresso) {
+        this.progresso = progresso;
+    }
+}
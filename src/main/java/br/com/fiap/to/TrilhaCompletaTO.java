@@ -0,0 +1,51 @@
+package br.com.fiap.to;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Representa uma trilha junto com os seus módulos, pronta para ser exibida pelo frontend.
+ *
+ * <p>Estende {@link TrilhaTO} com a lista de {@link ModuloTO} da trilha e o total de módulos,
+ * evitando que o cliente precise buscar a tabela de módulos inteira e filtrá-la.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+public class TrilhaCompletaTO extends TrilhaTO {
+    /** Módulos da trilha, ordenados pelo ID. */
+    private List<ModuloTO> modulos = new ArrayList<>();
+
+    /**
+     * Construtor padrão da classe {@code TrilhaCompletaTO}.
+     */
+    public TrilhaCompletaTO() {
+    }
+
+    /**
+     * Construtor a partir dos dados de uma trilha.
+     *
+     * @param trilha trilha cujos dados serão copiados
+     */
+    public TrilhaCompletaTO(TrilhaTO trilha) {
+        super(trilha.getIdTrilha(), trilha.getNome(), trilha.getDificuldade(), trilha.getDescricao());
+    }
+
+    /** @return os módulos da trilha */
+    public List<ModuloTO> getModulos() {
+        return modulos;
+    }
+
+    /** @param modulos define os módulos da trilha */
+    public void setModulos(List<ModuloTO> modulos) {
+        this.modulos = modulos;
+    }
+
+    /** @return a quantidade de módulos da trilha */
+    public int getTotalModulos() {
+        return modulos != null ? modulos.size() : 0;
+    }
+}
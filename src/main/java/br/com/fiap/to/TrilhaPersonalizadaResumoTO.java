@@ -0,0 +1,104 @@
+package br.com.fiap.to;
+
+import java.time.LocalDate;
+
+/**
+ * Representa o resumo de uma trilha personalizada, usado nas listagens.
+ *
+ * <p>Contém os dados de identificação da trilha, o título e o tamanho do conteúdo, mas não o conteúdo
+ * JSON em si, que é obtido trilha a trilha em {@code GET /trilhapersonalizada/{id}}.</p>
+ *
+ * @author Lucas Barros Gouveia
+ * @author Enzo Okuizumi Miranda de Souza
+ * @author Milton Jakson de Souza Marcelino
+ * @version 1.0
+ * @since 21.0.7
+ */
+public class TrilhaPersonalizadaResumoTO {
+
+    /** Identificador único da trilha personalizada. */
+    private Long idTrilhaPers;
+
+    /** Identificador do usuário que criou a trilha. */
+    private Long idUser;
+
+    /** Data de criação da trilha. */
+    private LocalDate dataCriacao;
+
+    /** Título da trilha, extraído do campo {@code titulo} do conteúdo na gravação. */
+    private String titulo;
+
+    /** Tamanho do conteúdo JSON, em caracteres. */
+    private Long tamanhoConteudo;
+
+    /**
+     * Construtor padrão da classe {@code TrilhaPersonalizadaResumoTO}.
+     */
+    public TrilhaPersonalizadaResumoTO() {
+    }
+
+    /** @return o identificador único da trilha personalizada */
+    public Long getIdTrilhaPers() {
+        return idTrilhaPers;
+    }
+
+    /**
+     * Define o identificador da trilha personalizada.
+     * @param idTrilhaPers o ID
+     */
+    public void setIdTrilhaPers(Long idTrilhaPers) {
+        this.idTrilhaPers = idTrilhaPers;
+    }
+
+    /** @return o identificador do usuário */
+    public Long getIdUser() {
+        return idUser;
+    }
+
+    /**
+     * Define o identificador do usuário.
+     * @param idUser o ID do usuário
+     */
+    public void setIdUser(Long idUser) {
+        this.idUser = idUser;
+    }
+
+    /** @return a data de criação */
+    public LocalDate getDataCriacao() {
+        return dataCriacao;
+    }
+
+    /**
+     * Define a data de criação.
+     * @param dataCriacao a data
+     */
+    public void setDataCriacao(LocalDate dataCriacao) {
+        this.dataCriacao = dataCriacao;
+    }
+
+    /** @return o título da trilha, ou {@code null} se o conteúdo não tiver título */
+    public String getTitulo() {
+        return titulo;
+    }
+
+    /**
+     * Define o título da trilha.
+     * @param titulo o título
+     */
+    public void setTitulo(String titulo) {
+        this.titulo = titulo;
+    }
+
+    /** @return o tamanho do conteúdo JSON, em caracteres */
+    public Long getTamanhoConteudo() {
+        return tamanhoConteudo;
+    }
+
+    /**
+     * Define o tamanho do conteúdo JSON.
+     * @param tamanhoConteudo a quantidade de caracteres
+     */
+    public void setTamanhoConteudo(Long tamanhoConteudo) {
+        this.tamanhoConteudo = tamanhoConteudo;
+    }
+}
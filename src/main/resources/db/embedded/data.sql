@@ -0,0 +1,28 @@
+-- Massa de dados inicial do backend embarcado.
+
+INSERT INTO ddd_user(nome, email, senha) VALUES ('Ana Souza', 'ana@reintegrai.com', 'senha123');
+INSERT INTO ddd_user(nome, email, senha) VALUES ('Bruno Lima', 'bruno@reintegrai.com', 'senha123');
+INSERT INTO ddd_user(nome, email, senha) VALUES ('Carla Dias', 'carla@reintegrai.com', 'senha123');
+
+INSERT INTO ddd_trilha(nome, dificuldade, descricao) VALUES ('Logica de Programacao', 'facil', 'Fundamentos de algoritmos e pensamento computacional');
+INSERT INTO ddd_trilha(nome, dificuldade, descricao) VALUES ('Desenvolvimento Web', 'medio', 'HTML, CSS e JavaScript para iniciantes');
+INSERT INTO ddd_trilha(nome, dificuldade, descricao) VALUES ('Dados e IA', 'dificil', 'Introducao a analise de dados e aprendizado de maquina');
+
+INSERT INTO ddd_modulo(nome, duracao, link, id_tri) VALUES ('Variaveis e Tipos', '15min', 'https://youtu.be/logica-01', 1);
+INSERT INTO ddd_modulo(nome, duracao, link, id_tri) VALUES ('Estruturas de Decisao', '20min', 'https://youtu.be/logica-02', 1);
+INSERT INTO ddd_modulo(nome, duracao, link, id_tri) VALUES ('Lacos de Repeticao', '25min', 'https://youtu.be/logica-03', 1);
+INSERT INTO ddd_modulo(nome, duracao, link, id_tri) VALUES ('HTML Basico', '30min', 'https://youtu.be/web-01', 2);
+INSERT INTO ddd_modulo(nome, duracao, link, id_tri) VALUES ('CSS e Layout', '35min', 'https://youtu.be/web-02', 2);
+INSERT INTO ddd_modulo(nome, duracao, link, id_tri) VALUES ('Python para Dados', '40min', 'https://youtu.be/dados-01', 3);
+
+INSERT INTO ddd_prog(status, id_user, id_mod) VALUES (100, 1, 1);
+INSERT INTO ddd_prog(status, id_user, id_mod) VALUES (60, 1, 2);
+INSERT INTO ddd_prog(status, id_user, id_mod) VALUES (20, 1, 4);
+INSERT INTO ddd_prog(status, id_user, id_mod) VALUES (100, 2, 1);
+
+INSERT INTO ddd_sugs(titulo, tipo, descricao, duracao, dificuldade, link) VALUES ('Curso de Git', 'curso', 'Controle de versao na pratica', '2h', 'facil', 'https://example.com/git');
+INSERT INTO ddd_sugs(titulo, tipo, descricao, duracao, dificuldade, link) VALUES ('Podcast Carreira Tech', 'podcast', 'Historias de transicao de carreira', '45min', 'facil', 'https://example.com/podcast');
+INSERT INTO ddd_sugs(titulo, tipo, descricao, duracao, dificuldade, link) VALUES ('SQL Avancado', 'curso', 'Consultas analiticas e indices', '4h', 'dificil', 'https://example.com/sql');
+
+INSERT INTO ddd_trilha_pers(id_user, data_criacao, json_conteudo, titulo, tamanho_conteudo) VALUES (1, DATE '2025-11-10', '{"titulo":"Rumo ao front-end","dificuldade":"medio","modulos":[{"idModulo":4,"ordem":1},{"idModulo":5,"ordem":2}]}', 'Rumo ao front-end', 114);
+INSERT INTO ddd_trilha_pers(id_user, data_criacao, json_conteudo, titulo, tamanho_conteudo) VALUES (1, DATE '2025-11-20', '{"titulo":"Primeiros passos com dados","dificuldade":"dificil","modulos":[{"idModulo":1,"ordem":1},{"idModulo":6,"ordem":2}]}', 'Primeiros passos com dados', 125);
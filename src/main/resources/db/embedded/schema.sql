@@ -0,0 +1,60 @@
+-- Esquema do backend embarcado (H2 em modo Oracle), espelhando as tabelas ddd_* do README.
+-- Observacao: a coluna de modulo em ddd_prog chama-se id_mod, como nos DAOs e no indice idx_progresso_modulo.
+
+CREATE TABLE ddd_user(
+    id_user NUMBER(5) GENERATED BY DEFAULT AS IDENTITY CONSTRAINT PK_DDD_USER PRIMARY KEY,
+    nome VARCHAR2(100) NOT NULL,
+    email VARCHAR2(50) NOT NULL UNIQUE,
+    senha VARCHAR2(100) NOT NULL
+);
+
+CREATE TABLE ddd_trilha (
+    id_tri NUMBER(5) GENERATED BY DEFAULT AS IDENTITY CONSTRAINT PK_DDD_TRILHA PRIMARY KEY,
+    nome VARCHAR2(50) NOT NULL,
+    dificuldade VARCHAR2(20) NOT NULL CHECK (dificuldade IN ('facil', 'medio', 'dificil')),
+    descricao VARCHAR2(100) NOT NULL
+);
+
+CREATE TABLE ddd_modulo (
+    id_mod NUMBER(5) GENERATED BY DEFAULT AS IDENTITY CONSTRAINT PK_DDD_MODULO PRIMARY KEY,
+    nome VARCHAR2(100) NOT NULL,
+    duracao VARCHAR2(10) NOT NULL,
+    link VARCHAR2(255) NOT NULL,
+    id_tri NUMBER(5) NOT NULL,
+    CONSTRAINT FK_MODULO_TRILHA FOREIGN KEY (id_tri) REFERENCES ddd_trilha(id_tri) ON DELETE CASCADE
+);
+
+CREATE TABLE ddd_prog (
+    id_prog NUMBER(5) GENERATED BY DEFAULT AS IDENTITY CONSTRAINT PK_DDD_PROG PRIMARY KEY,
+    status NUMBER(3) NOT NULL CHECK (status BETWEEN 0 AND 100),
+    id_user NUMBER(5) NOT NULL,
+    id_mod NUMBER(5) NOT NULL,
+    CONSTRAINT FK_PROG_USER FOREIGN KEY (id_user) REFERENCES ddd_user(id_user) ON DELETE CASCADE,
+    CONSTRAINT FK_PROG_MODULO FOREIGN KEY (id_mod) REFERENCES ddd_modulo(id_mod) ON DELETE CASCADE,
+    CONSTRAINT UQ_PROG_USER_MODULO UNIQUE (id_user, id_mod)
+);
+
+CREATE TABLE ddd_sugs (
+    id_sugs NUMBER(5) GENERATED BY DEFAULT AS IDENTITY CONSTRAINT PK_DDD_SUGS PRIMARY KEY,
+    titulo VARCHAR2(100) NOT NULL,
+    tipo VARCHAR2(50) NOT NULL,
+    descricao VARCHAR2(100) NOT NULL,
+    duracao VARCHAR2(20) NOT NULL,
+    dificuldade VARCHAR2(20) NOT NULL CHECK (dificuldade IN ('facil', 'medio', 'dificil')),
+    link VARCHAR2(255) NOT NULL
+);
+
+CREATE TABLE ddd_trilha_pers (
+    id_pers NUMBER(5) GENERATED BY DEFAULT AS IDENTITY CONSTRAINT PK_DDD_TRILHA_PERS PRIMARY KEY,
+    id_user NUMBER(5) NOT NULL,
+    data_criacao DATE DEFAULT SYSDATE,
+    json_conteudo CLOB,
+    titulo VARCHAR2(100),
+    tamanho_conteudo NUMBER(10),
+    CONSTRAINT FK_TRILHA_PERS_USER FOREIGN KEY (id_user) REFERENCES ddd_user(id_user) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_modulo_trilha ON ddd_modulo(id_tri);
+CREATE INDEX idx_trilha_pers_user ON ddd_trilha_pers(id_user);
+CREATE INDEX idx_progresso_user ON ddd_prog(id_user);
+CREATE INDEX idx_progresso_modulo ON ddd_prog(id_mod);
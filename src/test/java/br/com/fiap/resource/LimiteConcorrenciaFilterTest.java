@@ -0,0 +1,69 @@
+package br.com.fiap.resource;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@QuarkusTest
+@TestProfile(LimiteConcorrenciaFilterTest.GrupoEsgotado.class)
+class LimiteConcorrenciaFilterTest {
+
+    public static class GrupoEsgotado implements QuarkusTestProfile {
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of("reintegrai.limite.trilha-personalizada.minimo", "0",
+                    "reintegrai.limite.trilha-personalizada.maximo", "0");
+        }
+    }
+
+    @Test
+    void testGrupoSemVagasRecebe503() {
+        given()
+          .when().get("/trilhapersonalizada")
+          .then()
+             .statusCode(503)
+             .header("Retry-After", is("1"));
+    }
+
+    @Test
+    void testGrupos() {
+        assertEquals(LimiteConcorrenciaFilter.Grupo.LEITURA_PROGRESSO,
+                LimiteConcorrenciaFilter.grupo("GET", "/progresso/usuario/1"));
+        assertEquals(LimiteConcorrenciaFilter.Grupo.LEITURA_PROGRESSO,
+                LimiteConcorrenciaFilter.grupo("GET", "/reativo/progresso/usuario/1"));
+        assertEquals(LimiteConcorrenciaFilter.Grupo.LEITURA_PROGRESSO,
+                LimiteConcorrenciaFilter.grupo("GET", "/painel/usuario/1"));
+        assertEquals(LimiteConcorrenciaFilter.Grupo.PROGRESSO,
+                LimiteConcorrenciaFilter.grupo("PUT", "/progresso/usuario/1/modulo/2"));
+        assertEquals(LimiteConcorrenciaFilter.Grupo.USUARIO, LimiteConcorrenciaFilter.grupo("POST", "/usuario"));
+        assertNull(LimiteConcorrenciaFilter.grupo("OPTIONS", "/usuario"));
+        assertNull(LimiteConcorrenciaFilter.grupo("OPTIONS", "/trilhapersonalizada"));
+    }
+
+    @Test
+    void testOptionsNaoConsomeVaga() {
+        given()
+          .header("Origin", "http://localhost")
+          .header("Access-Control-Request-Method", "GET")
+          .when().options("/trilhapersonalizada")
+          .then()
+             .statusCode(not(503));
+    }
+
+    @Test
+    void testOutrosGruposNaoSaoAfetados() {
+        given()
+          .when().get("/trilha/1")
+          .then()
+             .statusCode(200);
+    }
+}
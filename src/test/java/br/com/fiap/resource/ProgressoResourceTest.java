@@ -0,0 +1,333 @@
+package br.com.fiap.resource;
+
+import io.quarkus.test.junit.QuarkusTest;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
+
+@QuarkusTest
+class ProgressoResourceTest {
+    @Test
+    void testSaveLote() {
+        int idProgresso = given()
+          .contentType("application/json")
+          .body("[{\"status\":10,\"idUser\":3,\"idModulo\":1},"
+              + "{\"status\":30,\"idUser\":3,\"idModulo\":2}]")
+          .when().post("/progresso/batch")
+          .then()
+             .statusCode(200)
+             .body("situacao", is(List.of("inserido", "inserido")))
+             .body("indice", is(List.of(0, 1)))
+             .body("progresso.idProgresso", everyItem(notNullValue()))
+             .extract().path("[1].progresso.idProgresso");
+
+        given()
+          .when().get("/progresso/usuario/3")
+          .then()
+             .statusCode(200)
+             .body("find { it.idProgresso == " + idProgresso + " }.idModulo", is(2));
+    }
+
+    @Test
+    void testSaveLoteDesfazTudoSeUmItemFalhar() {
+        given()
+          .contentType("application/json")
+          .body("[{\"status\":50,\"idUser\":2,\"idModulo\":5},"
+              + "{\"status\":50,\"idUser\":2,\"idModulo\":9999}]")
+          .when().post("/progresso/batch")
+          .then()
+             .statusCode(400)
+             .body("[1].situacao", is("erro"))
+             .body("[0].situacao", not("inserido"));
+
+        given()
+          .when().get("/progresso/usuario/2")
+          .then()
+             .statusCode(200)
+             .body("idModulo", not(hasItem(5)));
+    }
+
+    @Test
+    void testSaveLoteInvalido() {
+        given()
+          .contentType("application/json")
+          .body("[{\"status\":150,\"idUser\":2,\"idModulo\":6}]")
+          .when().post("/progresso/batch")
+          .then()
+             .statusCode(400);
+    }
+
+    @Test
+    void testUpsertInsereEAtualiza() {
+        given()
+          .contentType("application/json")
+          .body("{\"status\":40}")
+          .when().put("/progresso/usuario/2/modulo/3")
+          .then()
+             .statusCode(200)
+             .body("status", is(40))
+             .body("idUser", is(2))
+             .body("idModulo", is(3));
+
+        given()
+          .contentType("application/json")
+          .body("{\"status\":70}")
+          .when().put("/progresso/usuario/2/modulo/3")
+          .then()
+             .statusCode(200)
+             .body("status", is(70));
+
+        // corpo sem status, ou com status nulo, não zera o progresso
+        for (String semStatus : new String[]{"{}", "{\"status\":null}"}) {
+            given()
+              .contentType("application/json")
+              .body(semStatus)
+              .when().put("/progresso/usuario/2/modulo/3")
+              .then()
+                 .statusCode(400);
+        }
+        given()
+          .when().get("/progresso/usuario/2")
+          .then()
+             .statusCode(200)
+             .body("find { it.idModulo == 3 }.status", is(70));
+    }
+
+    @Test
+    void testUpsertManterMaiorNaoRetrocede() {
+        given()
+          .contentType("application/json")
+          .body("{\"status\":80}")
+          .when().put("/progresso/usuario/3/modulo/6")
+          .then()
+             .statusCode(200);
+
+        given()
+          .contentType("application/json")
+          .body("{\"status\":20}")
+          .queryParam("manterMaior", true)
+          .when().put("/progresso/usuario/3/modulo/6")
+          .then()
+             .statusCode(200)
+             .body("status", is(80));
+    }
+
+    @Test
+    void testPainel() {
+        given()
+          .when().get("/painel/usuario/1")
+          .then()
+             .statusCode(200)
+             .body("trilhas.size()", is(2))
+             .body("trilhas[0].totalModulos", is(3))
+             .body("trilhas[0].modulosIniciados", is(2))
+             .body("trilhas[0].modulosConcluidos", is(1))
+             .body("trilhas[0].mediaStatus", is(80.0f))
+             .body("trilhas[0].conclusao", is(53.3f))
+             .body("trilhas[0].idUltimoModulo", is(2))
+             .body("trilhas[1].conclusao", is(10.0f))
+             .body("conclusaoGeral", is(36.0f));
+    }
+
+    @Test
+    void testPainelAcompanhaEscritas() {
+        int idUser = given()
+          .contentType("application/json")
+          .body("{\"nome\":\"Diego Lima\",\"email\":\"diego@reintegrai.com\",\"senha\":\"segredo\"}")
+          .when().post("/usuario")
+          .then()
+             .statusCode(201)
+             .extract().path("idUser");
+
+        given()
+          .when().get("/painel/usuario/" + idUser)
+          .then()
+             .statusCode(200)
+             .body("trilhas.size()", is(0));
+
+        given().contentType("application/json").body("{\"status\":50}")
+          .when().put("/progresso/usuario/" + idUser + "/modulo/4").then().statusCode(200);
+        int idProgresso = given().contentType("application/json").body("{\"status\":100}")
+          .when().put("/progresso/usuario/" + idUser + "/modulo/5").then().statusCode(200)
+          .extract().path("idProgresso");
+
+        given()
+          .when().get("/painel/usuario/" + idUser)
+          .then()
+             .statusCode(200)
+             .body("trilhas[0].idTrilha", is(2))
+             .body("trilhas[0].modulosIniciados", is(2))
+             .body("trilhas[0].modulosConcluidos", is(1))
+             .body("trilhas[0].idUltimoModulo", is(5))
+             .body("trilhas[0].conclusao", is(75.0f));
+
+        // atualizações aplicadas ao acumulado já carregado, sem recarregar o usuário
+        given().contentType("application/json").body("{\"status\":100}")
+          .when().put("/progresso/usuario/" + idUser + "/modulo/4").then().statusCode(200);
+        given().contentType("application/json")
+          .body("{\"status\":40,\"idUser\":" + idUser + ",\"idModulo\":5}")
+          .when().put("/progresso/" + idProgresso).then().statusCode(201);
+        String etag = given()
+          .when().get("/painel/usuario/" + idUser)
+          .then()
+             .statusCode(200)
+             .body("trilhas[0].modulosIniciados", is(2))
+             .body("trilhas[0].modulosConcluidos", is(1))
+             .body("trilhas[0].conclusao", is(70.0f))
+             .extract().header("ETag");
+
+        // ID inexistente: 404, sem invalidar o painel de ninguém
+        given().contentType("application/json")
+          .body("{\"status\":40,\"idUser\":" + idUser + ",\"idModulo\":5}")
+          .when().put("/progresso/99999").then().statusCode(404);
+        given().when().delete("/progresso/99999").then().statusCode(404);
+        given()
+          .header("If-None-Match", etag)
+          .when().get("/painel/usuario/" + idUser)
+          .then()
+             .statusCode(304);
+
+        given().when().delete("/progresso/" + idProgresso).then().statusCode(204);
+
+        given()
+          .when().get("/painel/usuario/" + idUser)
+          .then()
+             .statusCode(200)
+             .body("trilhas[0].modulosIniciados", is(1))
+             .body("trilhas[0].modulosConcluidos", is(1))
+             .body("trilhas[0].idUltimoModulo", is(4))
+             .body("trilhas[0].conclusao", is(50.0f));
+    }
+
+    @Test
+    void testAprendizadoDoUsuario() {
+        given()
+          .when().get("/usuario/1/aprendizado")
+          .then()
+             .statusCode(200)
+             .body("usuario.idUser", is(1))
+             .body("progressos.idUser", everyItem(is(1)))
+             .body("progressos.size()", greaterThanOrEqualTo(3))
+             .body("trilhasPersonalizadas.idUser", everyItem(is(1)))
+             .body("trilhasPersonalizadas[0].dataCriacao", is("2025-11-20"));
+
+        given()
+          .when().get("/usuario/9999/aprendizado")
+          .then()
+             .statusCode(404);
+    }
+
+    @Test
+    void testProgressoEmCbor() {
+        Response json = given()
+          .accept("application/json")
+          .when().get("/progresso/usuario/1")
+          .then()
+             .statusCode(200)
+             .extract().response();
+
+        Response cbor = given()
+          .accept("application/cbor")
+          .when().get("/progresso/usuario/1")
+          .then()
+             .statusCode(200)
+             .contentType(startsWith("application/cbor"))
+             .extract().response();
+        byte[] corpo = cbor.asByteArray();
+        // uma lista (tipo maior 4) cujo primeiro item é um objeto (tipo maior 5)
+        assertEquals(4, (corpo[0] & 0xFF) >> 5);
+        assertEquals(5, (corpo[1] & 0xFF) >> 5);
+        assertThat(corpo.length, lessThan(json.asByteArray().length));
+
+        // cada representação tem a sua ETag, e o If-None-Match só vale para a mesma representação
+        assertNotEquals(json.header("ETag"), cbor.header("ETag"));
+        given()
+          .accept("application/cbor")
+          .header("If-None-Match", cbor.header("ETag"))
+          .when().get("/progresso/usuario/1")
+          .then()
+             .statusCode(304);
+        given()
+          .accept("application/json")
+          .header("If-None-Match", cbor.header("ETag"))
+          .when().get("/progresso/usuario/1")
+          .then()
+             .statusCode(200);
+
+        int idProgresso = given()
+          .contentType("application/cbor")
+          .accept("application/json")
+          .body(cborProgresso(30, 3, 3))
+          .when().post("/progresso")
+          .then()
+             .statusCode(201)
+             .body("status", is(30))
+             .body("idUser", is(3))
+             .body("idModulo", is(3))
+             .extract().path("idProgresso");
+        given().when().delete("/progresso/" + idProgresso).then().statusCode(204);
+
+        given()
+          .contentType("application/cbor")
+          .body(cborProgresso(150, 3, 3))
+          .when().post("/progresso")
+          .then()
+             .statusCode(400);
+
+        given()
+          .contentType("application/cbor")
+          .body(new byte[] {(byte) 0xBF, 0x66})
+          .when().post("/progresso")
+          .then()
+             .statusCode(400);
+    }
+
+    @Test
+    void testCborComEtiquetasAninhadas() {
+        // só etiquetas (tag 6) seguidas de um inteiro: precisa parar no limite de profundidade
+        byte[] corpo = new byte[100_000];
+        Arrays.fill(corpo, (byte) 0xC6);
+        corpo[corpo.length - 1] = 0x01;
+        given()
+          .contentType("application/cbor")
+          .body(corpo)
+          .when().post("/progresso")
+          .then()
+             .statusCode(400);
+    }
+
+    /** Monta um {@code ProgressoTO} em CBOR, como um objeto de tamanho definido. */
+    private static byte[] cborProgresso(int status, int idUser, int idModulo) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0xA3);
+        cborCampo(out, "status", status);
+        cborCampo(out, "idUser", idUser);
+        cborCampo(out, "idModulo", idModulo);
+        return out.toByteArray();
+    }
+
+    private static void cborCampo(ByteArrayOutputStream out, String nome, int valor) {
+        byte[] bytes = nome.getBytes(StandardCharsets.UTF_8);
+        out.write(0x60 | bytes.length);
+        out.write(bytes, 0, bytes.length);
+        out.write(0x18);
+        out.write(valor);
+    }
+}
@@ -0,0 +1,230 @@
+package br.com.fiap.resource;
+
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@QuarkusTest
+class TrilhaPersonalizadaResourceTest {
+    @Test
+    void testFindConteudo() {
+        given()
+          .when().get("/trilhapersonalizada/1/conteudo")
+          .then()
+             .statusCode(200)
+             .contentType("application/json")
+             .body("titulo", is("Rumo ao front-end"))
+             .body("modulos[1].idModulo", is(5));
+
+        given()
+          .when().get("/trilhapersonalizada/9999/conteudo")
+          .then()
+             .statusCode(404);
+    }
+
+    @Test
+    void testFindConteudoPorCaminho() {
+        given()
+          .queryParam("caminho", "/modulos/1")
+          .when().get("/trilhapersonalizada/1/conteudo")
+          .then()
+             .statusCode(200)
+             .body("idModulo", is(5))
+             .body("ordem", is(2));
+
+        String titulo = given()
+          .queryParam("caminho", "/titulo")
+          .when().get("/trilhapersonalizada/1/conteudo")
+          .then()
+             .statusCode(200)
+             .extract().asString();
+        assertEquals("\"Rumo ao front-end\"", titulo);
+
+        given()
+          .queryParam("caminho", "/modulos/7")
+          .when().get("/trilhapersonalizada/1/conteudo")
+          .then()
+             .statusCode(404);
+        given()
+          .queryParam("caminho", "modulos")
+          .when().get("/trilhapersonalizada/1/conteudo")
+          .then()
+             .statusCode(400);
+    }
+
+    @Test
+    void testBuscaPeloConteudo() {
+        given()
+          .queryParam("modulo", 5)
+          .when().get("/trilhapersonalizada")
+          .then()
+             .statusCode(200)
+             .body("idTrilhaPers", hasItem(1))
+             .body("idTrilhaPers", not(hasItem(2)))
+             .body("[0].jsonConteudo", nullValue());
+
+        given()
+          .queryParam("dificuldade", "dificil")
+          .when().get("/trilhapersonalizada")
+          .then()
+             .statusCode(200)
+             .body("idTrilhaPers", hasItem(2))
+             .body("idTrilhaPers", not(hasItem(1)))
+             .body("find { it.idTrilhaPers == 2 }.titulo", is("Primeiros passos com dados"));
+
+        given()
+          .queryParam("modulo", 999)
+          .when().get("/trilhapersonalizada")
+          .then()
+             .statusCode(404);
+        given()
+          .queryParam("modulo", 5)
+          .queryParam("dificuldade", "medio")
+          .when().get("/trilhapersonalizada")
+          .then()
+             .statusCode(400);
+    }
+
+    @Test
+    void testResumoSemConteudo() {
+        given()
+          .queryParam("resumo", true)
+          .when().get("/trilhapersonalizada/usuario/1")
+          .then()
+             .statusCode(200)
+             .body("find { it.idTrilhaPers == 2 }.titulo", is("Primeiros passos com dados"))
+             .body("find { it.idTrilhaPers == 2 }.tamanhoConteudo", is(125))
+             .body("find { it.idTrilhaPers == 2 }.dataCriacao", is("2025-11-20"))
+             .body("[0].jsonConteudo", nullValue());
+
+        int idTrilhaPers = given()
+          .contentType("application/json")
+          .body("{\"idUser\":2,\"jsonConteudo\":\"{\\\"dificuldade\\\":\\\"facil\\\",\\\"titulo\\\":\\\"Gravada pelo TO\\\"}\"}")
+          .when().post("/trilhapersonalizada")
+          .then()
+             .statusCode(201)
+             .extract().path("idTrilhaPers");
+        given()
+          .queryParam("resumo", true)
+          .when().get("/trilhapersonalizada")
+          .then()
+             .statusCode(200)
+             .body("find { it.idTrilhaPers == " + idTrilhaPers + " }.titulo", is("Gravada pelo TO"))
+             .body("find { it.idTrilhaPers == " + idTrilhaPers + " }.tamanhoConteudo", is(50));
+        given().when().delete("/trilhapersonalizada/" + idTrilhaPers).then().statusCode(204);
+    }
+
+    @Test
+    void testConteudoGrandeGravadoELidoEmPartes() {
+        StringBuilder json = new StringBuilder("{\"titulo\":\"Trilha gerada\",\"passos\":[");
+        for (int i = 0; i < 20_000; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"ordem\":").append(i).append(",\"texto\":\"ação ").append(i).append("\"}");
+        }
+        String conteudo = json.append("]}").toString();
+
+        int idTrilhaPers = given()
+          .contentType("application/json")
+          .body(conteudo)
+          .when().post("/trilhapersonalizada/usuario/2/conteudo")
+          .then()
+             .statusCode(201)
+             .body("idTrilhaPers", notNullValue())
+             .body("idUser", is(2))
+             .body("jsonConteudo", nullValue())
+             .extract().path("idTrilhaPers");
+
+        String lido = given()
+          .when().get("/trilhapersonalizada/" + idTrilhaPers + "/conteudo")
+          .then()
+             .statusCode(200)
+             .extract().asString();
+        assertEquals(conteudo, lido);
+        given()
+          .queryParam("resumo", true)
+          .when().get("/trilhapersonalizada/usuario/2")
+          .then()
+             .statusCode(200)
+             .body("find { it.idTrilhaPers == " + idTrilhaPers + " }.titulo", is("Trilha gerada"))
+             .body("find { it.idTrilhaPers == " + idTrilhaPers + " }.tamanhoConteudo", is(conteudo.length()));
+
+        given()
+          .contentType("application/json")
+          .body("{\"titulo\":\"Revisada\"}")
+          .when().put("/trilhapersonalizada/" + idTrilhaPers + "/conteudo")
+          .then()
+             .statusCode(204);
+        given()
+          .when().get("/trilhapersonalizada/" + idTrilhaPers)
+          .then()
+             .statusCode(200)
+             .body("jsonConteudo", is("{\"titulo\":\"Revisada\"}"));
+        given()
+          .queryParam("resumo", true)
+          .when().get("/trilhapersonalizada/usuario/2")
+          .then()
+             .statusCode(200)
+             .body("find { it.idTrilhaPers == " + idTrilhaPers + " }.titulo", is("Revisada"))
+             .body("find { it.idTrilhaPers == " + idTrilhaPers + " }.tamanhoConteudo", is(21));
+
+        given()
+          .contentType("application/json")
+          .body("   ")
+          .when().put("/trilhapersonalizada/" + idTrilhaPers + "/conteudo")
+          .then()
+             .statusCode(400);
+        given()
+          .contentType("application/json")
+          .body("{}")
+          .when().put("/trilhapersonalizada/9999/conteudo")
+          .then()
+             .statusCode(404);
+
+        // JSON inválido no fim de um corpo grande: a gravação já começou e precisa ser desfeita
+        for (String invalido : new String[]{"abc", "{\"titulo\":", "{} {}", conteudo + "x"}) {
+            given()
+              .contentType("application/json")
+              .body(invalido)
+              .when().put("/trilhapersonalizada/" + idTrilhaPers + "/conteudo")
+              .then()
+                 .statusCode(400);
+        }
+        given()
+          .when().get("/trilhapersonalizada/" + idTrilhaPers)
+          .then()
+             .statusCode(200)
+             .body("jsonConteudo", is("{\"titulo\":\"Revisada\"}"));
+
+        given().when().delete("/trilhapersonalizada/" + idTrilhaPers).then().statusCode(204);
+    }
+
+    @Test
+    void testConteudoInvalidoNaoECadastrado() {
+        int antes = quantidadeDoUsuario(2);
+        given()
+          .contentType("application/json")
+          .body("abc")
+          .when().post("/trilhapersonalizada/usuario/2/conteudo")
+          .then()
+             .statusCode(400);
+        given()
+          .contentType("application/json")
+          .body("{\"titulo\":\"Sem fim\",\"passos\":[1,2")
+          .when().post("/trilhapersonalizada/usuario/2/conteudo")
+          .then()
+             .statusCode(400);
+        assertEquals(antes, quantidadeDoUsuario(2));
+    }
+
+    /** Quantidade de trilhas do usuário; a listagem responde 404 quando não há nenhuma. */
+    private static int quantidadeDoUsuario(int idUser) {
+        var resposta = given().when().get("/trilhapersonalizada/usuario/" + idUser).then().extract();
+        return resposta.statusCode() == 404 ? 0 : resposta.path("size()");
+    }
+}
@@ -0,0 +1,279 @@
+package br.com.fiap.resource;
+
+import com.aayushatharva.brotli4j.Brotli4jLoader;
+import io.quarkus.test.junit.QuarkusTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@QuarkusTest
+class TrilhaResourceTest {
+    @Test
+    void testFindAll() {
+        given()
+          .when().get("/trilha")
+          .then()
+             .statusCode(200)
+             .body("size()", greaterThanOrEqualTo(3));
+    }
+
+    @Test
+    void testFindByCodigo() {
+        given()
+          .when().get("/trilha/1")
+          .then()
+             .statusCode(200)
+             .body("nome", is("Logica de Programacao"));
+    }
+
+    @Test
+    void testFindByCodigoInexistente() {
+        given()
+          .when().get("/trilha/9999")
+          .then()
+             .statusCode(404);
+    }
+
+    @Test
+    void testSave() {
+        given()
+          .contentType("application/json")
+          .body("{\"nome\":\"Cloud\",\"dificuldade\":\"medio\",\"descricao\":\"Fundamentos de nuvem\"}")
+          .when().post("/trilha")
+          .then()
+             .statusCode(201)
+             .body("idTrilha", notNullValue())
+             .header("Location", containsString("/trilha/"));
+    }
+
+    @Test
+    void testFindAllPaginado() {
+        String cursor = given()
+          .when().get("/trilha?limit=2")
+          .then()
+             .statusCode(200)
+             .body("itens.size()", is(2))
+             .body("itens[0].idTrilha", is(1))
+          .extract().path("proximoCursor");
+
+        given()
+          .queryParam("after", cursor)
+          .queryParam("limit", 2)
+          .when().get("/trilha")
+          .then()
+             .statusCode(200)
+             .body("itens[0].idTrilha", is(3));
+    }
+
+    @Test
+    void testFindAllCursorInvalido() {
+        given()
+          .when().get("/trilha?after=@@&limit=2")
+          .then()
+             .statusCode(400);
+    }
+
+    @Test
+    void testExportarNdjson() {
+        given()
+          .accept("application/x-ndjson")
+          .when().get("/trilha")
+          .then()
+             .statusCode(200)
+             .contentType(startsWith("application/x-ndjson"))
+             .body(startsWith("{\"idTrilha\":1,"));
+    }
+
+    @Test
+    void testFindAllSemAcceptRetornaJson() {
+        given()
+          .when().get("/trilha")
+          .then()
+             .statusCode(200)
+             .contentType(startsWith("application/json"));
+    }
+
+    @Test
+    void testListagemPreSerializadaComprimida() {
+        given()
+          .header("Accept-Encoding", "gzip")
+          .when().get("/trilha")
+          .then()
+             .statusCode(200)
+             .header("Content-Encoding", "gzip")
+             .header("Vary", containsString("Accept-Encoding"))
+             .body("size()", greaterThanOrEqualTo(3));
+
+        given()
+          .header("Accept-Encoding", "br, gzip;q=0.5")
+          .when().get("/sugestoes")
+          .then()
+             .statusCode(200)
+             .header("Content-Encoding", Brotli4jLoader.isAvailable() ? "br" : "gzip");
+
+        given()
+          .header("Accept-Encoding", "gzip;q=0, br;q=0")
+          .when().get("/modulo")
+          .then()
+             .statusCode(200)
+             .header("Content-Encoding", nullValue())
+             .body("size()", greaterThanOrEqualTo(1));
+    }
+
+    @Test
+    void testListagemComprimidaTemEtagPropria() {
+        String identidade = given()
+          .header("Accept-Encoding", "gzip;q=0, br;q=0")
+          .when().get("/trilha")
+          .then()
+             .statusCode(200)
+             .extract().header("ETag");
+        String gzip = given()
+          .header("Accept-Encoding", "gzip")
+          .when().get("/trilha")
+          .then()
+             .statusCode(200)
+             .header("ETag", endsWith("-gz\""))
+             .extract().header("ETag");
+        assertNotEquals(identidade, gzip);
+
+        given()
+          .header("Accept-Encoding", "gzip")
+          .header("If-None-Match", gzip)
+          .when().get("/trilha")
+          .then()
+             .statusCode(304)
+             .header("ETag", is(gzip));
+    }
+
+    @Test
+    void testUpdateInvalidaCache() {
+        given().when().get("/trilha/3").then().statusCode(200);
+
+        given()
+          .contentType("application/json")
+          .body("{\"nome\":\"Dados e IA\",\"dificuldade\":\"dificil\",\"descricao\":\"Nova descricao\"}")
+          .when().put("/trilha/3")
+          .then()
+             .statusCode(201);
+
+        given()
+          .when().get("/trilha/3")
+          .then()
+             .statusCode(200)
+             .body("descricao", is("Nova descricao"));
+
+        given()
+          .when().get("/cache")
+          .then()
+             .statusCode(200)
+             .body("find { it.nome == 'trilha' }.invalidacoes", greaterThanOrEqualTo(1));
+    }
+
+    @Test
+    void testEtagRetorna304AteHaverAlteracao() {
+        String etag = given()
+          .when().get("/trilha/2")
+          .then()
+             .statusCode(200)
+             .header("Cache-Control", notNullValue())
+             .extract().header("ETag");
+
+        given()
+          .header("If-None-Match", etag)
+          .when().get("/trilha/2")
+          .then()
+             .statusCode(304);
+
+        given()
+          .contentType("application/json")
+          .body("{\"nome\":\"Desenvolvimento Web\",\"dificuldade\":\"medio\",\"descricao\":\"HTML, CSS e JavaScript para iniciantes\"}")
+          .when().put("/trilha/2")
+          .then()
+             .statusCode(201);
+
+        given()
+          .header("If-None-Match", etag)
+          .when().get("/trilha/2")
+          .then()
+             .statusCode(200)
+             .header("ETag", not(etag));
+    }
+
+    @Test
+    void testFindCompleta() {
+        given()
+          .when().get("/trilha/1/completa")
+          .then()
+             .statusCode(200)
+             .body("nome", is("Logica de Programacao"))
+             .body("totalModulos", is(3))
+             .body("modulos.idTrilha", everyItem(is(1)));
+    }
+
+    @Test
+    void testFindAllCompletas() {
+        given()
+          .when().get("/trilha/completas")
+          .then()
+             .statusCode(200)
+             .body("find { it.idTrilha == 2 }.totalModulos", is(2));
+    }
+
+    @Test
+    void testFindByIdsMantemOrdemEApontaAusentes() {
+        given()
+          .when().get("/trilha?ids=3,1,9999,1")
+          .then()
+             .statusCode(200)
+             .body("itens.idTrilha", is(List.of(3, 1)))
+             .body("naoEncontrados", is(List.of(9999)));
+    }
+
+    @Test
+    void testFindByIdsInvalido() {
+        given()
+          .when().get("/trilha?ids=1,abc")
+          .then()
+             .statusCode(400);
+    }
+
+    @Test
+    void testLeituraReativaEquivaleABloqueante() {
+        given()
+          .when().get("/reativo/trilha")
+          .then()
+             .statusCode(200)
+             .header("ETag", notNullValue())
+             .body("size()", greaterThanOrEqualTo(3));
+
+        given()
+          .when().get("/reativo/modulo/1")
+          .then()
+             .statusCode(200)
+             .body("idTrilha", is(1));
+
+        given()
+          .when().get("/reativo/modulo/9999")
+          .then()
+             .statusCode(404);
+
+        given()
+          .when().get("/reativo/progresso/usuario/1")
+          .then()
+             .statusCode(200)
+             .body("idUser", everyItem(is(1)));
+    }
+}